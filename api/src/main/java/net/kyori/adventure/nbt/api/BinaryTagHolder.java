@@ -63,6 +63,39 @@ public interface BinaryTagHolder {
     return new BinaryTagHolderImpl(string);
   }
 
+  /**
+   * Creates a binary tag holder which keeps {@code nbt} and encodes it using {@code codec} only when its string value is first requested.
+   *
+   * <p>Calling {@link #get(Codec)} with the same codec instance returns {@code nbt} without decoding. Any other codec decodes
+   * the string value at most once, keeping the result for later calls with that codec.</p>
+   *
+   * <p>The held value is shared with every caller of {@link #get(Codec)}, so it should be immutable.
+   * If encoding fails with a checked exception, {@link #string()} throws an {@link IllegalStateException}.</p>
+   *
+   * @param nbt the binary tag
+   * @param codec the codec
+   * @param <T> the binary tag type
+   * @return the binary tag holder
+   * @since 4.1.0
+   */
+  static <T> @NonNull BinaryTagHolder cached(final @NonNull T nbt, final @NonNull Codec<? super T, String, ?, ?> codec) {
+    return new CachedBinaryTagHolderImpl(nbt, codec);
+  }
+
+  /**
+   * Creates an encoded binary tag holder which keeps the value decoded by the most recently used codec.
+   *
+   * <p>Reading the holder repeatedly with the same codec instance decodes the string value only once. The decoded value is
+   * shared with every caller of {@link #get(Codec)}, so the codec should produce immutable values.</p>
+   *
+   * @param string the encoded binary tag value
+   * @return the binary tag holder
+   * @since 4.1.0
+   */
+  static @NonNull BinaryTagHolder cached(final @NonNull String string) {
+    return new CachedBinaryTagHolderImpl(string);
+  }
+
   /**
    * Gets the raw string value.
    *
@@ -52,11 +52,11 @@ final class BinaryTagHolderImpl implements BinaryTagHolder {
 
   @Override
   public boolean equals(final Object that) {
-    if(!(that instanceof BinaryTagHolderImpl)) {
+    if(!(that instanceof BinaryTagHolderImpl || that instanceof CachedBinaryTagHolderImpl)) {
       return false;
     }
 
-    return this.string.equals(((BinaryTagHolderImpl) that).string);
+    return this.string.equals(((BinaryTagHolder) that).string());
   }
 
   @Override
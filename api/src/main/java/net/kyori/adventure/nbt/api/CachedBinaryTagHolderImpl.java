@@ -0,0 +1,109 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.api;
+
+import net.kyori.adventure.util.Codec;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+final class CachedBinaryTagHolderImpl implements BinaryTagHolder {
+  private volatile @Nullable String string;
+  private volatile @Nullable Decoded decoded;
+
+  CachedBinaryTagHolderImpl(final String string) {
+    this.string = requireNonNull(string, "string");
+  }
+
+  CachedBinaryTagHolderImpl(final Object value, final Codec<?, String, ?, ?> codec) {
+    this.decoded = new Decoded(requireNonNull(codec, "codec"), requireNonNull(value, "value"));
+  }
+
+  @Override
+  public @NonNull String string() {
+    /* @Nullable */ String string = this.string;
+    if(string == null) {
+      final Decoded decoded = this.decoded;
+      try {
+        string = encode(decoded.codec, decoded.value);
+      } catch(final RuntimeException | Error e) {
+        throw e;
+      } catch(final Throwable e) {
+        throw new IllegalStateException(String.format("Could not encode %s", decoded.value), e);
+      }
+      this.string = string;
+    }
+    return string;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T, DX extends Exception> @NonNull T get(final @NonNull Codec<T, String, DX, ?> codec) throws DX {
+    final /* @Nullable */ Decoded decoded = this.decoded;
+    if(decoded != null && decoded.codec == codec) {
+      return (T) decoded.value;
+    }
+    final T value = codec.decode(this.string());
+    this.decoded = new Decoded(codec, value);
+    return value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T, EX extends Throwable> String encode(final Codec<T, String, ?, EX> codec, final Object value) throws EX {
+    return codec.encode((T) value);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * this.string().hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object that) {
+    if(!(that instanceof BinaryTagHolderImpl || that instanceof CachedBinaryTagHolderImpl)) {
+      return false;
+    }
+
+    return this.string().equals(((BinaryTagHolder) that).string());
+  }
+
+  @Override
+  public String toString() {
+    return this.string();
+  }
+
+  /*
+   * The codec and the value it decoded, published together so a reader never pairs a value with the wrong codec.
+   */
+  private static final class Decoded {
+    final Codec<?, String, ?, ?> codec;
+    final Object value;
+
+    Decoded(final Codec<?, String, ?, ?> codec, final Object value) {
+      this.codec = codec;
+      this.value = value;
+    }
+  }
+}
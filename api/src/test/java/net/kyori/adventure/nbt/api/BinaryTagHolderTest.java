@@ -0,0 +1,92 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.api;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import net.kyori.adventure.util.Codec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryTagHolderTest {
+  private final AtomicInteger decodes = new AtomicInteger();
+  private final AtomicInteger encodes = new AtomicInteger();
+  private final Codec<StringBuilder, String, RuntimeException, RuntimeException> codec = Codec.of(string -> {
+    this.decodes.incrementAndGet();
+    return new StringBuilder(string);
+  }, value -> {
+    this.encodes.incrementAndGet();
+    return value.toString();
+  });
+
+  @Test
+  void testCachedDecodesOnce() {
+    final BinaryTagHolder holder = BinaryTagHolder.cached("{a: 1}");
+    final StringBuilder value = holder.get(this.codec);
+    assertSame(value, holder.get(this.codec));
+    assertEquals(1, this.decodes.get());
+    assertEquals("{a: 1}", holder.string());
+    assertEquals(0, this.encodes.get());
+  }
+
+  @Test
+  void testCachedEncodesOnce() {
+    final StringBuilder value = new StringBuilder("{a: 1}");
+    final BinaryTagHolder holder = BinaryTagHolder.cached(value, this.codec);
+    assertSame(value, holder.get(this.codec));
+    assertEquals(0, this.encodes.get());
+    assertEquals("{a: 1}", holder.string());
+    assertEquals("{a: 1}", holder.string());
+    assertEquals(1, this.encodes.get());
+    assertEquals(0, this.decodes.get());
+  }
+
+  @Test
+  void testCachedOtherCodec() {
+    final BinaryTagHolder holder = BinaryTagHolder.cached(new StringBuilder("{a: 1}"), this.codec);
+    final Codec<String, String, RuntimeException, RuntimeException> identity = Codec.of(string -> string, string -> string);
+    assertEquals("{a: 1}", holder.get(identity));
+    assertSame(holder.get(identity), holder.get(identity));
+  }
+
+  @Test
+  void testCachedEncodeFailure() {
+    final Codec<String, String, Exception, Exception> failing = Codec.of(string -> string, string -> {
+      throw new Exception("nope");
+    });
+    final BinaryTagHolder holder = BinaryTagHolder.cached("{}", failing);
+    assertThrows(IllegalStateException.class, holder::string);
+  }
+
+  @Test
+  void testEquality() {
+    final BinaryTagHolder plain = BinaryTagHolder.of("{a: 1}");
+    final BinaryTagHolder cached = BinaryTagHolder.cached(new StringBuilder("{a: 1}"), this.codec);
+    assertEquals(plain, cached);
+    assertEquals(cached, plain);
+    assertEquals(plain.hashCode(), cached.hashCode());
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryTagEditBenchmark {
+  @Param
+  public TagCorpus corpus;
+  @Param({"1", "30"})
+  public int edits;
+  private CompoundBinaryTag tag;
+  private String[] keys;
+
+  @Setup
+  public void setup() {
+    this.tag = this.corpus.create();
+    this.keys = new String[this.edits];
+    for(int i = 0; i < this.edits; i++) {
+      this.keys[i] = "key" + i;
+    }
+  }
+
+  @Benchmark
+  public CompoundBinaryTag put() {
+    CompoundBinaryTag tag = this.tag;
+    for(int i = 0; i < this.edits; i++) {
+      tag = tag.putInt(this.keys[i], i);
+    }
+    return tag;
+  }
+
+  @Benchmark
+  public CompoundBinaryTag editPut() {
+    return this.tag.edit(tag -> {
+      for(int i = 0; i < this.edits; i++) {
+        tag.putInt(this.keys[i], i);
+      }
+    });
+  }
+
+  @Benchmark
+  public CompoundBinaryTag putAndRemove() {
+    CompoundBinaryTag tag = this.tag;
+    for(int i = 0; i < this.edits; i++) {
+      tag = tag.putInt(this.keys[i], i);
+    }
+    for(int i = 0; i < this.edits; i++) {
+      tag = tag.remove(this.keys[i]);
+    }
+    return tag;
+  }
+
+  @Benchmark
+  public ListBinaryTag add() {
+    ListBinaryTag list = ListBinaryTag.empty();
+    for(int i = 0; i < this.edits; i++) {
+      list = list.add(IntBinaryTag.of(i));
+    }
+    return list;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryTagIOBenchmark {
+  @Param
+  public TagCorpus corpus;
+  private CompoundBinaryTag tag;
+  private byte[] uncompressed;
+  private byte[] compressed;
+  private ByteBuffer direct;
+
+  @Setup
+  public void setup() throws IOException {
+    this.tag = this.corpus.create();
+    final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(this.tag, uncompressed);
+    this.uncompressed = uncompressed.toByteArray();
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    BinaryTagIO.writeCompressedOutputStream(this.tag, compressed);
+    this.compressed = compressed.toByteArray();
+    this.direct = ByteBuffer.allocateDirect(this.uncompressed.length);
+    this.direct.put(this.uncompressed).flip();
+  }
+
+  @Benchmark
+  public CompoundBinaryTag read() throws IOException {
+    return BinaryTagIO.readInputStream(new ByteArrayInputStream(this.uncompressed));
+  }
+
+  @Benchmark
+  public CompoundBinaryTag readHeapByteBuffer() throws IOException {
+    return BinaryTagIO.readByteBuffer(ByteBuffer.wrap(this.uncompressed));
+  }
+
+  @Benchmark
+  public CompoundBinaryTag readDirectByteBuffer() throws IOException {
+    return BinaryTagIO.readByteBuffer(this.direct.duplicate());
+  }
+
+  @Benchmark
+  public CompoundBinaryTag readCompressed() throws IOException {
+    return BinaryTagIO.readCompressedInputStream(new ByteArrayInputStream(this.compressed));
+  }
+
+  @Benchmark
+  public byte[] write() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(this.uncompressed.length);
+    BinaryTagIO.writeOutputStream(this.tag, output);
+    return output.toByteArray();
+  }
+
+  @Benchmark
+  public ByteBuffer writeDirectByteBuffer() throws IOException {
+    final ByteBuffer buffer = this.direct.duplicate();
+    buffer.clear();
+    BinaryTagIO.writeByteBuffer(this.tag, buffer);
+    return buffer;
+  }
+
+  @Benchmark
+  public byte[] writeCompressed() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream(this.compressed.length);
+    BinaryTagIO.writeCompressedOutputStream(this.tag, output);
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.nbt.api.BinaryTagHolder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+
+/**
+ * Components shaped like the ones a busy server sends.
+ */
+public enum ComponentCorpus {
+  /**
+   * A short, flat chat line: a name, a separator and a message.
+   */
+  CHAT_LINE {
+    @Override
+    Component create() {
+      return Component.text()
+        .append(Component.text("[Admin] ", NamedTextColor.RED, TextDecoration.BOLD))
+        .append(Component.text("kashike", NamedTextColor.GOLD)
+          .hoverEvent(HoverEvent.showEntity(Key.key("player"), new UUID(0x1234L, 0x5678L), Component.text("kashike")))
+          .clickEvent(ClickEvent.suggestCommand("/msg kashike ")))
+        .append(Component.text(": ", NamedTextColor.DARK_GRAY))
+        .append(Component.text("has anyone seen my diamond pickaxe? i left it near spawn", NamedTextColor.WHITE))
+        .build();
+    }
+  },
+  /**
+   * A deeply nested chat tree, with a styled child at every level.
+   */
+  DEEP_TREE {
+    @Override
+    Component create() {
+      Component component = Component.text("leaf", TextColor.color(0x12ab34));
+      for(int i = 0; i < 32; i++) {
+        component = Component.text()
+          .content("level " + i)
+          .color(COLORS[i % COLORS.length])
+          .decoration(TextDecoration.ITALIC, (i & 1) == 0)
+          .append(component)
+          .append(Component.text(" sibling " + i))
+          .build();
+      }
+      return component;
+    }
+  },
+  /**
+   * A wide chat tree, with many styled siblings as you'd see in a scoreboard or a book page.
+   */
+  WIDE_TREE {
+    @Override
+    Component create() {
+      final TextComponent.Builder builder = Component.text();
+      for(int i = 0; i < 256; i++) {
+        builder.append(Component.text("word" + i + ' ', TextColor.color(i * 0x010101)));
+      }
+      return builder.build();
+    }
+  },
+  /**
+   * A translatable component with many arguments, including hover events carrying item NBT.
+   */
+  TRANSLATABLE {
+    @Override
+    Component create() {
+      final List<Component> args = new ArrayList<>();
+      for(int i = 0; i < 16; i++) {
+        args.add(Component.text("argument " + i, NamedTextColor.AQUA)
+          .hoverEvent(HoverEvent.showItem(Key.key("diamond_sword"), i + 1, BinaryTagHolder.of("{Damage:" + i + ",display:{Name:'{\"text\":\"Sword " + i + "\"}'}}"))));
+        args.add(Component.translatable("item.minecraft.diamond_sword", NamedTextColor.GRAY));
+      }
+      return Component.translatable("chat.type.announcement", NamedTextColor.YELLOW, args);
+    }
+  };
+
+  private static final NamedTextColor[] COLORS = {NamedTextColor.RED, NamedTextColor.GOLD, NamedTextColor.YELLOW, NamedTextColor.GREEN, NamedTextColor.AQUA, NamedTextColor.BLUE, NamedTextColor.LIGHT_PURPLE, NamedTextColor.WHITE};
+
+  abstract Component create();
+}
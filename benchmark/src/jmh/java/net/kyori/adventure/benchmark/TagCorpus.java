@@ -0,0 +1,160 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.benchmark;
+
+import java.util.Random;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.DoubleBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+
+/**
+ * Compound tags shaped like the ones found in item, entity and chunk data.
+ */
+public enum TagCorpus {
+  /**
+   * A single enchanted and renamed item stack.
+   */
+  ITEM {
+    @Override
+    CompoundBinaryTag create() {
+      return item(new Random(ITEM_SEED), 0);
+    }
+  },
+  /**
+   * A player inventory: a list of item stacks, plus position and motion.
+   */
+  PLAYER {
+    @Override
+    CompoundBinaryTag create() {
+      final Random random = new Random(PLAYER_SEED);
+      final ListBinaryTag.Builder<CompoundBinaryTag> inventory = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for(int slot = 0; slot < 36; slot++) {
+        inventory.add(item(random, slot));
+      }
+      return CompoundBinaryTag.builder()
+        .put("Inventory", inventory.build())
+        .put("Pos", doubles(random, 3))
+        .put("Motion", doubles(random, 3))
+        .putFloat("Health", 20f)
+        .putInt("XpLevel", 30)
+        .putString("Dimension", "minecraft:overworld")
+        .build();
+    }
+  },
+  /**
+   * A chunk-sized compound: sections of packed block states and light, and a handful of block entities.
+   */
+  CHUNK {
+    @Override
+    CompoundBinaryTag create() {
+      final Random random = new Random(CHUNK_SEED);
+      final ListBinaryTag.Builder<CompoundBinaryTag> sections = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for(int y = 0; y < 16; y++) {
+        final long[] blockStates = new long[256];
+        for(int i = 0; i < blockStates.length; i++) {
+          blockStates[i] = random.nextLong();
+        }
+        final byte[] blockLight = new byte[2048];
+        final byte[] skyLight = new byte[2048];
+        random.nextBytes(blockLight);
+        random.nextBytes(skyLight);
+        final ListBinaryTag.Builder<CompoundBinaryTag> palette = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+        for(int i = 0; i < 16; i++) {
+          palette.add(CompoundBinaryTag.builder()
+            .putString("Name", "minecraft:block_" + i)
+            .put("Properties", CompoundBinaryTag.builder().putString("facing", "north").putString("waterlogged", "false").build())
+            .build());
+        }
+        sections.add(CompoundBinaryTag.builder()
+          .putByte("Y", (byte) y)
+          .put("Palette", palette.build())
+          .putLongArray("BlockStates", blockStates)
+          .putByteArray("BlockLight", blockLight)
+          .putByteArray("SkyLight", skyLight)
+          .build());
+      }
+      final ListBinaryTag.Builder<CompoundBinaryTag> blockEntities = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+      for(int i = 0; i < 32; i++) {
+        blockEntities.add(CompoundBinaryTag.builder()
+          .putString("id", "minecraft:chest")
+          .putInt("x", random.nextInt(16))
+          .putInt("y", random.nextInt(256))
+          .putInt("z", random.nextInt(16))
+          .put("Items", ListBinaryTag.builder(BinaryTagTypes.COMPOUND).add(item(random, 0)).add(item(random, 1)).build())
+          .build());
+      }
+      return CompoundBinaryTag.builder()
+        .putInt("DataVersion", 2584)
+        .put("Level", CompoundBinaryTag.builder()
+          .putInt("xPos", 12)
+          .putInt("zPos", -7)
+          .putLong("LastUpdate", 123456789L)
+          .putString("Status", "full")
+          .putIntArray("Biomes", new int[1024])
+          .put("Sections", sections.build())
+          .put("TileEntities", blockEntities.build())
+          .build())
+        .build();
+    }
+  };
+
+  private static final long ITEM_SEED = 1L;
+  private static final long PLAYER_SEED = 2L;
+  private static final long CHUNK_SEED = 3L;
+
+  abstract CompoundBinaryTag create();
+
+  static CompoundBinaryTag item(final Random random, final int slot) {
+    final ListBinaryTag.Builder<CompoundBinaryTag> enchantments = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for(int i = 0, count = 1 + random.nextInt(4); i < count; i++) {
+      enchantments.add(CompoundBinaryTag.builder()
+        .putString("id", "minecraft:enchantment_" + random.nextInt(32))
+        .putShort("lvl", (short) (1 + random.nextInt(5)))
+        .build());
+    }
+    return CompoundBinaryTag.builder()
+      .putByte("Slot", (byte) slot)
+      .putString("id", "minecraft:diamond_sword")
+      .putByte("Count", (byte) (1 + random.nextInt(64)))
+      .put("tag", CompoundBinaryTag.builder()
+        .putInt("Damage", random.nextInt(1561))
+        .put("Enchantments", enchantments.build())
+        .put("display", CompoundBinaryTag.builder()
+          .putString("Name", "{\"text\":\"Sword of slot " + slot + "\",\"italic\":false}")
+          .put("Lore", ListBinaryTag.builder(BinaryTagTypes.STRING).add(StringBinaryTag.of("{\"text\":\"A fine blade\"}")).build())
+          .build())
+        .build())
+      .build();
+  }
+
+  static ListBinaryTag doubles(final Random random, final int count) {
+    final ListBinaryTag.Builder<DoubleBinaryTag> builder = ListBinaryTag.builder(BinaryTagTypes.DOUBLE);
+    for(int i = 0; i < count; i++) {
+      builder.add(DoubleBinaryTag.of(random.nextDouble() * 1000));
+    }
+    return builder.build();
+  }
+}
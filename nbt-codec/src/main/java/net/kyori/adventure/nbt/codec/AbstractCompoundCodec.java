@@ -0,0 +1,271 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagType;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.ByteArrayBinaryTag;
+import net.kyori.adventure.nbt.IntArrayBinaryTag;
+import net.kyori.adventure.nbt.LongArrayBinaryTag;
+import net.kyori.adventure.nbt.NumberBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The base of generated codecs, holding the conversions they share.
+ *
+ * <p>Tags of a different type than a field expects are converted as {@link net.kyori.adventure.nbt.CompoundBinaryTag}
+ * converts them: numbers of any type are converted to the field's type, and anything else is treated as missing.</p>
+ *
+ * @param <T> the value type
+ * @since 4.1.0
+ */
+public abstract class AbstractCompoundCodec<T> implements CompoundCodec<T> {
+  private static final BinaryTagType<?>[] TYPES = {
+    BinaryTagTypes.END,
+    BinaryTagTypes.BYTE,
+    BinaryTagTypes.SHORT,
+    BinaryTagTypes.INT,
+    BinaryTagTypes.LONG,
+    BinaryTagTypes.FLOAT,
+    BinaryTagTypes.DOUBLE,
+    BinaryTagTypes.BYTE_ARRAY,
+    BinaryTagTypes.STRING,
+    BinaryTagTypes.LIST,
+    BinaryTagTypes.COMPOUND,
+    BinaryTagTypes.INT_ARRAY,
+    BinaryTagTypes.LONG_ARRAY
+  };
+
+  protected AbstractCompoundCodec() {
+  }
+
+  /**
+   * Gets a tag type by its id.
+   *
+   * @param id the id
+   * @return the tag type
+   * @throws IOException if there is no tag type with the id
+   * @since 4.1.0
+   */
+  protected static @NonNull BinaryTagType<?> type(final byte id) throws IOException {
+    if(id < 0 || id >= TYPES.length) throw new IOException(String.format("Unknown tag type %d", id));
+    return TYPES[id];
+  }
+
+  // Decoding from tags
+
+  protected static byte byteValue(final @Nullable BinaryTag tag) {
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).byteValue() : 0;
+  }
+
+  protected static boolean booleanValue(final @Nullable BinaryTag tag) {
+    return byteValue(tag) != 0;
+  }
+
+  protected static short shortValue(final @Nullable BinaryTag tag) {
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).shortValue() : 0;
+  }
+
+  protected static int intValue(final @Nullable BinaryTag tag) {
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).intValue() : 0;
+  }
+
+  protected static long longValue(final @Nullable BinaryTag tag) {
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).longValue() : 0;
+  }
+
+  protected static float floatValue(final @Nullable BinaryTag tag) {
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).floatValue() : 0;
+  }
+
+  protected static double doubleValue(final @Nullable BinaryTag tag) {
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).doubleValue() : 0;
+  }
+
+  protected static @Nullable String stringValue(final @Nullable BinaryTag tag) {
+    return tag instanceof StringBinaryTag ? ((StringBinaryTag) tag).value() : null;
+  }
+
+  protected static byte@Nullable[] byteArrayValue(final @Nullable BinaryTag tag) {
+    return tag instanceof ByteArrayBinaryTag ? ((ByteArrayBinaryTag) tag).value() : null;
+  }
+
+  protected static int@Nullable[] intArrayValue(final @Nullable BinaryTag tag) {
+    return tag instanceof IntArrayBinaryTag ? ((IntArrayBinaryTag) tag).value() : null;
+  }
+
+  protected static long@Nullable[] longArrayValue(final @Nullable BinaryTag tag) {
+    return tag instanceof LongArrayBinaryTag ? ((LongArrayBinaryTag) tag).value() : null;
+  }
+
+  protected static <E extends Enum<E>> @Nullable E enumValue(final @NonNull Class<E> type, final @Nullable String name) {
+    if(name == null) return null;
+    try {
+      return Enum.valueOf(type, name);
+    } catch(final IllegalArgumentException e) {
+      return null; // a constant which no longer exists
+    }
+  }
+
+  // Writing
+
+  protected static void writeKey(final @NonNull DataOutput output, final @NonNull BinaryTagType<?> type, final @NonNull String key) throws IOException {
+    output.writeByte(type.id());
+    output.writeUTF(key); // modified UTF-8, as tags use
+  }
+
+  @SuppressWarnings("unchecked")
+  protected static <B extends BinaryTag> void writeTag(final @NonNull DataOutput output, final @NonNull String key, final @NonNull B tag) throws IOException {
+    final BinaryTagType<B> type = (BinaryTagType<B>) tag.type();
+    writeKey(output, type, key);
+    type.write(tag, output);
+  }
+
+  protected static void writeByteArray(final @NonNull DataOutput output, final byte@NonNull[] value) throws IOException {
+    output.writeInt(value.length);
+    output.write(value);
+  }
+
+  protected static void writeIntArray(final @NonNull DataOutput output, final int@NonNull[] value) throws IOException {
+    output.writeInt(value.length);
+    for(final int element : value) output.writeInt(element);
+  }
+
+  protected static void writeLongArray(final @NonNull DataOutput output, final long@NonNull[] value) throws IOException {
+    output.writeInt(value.length);
+    for(final long element : value) output.writeLong(element);
+  }
+
+  // Reading, where type is the id of the tag being read
+
+  protected static void skip(final byte type, final @NonNull DataInput input) throws IOException {
+    type(type).skip(input);
+  }
+
+  protected static @NonNull BinaryTag readTag(final byte type, final @NonNull DataInput input) throws IOException {
+    return type(type).read(input);
+  }
+
+  protected static <B extends BinaryTag> @Nullable B readTag(final byte type, final @NonNull DataInput input, final @NonNull Class<B> tagType) throws IOException {
+    final BinaryTag tag = readTag(type, input);
+    return tagType.isInstance(tag) ? tagType.cast(tag) : null;
+  }
+
+  protected static <V> @Nullable V readCompound(final byte type, final @NonNull DataInput input, final @NonNull CompoundCodec<V> codec) throws IOException {
+    if(type == BinaryTagTypes.COMPOUND.id()) return codec.read(input);
+    skip(type, input);
+    return null;
+  }
+
+  private static @Nullable BinaryTag readNumber(final byte type, final DataInput input) throws IOException {
+    final BinaryTagType<?> tagType = type(type);
+    if(!BinaryTagTypes.INT.test(tagType)) { // not a number
+      tagType.skip(input);
+      return null;
+    }
+    return tagType.read(input);
+  }
+
+  protected static byte readByte(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.BYTE.id()) return input.readByte();
+    return byteValue(readNumber(type, input));
+  }
+
+  protected static boolean readBoolean(final byte type, final @NonNull DataInput input) throws IOException {
+    return readByte(type, input) != 0;
+  }
+
+  protected static short readShort(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.SHORT.id()) return input.readShort();
+    return shortValue(readNumber(type, input));
+  }
+
+  protected static int readInt(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.INT.id()) return input.readInt();
+    return intValue(readNumber(type, input));
+  }
+
+  protected static long readLong(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.LONG.id()) return input.readLong();
+    return longValue(readNumber(type, input));
+  }
+
+  protected static float readFloat(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.FLOAT.id()) return input.readFloat();
+    return floatValue(readNumber(type, input));
+  }
+
+  protected static double readDouble(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.DOUBLE.id()) return input.readDouble();
+    return doubleValue(readNumber(type, input));
+  }
+
+  protected static @Nullable String readString(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type == BinaryTagTypes.STRING.id()) return input.readUTF();
+    skip(type, input);
+    return null;
+  }
+
+  protected static byte@Nullable[] readByteArray(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type != BinaryTagTypes.BYTE_ARRAY.id()) {
+      skip(type, input);
+      return null;
+    }
+    final byte[] value = new byte[length(input)];
+    input.readFully(value);
+    return value;
+  }
+
+  protected static int@Nullable[] readIntArray(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type != BinaryTagTypes.INT_ARRAY.id()) {
+      skip(type, input);
+      return null;
+    }
+    final int[] value = new int[length(input)];
+    for(int i = 0; i < value.length; i++) value[i] = input.readInt();
+    return value;
+  }
+
+  protected static long@Nullable[] readLongArray(final byte type, final @NonNull DataInput input) throws IOException {
+    if(type != BinaryTagTypes.LONG_ARRAY.id()) {
+      skip(type, input);
+      return null;
+    }
+    final long[] value = new long[length(input)];
+    for(int i = 0; i < value.length; i++) value[i] = input.readLong();
+    return value;
+  }
+
+  private static int length(final DataInput input) throws IOException {
+    final int length = input.readInt();
+    if(length < 0) throw new IOException(String.format("Negative array length %d", length));
+    return length;
+  }
+}
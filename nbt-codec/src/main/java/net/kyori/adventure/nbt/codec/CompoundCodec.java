@@ -0,0 +1,86 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Converts values to and from compound tags.
+ *
+ * <p>Codecs are generated for classes annotated with {@link TagSerializable}. Besides converting to and from tags,
+ * they can write and read the binary form of the compound tag directly, without creating any tags.</p>
+ *
+ * @param <T> the value type
+ * @since 4.1.0
+ */
+public interface CompoundCodec<T> {
+  /**
+   * Encodes a value to a compound tag.
+   *
+   * @param value the value
+   * @return the compound tag
+   * @since 4.1.0
+   */
+  @NonNull CompoundBinaryTag encode(final @NonNull T value);
+
+  /**
+   * Decodes a value from a compound tag.
+   *
+   * @param tag the compound tag
+   * @return the value
+   * @since 4.1.0
+   */
+  @NonNull T decode(final @NonNull CompoundBinaryTag tag);
+
+  /**
+   * Writes a value as the binary form of its compound tag.
+   *
+   * <p>This writes the same bytes as {@link BinaryTagTypes#COMPOUND} would write for {@link #encode(Object)}, which
+   * do not include a type id or name.</p>
+   *
+   * @param value the value
+   * @param output the output
+   * @throws IOException if an exception was encountered while writing the value
+   * @since 4.1.0
+   */
+  void write(final @NonNull T value, final @NonNull DataOutput output) throws IOException;
+
+  /**
+   * Reads a value from the binary form of a compound tag.
+   *
+   * <p>This reads the bytes {@link BinaryTagTypes#COMPOUND} would read, and decodes them as {@link #decode(CompoundBinaryTag)}
+   * would, while skipping unknown keys.</p>
+   *
+   * @param input the input
+   * @return the value
+   * @throws IOException if an exception was encountered while reading the value
+   * @since 4.1.0
+   */
+  @NonNull T read(final @NonNull DataInput input) throws IOException;
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.codec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class to have a {@link CompoundCodec} generated for it.
+ *
+ * <p>The codec is generated in the same package, named after the class with {@code TagCodec} appended, and with the
+ * names of any enclosing classes prepended and separated by {@code _}. Its single instance is held in
+ * {@code INSTANCE}.</p>
+ *
+ * <p>Every field which is not {@code static} or {@code transient} is held in the compound tag, under its name or the
+ * name given by {@link TagKey}. Fields may not be {@code private}, and may have the types:</p>
+ * <ul>
+ *   <li>{@code boolean}, {@code byte}, {@code short}, {@code int}, {@code long}, {@code float} and {@code double}</li>
+ *   <li>{@code byte[]}, {@code int[]} and {@code long[]}</li>
+ *   <li>{@link String} and enums, which are held as string tags of their names</li>
+ *   <li>{@link net.kyori.adventure.nbt.BinaryTag} and its subtypes</li>
+ *   <li>other classes annotated with {@code TagSerializable}, which are held as compound tags</li>
+ * </ul>
+ *
+ * <p>Fields holding {@code null} are left out of the compound tag. Values are decoded through a constructor taking
+ * the fields in declaration order if there is one, and otherwise by assigning the fields of an instance created by
+ * the no-argument constructor. When decoding through a constructor, missing and mismatched tags are passed as
+ * {@code 0}, {@code false} or {@code null}. When assigning fields, they keep their initial values instead.</p>
+ *
+ * @since 4.1.0
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface TagSerializable {
+}
@@ -0,0 +1,508 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.codec.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import net.kyori.adventure.nbt.codec.TagKey;
+import net.kyori.adventure.nbt.codec.TagSerializable;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Generates a {@link net.kyori.adventure.nbt.codec.CompoundCodec} for each class annotated with
+ * {@link TagSerializable}.
+ *
+ * @since 4.1.0
+ */
+public final class CompoundCodecProcessor extends AbstractProcessor {
+  private static final String BINARY_TAG = "net.kyori.adventure.nbt.BinaryTag";
+  private static final String TYPES = "BinaryTagTypes";
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(TagSerializable.class.getName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment environment) {
+    for(final Element element : environment.getElementsAnnotatedWith(TagSerializable.class)) {
+      if(element.getKind() != ElementKind.CLASS) {
+        this.error(element, "Only classes can be annotated with @%s", TagSerializable.class.getSimpleName());
+        continue;
+      }
+      final /* @Nullable */ Model model = this.model((TypeElement) element);
+      if(model == null) continue;
+      try(final Writer writer = this.processingEnv.getFiler().createSourceFile(model.qualifiedCodecName(), element).openWriter()) {
+        writer.write(model.generate());
+      } catch(final IOException e) {
+        this.error(element, "Could not write %s: %s", model.qualifiedCodecName(), e.getMessage());
+      }
+    }
+    return true;
+  }
+
+  private void error(final Element element, final String message, final Object... args) {
+    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(message, args), element);
+  }
+
+  private @Nullable Model model(final TypeElement type) {
+    boolean valid = true;
+    if(type.getModifiers().contains(Modifier.PRIVATE) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+      this.error(type, "%s must not be private or abstract", type.getSimpleName());
+      valid = false;
+    }
+    if(type.getNestingKind() != NestingKind.TOP_LEVEL && !type.getModifiers().contains(Modifier.STATIC)) {
+      this.error(type, "%s must be static", type.getSimpleName());
+      valid = false;
+    }
+    if(!type.getTypeParameters().isEmpty()) {
+      this.error(type, "%s must not be generic", type.getSimpleName());
+      valid = false;
+    }
+
+    final List<Field> fields = new ArrayList<>();
+    final Set<String> keys = new HashSet<>();
+    for(final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      final Set<Modifier> modifiers = field.getModifiers();
+      if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+      if(modifiers.contains(Modifier.PRIVATE)) {
+        this.error(field, "Serialized field %s must not be private", field.getSimpleName());
+        valid = false;
+        continue;
+      }
+      final /* @Nullable */ Kind kind = this.kind(field.asType());
+      if(kind == null) {
+        this.error(field, "Serialized field %s has an unsupported type %s", field.getSimpleName(), field.asType());
+        valid = false;
+        continue;
+      }
+      final /* @Nullable */ TagKey tagKey = field.getAnnotation(TagKey.class);
+      final String key = tagKey == null ? field.getSimpleName().toString() : tagKey.value();
+      if(!keys.add(key)) {
+        this.error(field, "Serialized field %s has the same key \"%s\" as another field", field.getSimpleName(), key);
+        valid = false;
+        continue;
+      }
+      fields.add(new Field(field, key, kind));
+    }
+
+    final boolean construct = this.hasConstructor(type, fields);
+    if(!construct) {
+      if(!this.hasNoArgConstructor(type)) {
+        this.error(type, "%s needs a constructor taking its serialized fields in order, or a constructor without arguments", type.getSimpleName());
+        valid = false;
+      } else {
+        for(final Field field : fields) {
+          if(field.element.getModifiers().contains(Modifier.FINAL)) {
+            this.error(field.element, "Serialized field %s must not be final, as %s has no constructor taking its serialized fields", field.element.getSimpleName(), type.getSimpleName());
+            valid = false;
+          }
+        }
+      }
+    }
+    return valid ? new Model(type, this.codecName(type), fields, construct) : null;
+  }
+
+  private @Nullable Kind kind(final TypeMirror type) {
+    switch(type.getKind()) {
+      case BOOLEAN: return Kind.BOOLEAN;
+      case BYTE: return Kind.BYTE;
+      case SHORT: return Kind.SHORT;
+      case INT: return Kind.INT;
+      case LONG: return Kind.LONG;
+      case FLOAT: return Kind.FLOAT;
+      case DOUBLE: return Kind.DOUBLE;
+      case ARRAY:
+        switch(((ArrayType) type).getComponentType().getKind()) {
+          case BYTE: return Kind.BYTE_ARRAY;
+          case INT: return Kind.INT_ARRAY;
+          case LONG: return Kind.LONG_ARRAY;
+          default: return null;
+        }
+      case DECLARED:
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if(element.getQualifiedName().contentEquals(String.class.getName())) return Kind.STRING;
+        if(element.getKind() == ElementKind.ENUM) return Kind.ENUM;
+        if(element.getAnnotation(TagSerializable.class) != null) return Kind.COMPOUND;
+        final /* @Nullable */ TypeElement binaryTag = this.processingEnv.getElementUtils().getTypeElement(BINARY_TAG);
+        if(binaryTag != null && this.processingEnv.getTypeUtils().isAssignable(type, binaryTag.asType())) return Kind.TAG;
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  private boolean hasConstructor(final TypeElement type, final List<Field> fields) {
+    for(final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if(constructor.getModifiers().contains(Modifier.PRIVATE) || constructor.getParameters().size() != fields.size()) continue;
+      boolean matches = true;
+      for(int i = 0; i < fields.size() && matches; i++) {
+        matches = this.processingEnv.getTypeUtils().isSameType(constructor.getParameters().get(i).asType(), fields.get(i).element.asType());
+      }
+      if(matches) return true;
+    }
+    return false;
+  }
+
+  private boolean hasNoArgConstructor(final TypeElement type) {
+    for(final ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if(!constructor.getModifiers().contains(Modifier.PRIVATE) && constructor.getParameters().isEmpty()) return true;
+    }
+    return false;
+  }
+
+  private String codecName(final TypeElement type) {
+    final StringBuilder name = new StringBuilder(type.getSimpleName()).append("TagCodec");
+    Element enclosing = type.getEnclosingElement();
+    while(enclosing.getKind() != ElementKind.PACKAGE) {
+      name.insert(0, '_').insert(0, enclosing.getSimpleName());
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.toString();
+  }
+
+  /**
+   * Gets the name of a type as written in source, without the type-use annotations that are not allowed in class
+   * literals.
+   */
+  private String typeName(final TypeMirror type) {
+    if(type.getKind().isPrimitive()) {
+      return type.getKind().name().toLowerCase(Locale.ROOT);
+    } else if(type.getKind() == TypeKind.ARRAY) {
+      return this.typeName(((ArrayType) type).getComponentType()) + "[]";
+    }
+    final Types types = this.processingEnv.getTypeUtils();
+    return ((TypeElement) types.asElement(types.erasure(type))).getQualifiedName().toString();
+  }
+
+  private String qualifiedCodecName(final TypeMirror type) {
+    final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+    final String pkg = this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    return (pkg.isEmpty() ? "" : pkg + '.') + this.codecName(element);
+  }
+
+  /**
+   * How a field is held in a compound tag.
+   */
+  enum Kind {
+    BOOLEAN("BYTE"),
+    BYTE("BYTE"),
+    SHORT("SHORT"),
+    INT("INT"),
+    LONG("LONG"),
+    FLOAT("FLOAT"),
+    DOUBLE("DOUBLE"),
+    BYTE_ARRAY("BYTE_ARRAY"),
+    INT_ARRAY("INT_ARRAY"),
+    LONG_ARRAY("LONG_ARRAY"),
+    STRING("STRING"),
+    ENUM("STRING"),
+    COMPOUND("COMPOUND"),
+    TAG(null);
+
+    final @Nullable String type;
+
+    Kind(final @Nullable String type) {
+      this.type = type;
+    }
+
+    boolean primitive() {
+      return this.ordinal() <= DOUBLE.ordinal();
+    }
+  }
+
+  final class Field {
+    final VariableElement element;
+    final String key;
+    final Kind kind;
+
+    Field(final VariableElement element, final String key, final Kind kind) {
+      this.element = element;
+      this.key = key;
+      this.kind = kind;
+    }
+
+    String name() {
+      return this.element.getSimpleName().toString();
+    }
+
+    String type() {
+      return CompoundCodecProcessor.this.typeName(this.element.asType());
+    }
+
+    String literalKey() {
+      final StringBuilder literal = new StringBuilder("\"");
+      for(int i = 0; i < this.key.length(); i++) {
+        final char c = this.key.charAt(i);
+        if(c == '"' || c == '\\') {
+          literal.append('\\').append(c);
+        } else if(c < ' ' || c > '~') {
+          literal.append(String.format("\\u%04x", (int) c));
+        } else {
+          literal.append(c);
+        }
+      }
+      return literal.append('"').toString();
+    }
+
+    String codec() {
+      return CompoundCodecProcessor.this.qualifiedCodecName(this.element.asType()) + ".INSTANCE";
+    }
+
+    /**
+     * Gets an expression converting the tag in {@code tag} to this field's type.
+     */
+    String fromTag(final String tag) {
+      switch(this.kind) {
+        case BOOLEAN: return "booleanValue(" + tag + ")";
+        case BYTE: return "byteValue(" + tag + ")";
+        case SHORT: return "shortValue(" + tag + ")";
+        case INT: return "intValue(" + tag + ")";
+        case LONG: return "longValue(" + tag + ")";
+        case FLOAT: return "floatValue(" + tag + ")";
+        case DOUBLE: return "doubleValue(" + tag + ")";
+        case BYTE_ARRAY: return "byteArrayValue(" + tag + ")";
+        case INT_ARRAY: return "intArrayValue(" + tag + ")";
+        case LONG_ARRAY: return "longArrayValue(" + tag + ")";
+        case STRING: return "stringValue(" + tag + ")";
+        case ENUM: return "enumValue(" + this.type() + ".class, stringValue(" + tag + "))";
+        case COMPOUND: return tag + " instanceof CompoundBinaryTag ? " + this.codec() + ".decode((CompoundBinaryTag) " + tag + ") : null";
+        default:
+          if(this.type().equals(BINARY_TAG)) return tag; // any tag will do
+          return tag + " instanceof " + this.type() + " ? (" + this.type() + ") " + tag + " : null";
+      }
+    }
+
+    /**
+     * Gets an expression reading a tag of the type in {@code type} as this field's type.
+     */
+    String read() {
+      switch(this.kind) {
+        case BOOLEAN: return "readBoolean(type, input)";
+        case BYTE: return "readByte(type, input)";
+        case SHORT: return "readShort(type, input)";
+        case INT: return "readInt(type, input)";
+        case LONG: return "readLong(type, input)";
+        case FLOAT: return "readFloat(type, input)";
+        case DOUBLE: return "readDouble(type, input)";
+        case BYTE_ARRAY: return "readByteArray(type, input)";
+        case INT_ARRAY: return "readIntArray(type, input)";
+        case LONG_ARRAY: return "readLongArray(type, input)";
+        case STRING: return "readString(type, input)";
+        case ENUM: return "enumValue(" + this.type() + ".class, readString(type, input))";
+        case COMPOUND: return "readCompound(type, input, " + this.codec() + ")";
+        default: return "readTag(type, input, " + this.type() + ".class)";
+      }
+    }
+  }
+
+  final class Model {
+    final TypeElement type;
+    final String codecName;
+    final List<Field> fields;
+    final boolean construct;
+
+    Model(final TypeElement type, final String codecName, final List<Field> fields, final boolean construct) {
+      this.type = type;
+      this.codecName = codecName;
+      this.fields = fields;
+      this.construct = construct;
+    }
+
+    String pkg() {
+      return CompoundCodecProcessor.this.processingEnv.getElementUtils().getPackageOf(this.type).getQualifiedName().toString();
+    }
+
+    String qualifiedCodecName() {
+      return this.pkg().isEmpty() ? this.codecName : this.pkg() + '.' + this.codecName;
+    }
+
+    String generate() {
+      final String name = this.type.getQualifiedName().toString();
+      final StringBuilder out = new StringBuilder();
+      if(!this.pkg().isEmpty()) out.append("package ").append(this.pkg()).append(";\n\n");
+      out.append("import java.io.DataInput;\n");
+      out.append("import java.io.DataOutput;\n");
+      out.append("import java.io.IOException;\n");
+      out.append("import net.kyori.adventure.nbt.BinaryTag;\n");
+      out.append("import net.kyori.adventure.nbt.BinaryTagTypes;\n");
+      out.append("import net.kyori.adventure.nbt.CompoundBinaryTag;\n");
+      out.append("import net.kyori.adventure.nbt.codec.AbstractCompoundCodec;\n\n");
+      out.append("/**\n * The codec for {@link ").append(name).append("}, generated by {@code ").append(CompoundCodecProcessor.class.getSimpleName()).append("}.\n */\n");
+      out.append("public final class ").append(this.codecName).append(" extends AbstractCompoundCodec<").append(name).append("> {\n");
+      out.append("  public static final ").append(this.codecName).append(" INSTANCE = new ").append(this.codecName).append("();\n\n");
+      out.append("  private ").append(this.codecName).append("() {\n  }\n");
+      this.encode(out, name);
+      this.decode(out, name);
+      this.write(out, name);
+      this.read(out, name);
+      return out.append("}\n").toString();
+    }
+
+    private void encode(final StringBuilder out, final String name) {
+      out.append("\n  @Override\n  public CompoundBinaryTag encode(final ").append(name).append(" value) {\n");
+      out.append("    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();\n");
+      for(final Field field : this.fields) {
+        final String value = "value." + field.name();
+        final String indent = field.kind.primitive() ? "    " : "      ";
+        if(!field.kind.primitive()) out.append("    if(").append(value).append(" != null) {\n");
+        out.append(indent);
+        switch(field.kind) {
+          case BOOLEAN: out.append("builder.putBoolean(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case BYTE: out.append("builder.putByte(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case SHORT: out.append("builder.putShort(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case INT: out.append("builder.putInt(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case LONG: out.append("builder.putLong(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case FLOAT: out.append("builder.putFloat(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case DOUBLE: out.append("builder.putDouble(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case BYTE_ARRAY: out.append("builder.putByteArray(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case INT_ARRAY: out.append("builder.putIntArray(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case LONG_ARRAY: out.append("builder.putLongArray(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case STRING: out.append("builder.putString(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+          case ENUM: out.append("builder.putString(").append(field.literalKey()).append(", ").append(value).append(".name());\n"); break;
+          case COMPOUND: out.append("builder.put(").append(field.literalKey()).append(", ").append(field.codec()).append(".encode(").append(value).append("));\n"); break;
+          default: out.append("builder.put(").append(field.literalKey()).append(", ").append(value).append(");\n"); break;
+        }
+        if(!field.kind.primitive()) out.append("    }\n");
+      }
+      out.append("    return builder.build();\n  }\n");
+    }
+
+    private void decode(final StringBuilder out, final String name) {
+      out.append("\n  @Override\n  public ").append(name).append(" decode(final CompoundBinaryTag tag) {\n");
+      if(this.construct) {
+        for(int i = 0; i < this.fields.size(); i++) {
+          final Field field = this.fields.get(i);
+          out.append("    final BinaryTag tag").append(i).append(" = tag.get(").append(field.literalKey()).append(");\n");
+        }
+        out.append("    return new ").append(name).append("(");
+        for(int i = 0; i < this.fields.size(); i++) {
+          out.append(i == 0 ? "\n      " : ",\n      ").append(this.fields.get(i).fromTag("tag" + i));
+        }
+        out.append("\n    );\n  }\n");
+      } else {
+        out.append("    final ").append(name).append(" value = new ").append(name).append("();\n");
+        for(int i = 0; i < this.fields.size(); i++) {
+          final Field field = this.fields.get(i);
+          out.append("    final BinaryTag tag").append(i).append(" = tag.get(").append(field.literalKey()).append(");\n");
+          out.append("    if(tag").append(i).append(" != null) value.").append(field.name()).append(" = ").append(field.fromTag("tag" + i)).append(";\n");
+        }
+        out.append("    return value;\n  }\n");
+      }
+    }
+
+    private void write(final StringBuilder out, final String name) {
+      out.append("\n  @Override\n  public void write(final ").append(name).append(" value, final DataOutput output) throws IOException {\n");
+      for(final Field field : this.fields) {
+        final String value = "value." + field.name();
+        final String indent = field.kind.primitive() ? "    " : "      ";
+        if(!field.kind.primitive()) out.append("    if(").append(value).append(" != null) {\n");
+        if(field.kind == Kind.TAG) {
+          out.append(indent).append("writeTag(output, ").append(field.literalKey()).append(", ").append(value).append(");\n");
+        } else {
+          out.append(indent).append("writeKey(output, ").append(TYPES).append('.').append(field.kind.type).append(", ").append(field.literalKey()).append(");\n");
+          out.append(indent);
+          switch(field.kind) {
+            case BOOLEAN: out.append("output.writeByte(").append(value).append(" ? 1 : 0);\n"); break;
+            case BYTE: out.append("output.writeByte(").append(value).append(");\n"); break;
+            case SHORT: out.append("output.writeShort(").append(value).append(");\n"); break;
+            case INT: out.append("output.writeInt(").append(value).append(");\n"); break;
+            case LONG: out.append("output.writeLong(").append(value).append(");\n"); break;
+            case FLOAT: out.append("output.writeFloat(").append(value).append(");\n"); break;
+            case DOUBLE: out.append("output.writeDouble(").append(value).append(");\n"); break;
+            case BYTE_ARRAY: out.append("writeByteArray(output, ").append(value).append(");\n"); break;
+            case INT_ARRAY: out.append("writeIntArray(output, ").append(value).append(");\n"); break;
+            case LONG_ARRAY: out.append("writeLongArray(output, ").append(value).append(");\n"); break;
+            case STRING: out.append("output.writeUTF(").append(value).append(");\n"); break;
+            case ENUM: out.append("output.writeUTF(").append(value).append(".name());\n"); break;
+            default: out.append(field.codec()).append(".write(").append(value).append(", output);\n"); break;
+          }
+        }
+        if(!field.kind.primitive()) out.append("    }\n");
+      }
+      out.append("    output.writeByte(").append(TYPES).append(".END.id());\n  }\n");
+    }
+
+    private void read(final StringBuilder out, final String name) {
+      out.append("\n  @Override\n  public ").append(name).append(" read(final DataInput input) throws IOException {\n");
+      if(this.construct) {
+        for(int i = 0; i < this.fields.size(); i++) {
+          final Field field = this.fields.get(i);
+          out.append("    ").append(field.type()).append(" value").append(i).append(" = ").append(field.kind.primitive() ? (field.kind == Kind.BOOLEAN ? "false" : "0") : "null").append(";\n");
+        }
+      } else {
+        out.append("    final ").append(name).append(" value = new ").append(name).append("();\n");
+      }
+      out.append("    byte type;\n");
+      out.append("    while((type = input.readByte()) != ").append(TYPES).append(".END.id()) {\n");
+      out.append("      switch(input.readUTF()) {\n");
+      for(int i = 0; i < this.fields.size(); i++) {
+        final Field field = this.fields.get(i);
+        out.append("        case ").append(field.literalKey()).append(":\n");
+        out.append("          ").append(this.construct ? "value" + i : "value." + field.name()).append(" = ").append(field.read()).append(";\n");
+        out.append("          break;\n");
+      }
+      out.append("        default:\n          skip(type, input);\n          break;\n");
+      out.append("      }\n    }\n");
+      if(this.construct) {
+        out.append("    return new ").append(name).append("(");
+        for(int i = 0; i < this.fields.size(); i++) {
+          out.append(i == 0 ? "" : ", ").append("value").append(i);
+        }
+        out.append(");\n");
+      } else {
+        out.append("    return value;\n");
+      }
+      out.append("  }\n");
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompoundCodecTest {
+  private static final CompoundBinaryTag DISPLAY = CompoundBinaryTag.builder()
+    .put("display", CompoundBinaryTag.builder().putString("Name", "Excalibur").build())
+    .build();
+
+  @Test
+  void testEncode() {
+    assertEquals(CompoundBinaryTag.builder()
+      .putString("id", "minecraft:diamond_sword")
+      .putByte("Count", (byte) 1)
+      .put("tag", DISPLAY)
+      .build(), CompoundCodecTest_ItemTagCodec.INSTANCE.encode(new Item("minecraft:diamond_sword", (byte) 1, DISPLAY)));
+    assertEquals(CompoundBinaryTag.builder()
+      .putString("id", "minecraft:bread")
+      .putByte("Count", (byte) 3)
+      .build(), CompoundCodecTest_ItemTagCodec.INSTANCE.encode(new Item("minecraft:bread", (byte) 3, null)));
+  }
+
+  @Test
+  void testTreeRoundtrip() {
+    final Player player = player();
+    final CompoundBinaryTag tag = CompoundCodecTest_PlayerTagCodec.INSTANCE.encode(player);
+    assertEquals(GameMode.CREATIVE.name(), tag.getString("mode"));
+    assertNull(tag.get("cache"));
+    assertPlayerEquals(player, CompoundCodecTest_PlayerTagCodec.INSTANCE.decode(tag));
+  }
+
+  @Test
+  void testStreamMatchesTree() throws IOException {
+    final Player player = player();
+    final ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+    CompoundCodecTest_PlayerTagCodec.INSTANCE.write(player, new DataOutputStream(streamed));
+    final CompoundBinaryTag tag = BinaryTagTypes.COMPOUND.read(new DataInputStream(new ByteArrayInputStream(streamed.toByteArray())));
+    assertEquals(CompoundCodecTest_PlayerTagCodec.INSTANCE.encode(player), tag);
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    BinaryTagTypes.COMPOUND.write(tag, new DataOutputStream(written));
+    assertPlayerEquals(player, CompoundCodecTest_PlayerTagCodec.INSTANCE.read(new DataInputStream(new ByteArrayInputStream(written.toByteArray()))));
+  }
+
+  @Test
+  void testConversions() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("id", "minecraft:stone")
+      .putInt("Count", 64) // stored with another numeric type
+      .putString("tag", "not a compound")
+      .putString("unknown", "skipped")
+      .build();
+    final Item decoded = CompoundCodecTest_ItemTagCodec.INSTANCE.decode(tag);
+    assertEquals(64, decoded.count);
+    assertNull(decoded.tag);
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    BinaryTagTypes.COMPOUND.write(tag, new DataOutputStream(written));
+    final Item read = CompoundCodecTest_ItemTagCodec.INSTANCE.read(new DataInputStream(new ByteArrayInputStream(written.toByteArray())));
+    assertEquals("minecraft:stone", read.id);
+    assertEquals(64, read.count);
+    assertNull(read.tag);
+
+    // fields keep their initial values when their tags are missing
+    final Player player = CompoundCodecTest_PlayerTagCodec.INSTANCE.decode(CompoundBinaryTag.builder().putString("mode", "REMOVED").build());
+    assertEquals(20, player.health);
+    assertNull(player.mode);
+  }
+
+  @Test
+  void testAnnotatedFieldTypes() throws IOException {
+    final Settings settings = new Settings();
+    settings.mode = GameMode.CREATIVE;
+    settings.extra = DISPLAY;
+    settings.item = new Item("minecraft:bread", (byte) 3, null);
+    settings.ids = new int[] {1, 2};
+    settings.any = StringBinaryTag.of("anything");
+    final CompoundBinaryTag tag = CompoundCodecTest_SettingsTagCodec.INSTANCE.encode(settings);
+    assertEquals(GameMode.CREATIVE.name(), tag.getString("mode"));
+
+    final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    BinaryTagTypes.COMPOUND.write(tag, new DataOutputStream(written));
+    for(final Settings decoded : new Settings[] {
+      CompoundCodecTest_SettingsTagCodec.INSTANCE.decode(tag),
+      CompoundCodecTest_SettingsTagCodec.INSTANCE.read(new DataInputStream(new ByteArrayInputStream(written.toByteArray())))
+    }) {
+      assertEquals(GameMode.CREATIVE, decoded.mode);
+      assertEquals(DISPLAY, decoded.extra);
+      assertEquals("minecraft:bread", decoded.item.id);
+      assertArrayEquals(new int[] {1, 2}, decoded.ids);
+      assertEquals(StringBinaryTag.of("anything"), decoded.any);
+    }
+  }
+
+  private static Player player() {
+    final Player player = new Player();
+    player.name = "kashike";
+    player.health = 17;
+    player.flying = true;
+    player.x = 12.5;
+    player.uuid = new int[] {1, 2, 3, 4};
+    player.seen = new long[] {5L};
+    player.mode = GameMode.CREATIVE;
+    player.mainHand = new Item("minecraft:diamond_sword", (byte) 1, DISPLAY);
+    player.inventory = ListBinaryTag.builder().add(StringBinaryTag.of("a")).build();
+    player.extra = IntBinaryTag.of(5);
+    player.cache = 7;
+    return player;
+  }
+
+  private static void assertPlayerEquals(final Player expected, final Player actual) {
+    assertEquals(expected.name, actual.name);
+    assertEquals(expected.health, actual.health);
+    assertEquals(expected.flying, actual.flying);
+    assertEquals(expected.x, actual.x);
+    assertArrayEquals(expected.uuid, actual.uuid);
+    assertArrayEquals(expected.seen, actual.seen);
+    assertEquals(expected.mode, actual.mode);
+    assertEquals(expected.mainHand.id, actual.mainHand.id);
+    assertEquals(expected.mainHand.count, actual.mainHand.count);
+    assertEquals(expected.mainHand.tag, actual.mainHand.tag);
+    assertEquals(expected.inventory, actual.inventory);
+    assertEquals(expected.extra, actual.extra);
+    assertEquals(0, actual.cache);
+  }
+
+  enum GameMode {
+    SURVIVAL,
+    CREATIVE
+  }
+
+  @TagSerializable
+  static final class Item {
+    final String id;
+    @TagKey("Count") final byte count;
+    final CompoundBinaryTag tag;
+
+    Item(final String id, final byte count, final CompoundBinaryTag tag) {
+      this.id = id;
+      this.count = count;
+      this.tag = tag;
+    }
+  }
+
+  @TagSerializable
+  static final class Player {
+    String name;
+    int health = 20;
+    boolean flying;
+    double x;
+    int[] uuid;
+    long[] seen;
+    GameMode mode;
+    Item mainHand;
+    @TagKey("Inventory") ListBinaryTag inventory;
+    IntBinaryTag extra;
+    transient int cache;
+  }
+
+  @TagSerializable
+  static final class Settings {
+    @NonNull GameMode mode = GameMode.SURVIVAL;
+    @Nullable CompoundBinaryTag extra;
+    @Nullable Item item;
+    int @Nullable [] ids;
+    @Nullable BinaryTag any;
+  }
+}
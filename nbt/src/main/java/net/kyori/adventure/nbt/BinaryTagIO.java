@@ -29,16 +29,32 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Deflater;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import static net.kyori.adventure.nbt.IOStreamUtil.closeShield;
+import static net.kyori.adventure.nbt.IOStreamUtil.inputStream;
+import static net.kyori.adventure.nbt.IOStreamUtil.map;
 
 /**
  * Serialization operations for binary tags.
@@ -67,6 +83,35 @@ public final class BinaryTagIO {
     }
   }
 
+  /**
+   * Reads a compound tag from {@code path} using {@code compression}.
+   *
+   * @param path the path
+   * @param compression the compression
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readPath(final @NonNull Path path, final @NonNull Compression compression) throws IOException {
+    try(final InputStream is = new BufferedInputStream(Files.newInputStream(path))) {
+      return readInputStream(is, compression);
+    }
+  }
+
+  /**
+   * Reads a compound tag from {@code path}, decoding directly from a read-only memory mapping of the file.
+   *
+   * <p>This avoids copying the file through a stream, and is best suited to large files.</p>
+   *
+   * @param path the path
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readMappedPath(final @NonNull Path path) throws IOException {
+    return readByteBuffer(map(path));
+  }
+
   /**
    * Reads a compound tag from an input stream. The stream is not closed afterwards.
    *
@@ -79,6 +124,22 @@ public final class BinaryTagIO {
     return readDataInput(new DataInputStream(closeShield(input)));
   }
 
+  /**
+   * Reads a compound tag from an input stream using {@code compression}. The stream is not closed afterwards.
+   *
+   * @param input the input stream
+   * @param compression the compression
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readInputStream(final @NonNull InputStream input, final @NonNull Compression compression) throws IOException {
+    if(compression == Compression.NONE) return readInputStream(input);
+    try(final DataInputStream dis = new DataInputStream(new BufferedInputStream(compression.decompress(closeShield(input))))) {
+      return readDataInput(dis);
+    }
+  }
+
   /**
    * Reads a compound tag from {@code path} using GZIP decompression.
    *
@@ -88,9 +149,19 @@ public final class BinaryTagIO {
    * @since 4.0.0
    */
   public static @NonNull CompoundBinaryTag readCompressedPath(final @NonNull Path path) throws IOException {
-    try(final InputStream is = Files.newInputStream(path)) {
-      return readCompressedInputStream(is);
-    }
+    return readPath(path, Compression.GZIP);
+  }
+
+  /**
+   * Reads a compound tag from {@code path} using GZIP decompression, inflating directly from a read-only memory mapping of the file.
+   *
+   * @param path the path
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readCompressedMappedPath(final @NonNull Path path) throws IOException {
+    return readCompressedInputStream(inputStream(map(path)));
   }
 
   /**
@@ -102,9 +173,116 @@ public final class BinaryTagIO {
    * @since 4.0.0
    */
   public static @NonNull CompoundBinaryTag readCompressedInputStream(final @NonNull InputStream input) throws IOException {
-    try(final DataInputStream dis = new DataInputStream(new BufferedInputStream(new GZIPInputStream(closeShield(input))))) {
-      return readDataInput(dis);
+    return readInputStream(input, Compression.GZIP);
+  }
+
+  /**
+   * Reads compound tags from many paths in parallel, using {@code compression}.
+   *
+   * <p>Each path is read as a separate task on {@code executor}, and its future completes with the tag, or
+   * exceptionally with whatever prevented it from being read. A failure to read one path does not affect the others.</p>
+   *
+   * <p>Reading blocks on file I/O, so an executor with a thread pool sized for that is better suited than the common
+   * {@link java.util.concurrent.ForkJoinPool}.</p>
+   *
+   * @param paths the paths
+   * @param compression the compression
+   * @param executor the executor to read on
+   * @return a future for each distinct path, in the order of {@code paths}
+   * @since 4.1.0
+   */
+  public static @NonNull Map<Path, CompletableFuture<CompoundBinaryTag>> readPaths(final @NonNull Collection<? extends Path> paths, final @NonNull Compression compression, final @NonNull Executor executor) {
+    final Map<Path, CompletableFuture<CompoundBinaryTag>> results = new LinkedHashMap<>();
+    for(final Path path : paths) {
+      if(results.containsKey(path)) continue;
+      final CompletableFuture<CompoundBinaryTag> result = new CompletableFuture<>();
+      results.put(path, result);
+      try {
+        executor.execute(() -> {
+          try {
+            result.complete(readPath(path, compression));
+          } catch(final Throwable ex) {
+            result.completeExceptionally(ex);
+          }
+        });
+      } catch(final RejectedExecutionException ex) {
+        result.completeExceptionally(ex);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Reads compound tags from the files in {@code directory} whose names match {@code glob}, in parallel, using {@code compression}.
+   *
+   * <p>Subdirectories are not searched. For example, {@code readDirectory(playerdata, "*.dat", Compression.GZIP, executor)}
+   * would read every player data file in a world.</p>
+   *
+   * @param directory the directory
+   * @param glob the glob pattern file names must match, as in {@link Files#newDirectoryStream(Path, String)}
+   * @param compression the compression
+   * @param executor the executor to read on
+   * @return a future for each matching file
+   * @throws IOException if the directory could not be listed
+   * @see #readPaths(Collection, Compression, Executor)
+   * @since 4.1.0
+   */
+  public static @NonNull Map<Path, CompletableFuture<CompoundBinaryTag>> readDirectory(final @NonNull Path directory, final @NonNull String glob, final @NonNull Compression compression, final @NonNull Executor executor) throws IOException {
+    final List<Path> paths = new ArrayList<>();
+    try(final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+      for(final Path path : stream) {
+        if(Files.isRegularFile(path)) paths.add(path);
+      }
+    }
+    return readPaths(paths, compression, executor);
+  }
+
+  /**
+   * Reads a compound tag from {@code buffer}, starting at its current position.
+   *
+   * <p>Both heap and direct buffers are supported, and the byte order of {@code buffer} is ignored. On success the
+   * position of {@code buffer} is advanced past the tag, otherwise it is left unchanged.</p>
+   *
+   * @param buffer the buffer
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readByteBuffer(final @NonNull ByteBuffer buffer) throws IOException {
+    return readByteBuffer(buffer, BinaryTagIO::readDataInput);
+  }
+
+  /**
+   * Reads a compound tag from {@code buffer}, starting at its current position, deferring the decoding of nested tags.
+   *
+   * <p>Only the keys and scalar values of the root compound are decoded up front. Nested compounds, lists and arrays
+   * are decoded the first time they are accessed, which makes this well suited to reading a few values out of a
+   * large tag, such as one from {@link #readMappedPath(Path)}'s underlying mapping.</p>
+   *
+   * <p>The returned tag reads from {@code buffer} for as long as it is in use, and array tags within it are views of
+   * {@code buffer} rather than copies, so the contents of the buffer must not be modified in that time. The structure
+   * of the whole tag, including the types and lengths of nested lists, is still validated here, as nested tags are
+   * skipped with the same checks they are read with. Only malformed strings within a nested tag are reported later, as
+   * an {@link java.io.UncheckedIOException}, when that tag is accessed.</p>
+   *
+   * <p>On success the position of {@code buffer} is advanced past the tag, otherwise it is left unchanged.</p>
+   *
+   * @param buffer the buffer
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readLazyByteBuffer(final @NonNull ByteBuffer buffer) throws IOException {
+    final ByteBuffer view = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    final CompoundBinaryTag tag;
+    try {
+      readRootHeader(new ByteBufferDataInput(view));
+      tag = LazyBinaryTagReader.compound(view);
+    } catch(final BufferUnderflowException ex) {
+      throw new EOFException("Reached end of buffer while reading a compound tag");
     }
+    buffer.position(view.position());
+    return tag;
   }
 
   /**
@@ -116,12 +294,183 @@ public final class BinaryTagIO {
    * @since 4.0.0
    */
   public static @NonNull CompoundBinaryTag readDataInput(final @NonNull DataInput input) throws IOException {
+    readRootHeader(input);
+    return BinaryTagTypes.COMPOUND.read(input);
+  }
+
+  /**
+   * Reads a compound tag from an input stream, keeping only the entries on {@code paths}. The stream is not closed afterwards.
+   *
+   * @param input the input stream
+   * @param paths the key paths to keep
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @see #readFilteredDataInput(DataInput, Collection)
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readFilteredInputStream(final @NonNull InputStream input, final @NonNull Collection<? extends List<String>> paths) throws IOException {
+    return readFilteredDataInput(new DataInputStream(closeShield(input)), paths);
+  }
+
+  /**
+   * Reads a compound tag from {@code input}, keeping only the entries on {@code paths}.
+   *
+   * <p>Each path is a list of keys, starting from the root compound tag. The whole of the tag at the end of a path is
+   * kept, along with the compound tags leading to it. Everything else is skipped without being decoded.</p>
+   *
+   * <p>For example, the paths {@code [["Level", "xPos"], ["Level", "zPos"]]} would keep a {@code Level} compound tag
+   * containing only {@code xPos} and {@code zPos}, if they are present.</p>
+   *
+   * @param input the input
+   * @param paths the key paths to keep
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static @NonNull CompoundBinaryTag readFilteredDataInput(final @NonNull DataInput input, final @NonNull Collection<? extends List<String>> paths) throws IOException {
+    readRootHeader(input);
+    return FilteringBinaryTagReader.compound(input, FilteringBinaryTagReader.compile(paths));
+  }
+
+  /**
+   * Reads a compound tag from an input stream, passing it to {@code visitor} instead of building it. The stream is not closed afterwards.
+   *
+   * @param input the input stream
+   * @param visitor the visitor
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static void visitInputStream(final @NonNull InputStream input, final @NonNull BinaryTagVisitor visitor) throws IOException {
+    visitDataInput(new DataInputStream(closeShield(input)), visitor);
+  }
+
+  /**
+   * Reads a compound tag from an input stream using GZIP decompression, passing it to {@code visitor} instead of building it. The stream is not closed afterwards.
+   *
+   * @param input the input stream
+   * @param visitor the visitor
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static void visitCompressedInputStream(final @NonNull InputStream input, final @NonNull BinaryTagVisitor visitor) throws IOException {
+    try(final DataInputStream dis = new DataInputStream(new BufferedInputStream(Compression.GZIP.decompress(closeShield(input))))) {
+      visitDataInput(dis, visitor);
+    }
+  }
+
+  /**
+   * Reads a compound tag from {@code input}, passing it to {@code visitor} instead of building it.
+   *
+   * <p>Any subtrees skipped by {@code visitor} are read past without being decoded.</p>
+   *
+   * @param input the input
+   * @param visitor the visitor
+   * @throws IOException if an exception was encountered while reading a compound tag
+   * @since 4.1.0
+   */
+  public static void visitDataInput(final @NonNull DataInput input, final @NonNull BinaryTagVisitor visitor) throws IOException {
+    readRootHeader(input);
+    VisitingBinaryTagReader.visit(BinaryTagTypes.COMPOUND, input, visitor);
+  }
+
+  /**
+   * Reads a tag of any type from {@code input}, along with its name.
+   *
+   * <p>The root tag of a file is normally an unnamed compound tag, as {@link #readDataInput(DataInput)} expects, but
+   * the format allows a name and any other type of tag. An {@link EndBinaryTag} root has no name, and is given an
+   * empty one.</p>
+   *
+   * @param input the input
+   * @return the name and tag
+   * @throws IOException if an exception was encountered while reading a tag
+   * @since 4.1.0
+   */
+  public static Map.@NonNull Entry<String, BinaryTag> readNamedDataInput(final @NonNull DataInput input) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+    final String name = type == BinaryTagTypes.END ? "" : ModifiedUtf8.read(input);
+    return new AbstractMap.SimpleImmutableEntry<>(name, type.read(input));
+  }
+
+  /**
+   * Reads a tag of any type from {@code buffer}, along with its name, starting at its current position.
+   *
+   * <p>The byte order of {@code buffer} is ignored. On success the position of {@code buffer} is advanced past the tag,
+   * otherwise it is left unchanged.</p>
+   *
+   * @param buffer the buffer
+   * @return the name and tag
+   * @throws IOException if an exception was encountered while reading a tag
+   * @see #readNamedDataInput(DataInput)
+   * @since 4.1.0
+   */
+  public static Map.@NonNull Entry<String, BinaryTag> readNamedByteBuffer(final @NonNull ByteBuffer buffer) throws IOException {
+    return readByteBuffer(buffer, BinaryTagIO::readNamedDataInput);
+  }
+
+  /**
+   * Reads a tag of any type from {@code input}, without a name.
+   *
+   * <p>This is the form used by network protocols, where the type of the root tag is followed directly by its
+   * payload. An {@link EndBinaryTag} root usually stands for no tag at all.</p>
+   *
+   * @param input the input
+   * @return the tag
+   * @throws IOException if an exception was encountered while reading a tag
+   * @since 4.1.0
+   */
+  public static @NonNull BinaryTag readNamelessDataInput(final @NonNull DataInput input) throws IOException {
+    return BinaryTagType.of(input.readByte()).read(input);
+  }
+
+  /**
+   * Reads a tag of any type from {@code buffer}, without a name, starting at its current position.
+   *
+   * <p>The byte order of {@code buffer} is ignored. On success the position of {@code buffer} is advanced past the tag,
+   * otherwise it is left unchanged.</p>
+   *
+   * @param buffer the buffer
+   * @return the tag
+   * @throws IOException if an exception was encountered while reading a tag
+   * @see #readNamelessDataInput(DataInput)
+   * @since 4.1.0
+   */
+  public static @NonNull BinaryTag readNamelessByteBuffer(final @NonNull ByteBuffer buffer) throws IOException {
+    return readByteBuffer(buffer, BinaryTagIO::readNamelessDataInput);
+  }
+
+  /**
+   * Gets a reader which enforces {@code limits} on the tags it reads.
+   *
+   * <p>The other read methods trust the lengths and nesting in their input. Input from untrusted sources, such as
+   * clients, should be read with limits instead, so that a malformed or malicious tag is rejected before it exhausts
+   * memory or the stack.</p>
+   *
+   * @param limits the limits
+   * @return a reader
+   * @since 4.1.0
+   */
+  public static @NonNull Reader reader(final @NonNull Limits limits) {
+    return new LimitedReader(limits);
+  }
+
+  private static <T> T readByteBuffer(final ByteBuffer buffer, final BufferReader<T> reader) throws IOException {
+    final ByteBuffer view = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    final T tag;
+    try {
+      tag = reader.read(new ByteBufferDataInput(view));
+    } catch(final BufferUnderflowException ex) {
+      throw new EOFException("Reached end of buffer while reading a tag");
+    }
+    buffer.position(view.position());
+    return tag;
+  }
+
+  static void readRootHeader(final DataInput input) throws IOException {
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
     if(type != BinaryTagTypes.COMPOUND) {
       throw new IOException(String.format("Expected root tag to be a %s, was %s", BinaryTagTypes.COMPOUND, type));
     }
     input.skipBytes(input.readUnsignedShort()); // read empty name
-    return BinaryTagTypes.COMPOUND.read(input);
   }
 
   /**
@@ -150,6 +499,40 @@ public final class BinaryTagIO {
     writeDataOutput(tag, new DataOutputStream(output));
   }
 
+  /**
+   * Writes a compound tag to {@code path} using {@code compression}.
+   *
+   * @param tag the compound tag
+   * @param path the path
+   * @param compression the compression
+   * @throws IOException if an exception was encountered while writing the compound tag
+   * @since 4.1.0
+   */
+  public static void writePath(final @NonNull CompoundBinaryTag tag, final @NonNull Path path, final @NonNull Compression compression) throws IOException {
+    try(final OutputStream os = new BufferedOutputStream(Files.newOutputStream(path))) {
+      writeOutputStream(tag, os, compression);
+    }
+  }
+
+  /**
+   * Writes a compound tag to an output stream using {@code compression}. The output stream is not closed afterwards.
+   *
+   * @param tag the compound tag
+   * @param output the output stream
+   * @param compression the compression
+   * @throws IOException if an exception was encountered while writing the compound tag
+   * @since 4.1.0
+   */
+  public static void writeOutputStream(final @NonNull CompoundBinaryTag tag, final @NonNull OutputStream output, final @NonNull Compression compression) throws IOException {
+    if(compression == Compression.NONE) {
+      writeOutputStream(tag, output);
+      return;
+    }
+    try(final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(compression.compress(closeShield(output))))) {
+      writeDataOutput(tag, dos);
+    }
+  }
+
   /**
    * Writes a compound tag to {@code path} using GZIP compression.
    *
@@ -159,7 +542,7 @@ public final class BinaryTagIO {
    * @since 4.0.0
    */
   public static void writeCompressedPath(final @NonNull CompoundBinaryTag tag, final @NonNull Path path) throws IOException {
-    writeCompressedOutputStream(tag, Files.newOutputStream(path));
+    writePath(tag, path, Compression.GZIP);
   }
 
   /**
@@ -171,9 +554,22 @@ public final class BinaryTagIO {
    * @since 4.0.0
    */
   public static void writeCompressedOutputStream(final @NonNull CompoundBinaryTag tag, final @NonNull OutputStream output) throws IOException {
-    try(final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(closeShield(output))))) {
-      writeDataOutput(tag, dos);
-    }
+    writeOutputStream(tag, output, Compression.GZIP);
+  }
+
+  /**
+   * Writes a compound tag to {@code buffer}, starting at its current position.
+   *
+   * <p>Both heap and direct buffers are supported, and the byte order of {@code buffer} is ignored. On success the
+   * position of {@code buffer} is advanced past the tag, otherwise it is left unchanged.</p>
+   *
+   * @param tag the compound tag
+   * @param buffer the buffer
+   * @throws IOException if an exception was encountered while writing the compound tag, or {@code buffer} does not have enough space remaining
+   * @since 4.1.0
+   */
+  public static void writeByteBuffer(final @NonNull CompoundBinaryTag tag, final @NonNull ByteBuffer buffer) throws IOException {
+    writeByteBuffer(buffer, output -> writeDataOutput(tag, output));
   }
 
   /**
@@ -189,4 +585,492 @@ public final class BinaryTagIO {
     output.writeUTF(""); // write empty name
     BinaryTagTypes.COMPOUND.write(tag, output);
   }
+
+  /**
+   * Writes a tag of any type to {@code output}, along with a name.
+   *
+   * <p>An {@link EndBinaryTag} is written without its name, which is ignored.</p>
+   *
+   * @param name the name
+   * @param tag the tag
+   * @param output the output
+   * @throws IOException if an exception was encountered while writing the tag
+   * @see #readNamedDataInput(DataInput)
+   * @since 4.1.0
+   */
+  public static void writeNamedDataOutput(final @NonNull String name, final @NonNull BinaryTag tag, final @NonNull DataOutput output) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    output.writeByte(type.id());
+    if(type != BinaryTagTypes.END) {
+      ModifiedUtf8.write(output, name);
+    }
+    BinaryTagType.write(type, tag, output);
+  }
+
+  /**
+   * Writes a tag of any type to {@code buffer}, along with a name, starting at its current position.
+   *
+   * <p>The byte order of {@code buffer} is ignored. On success the position of {@code buffer} is advanced past the tag,
+   * otherwise it is left unchanged.</p>
+   *
+   * @param name the name
+   * @param tag the tag
+   * @param buffer the buffer
+   * @throws IOException if an exception was encountered while writing the tag, or {@code buffer} does not have enough space remaining
+   * @see #writeNamedDataOutput(String, BinaryTag, DataOutput)
+   * @since 4.1.0
+   */
+  public static void writeNamedByteBuffer(final @NonNull String name, final @NonNull BinaryTag tag, final @NonNull ByteBuffer buffer) throws IOException {
+    writeByteBuffer(buffer, output -> writeNamedDataOutput(name, tag, output));
+  }
+
+  /**
+   * Writes a tag of any type to {@code output}, without a name.
+   *
+   * @param tag the tag
+   * @param output the output
+   * @throws IOException if an exception was encountered while writing the tag
+   * @see #readNamelessDataInput(DataInput)
+   * @since 4.1.0
+   */
+  public static void writeNamelessDataOutput(final @NonNull BinaryTag tag, final @NonNull DataOutput output) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    output.writeByte(type.id());
+    BinaryTagType.write(type, tag, output);
+  }
+
+  /**
+   * Writes a tag of any type to {@code buffer}, without a name, starting at its current position.
+   *
+   * <p>The byte order of {@code buffer} is ignored. On success the position of {@code buffer} is advanced past the tag,
+   * otherwise it is left unchanged.</p>
+   *
+   * @param tag the tag
+   * @param buffer the buffer
+   * @throws IOException if an exception was encountered while writing the tag, or {@code buffer} does not have enough space remaining
+   * @see #writeNamelessDataOutput(BinaryTag, DataOutput)
+   * @since 4.1.0
+   */
+  public static void writeNamelessByteBuffer(final @NonNull BinaryTag tag, final @NonNull ByteBuffer buffer) throws IOException {
+    writeByteBuffer(buffer, output -> writeNamelessDataOutput(tag, output));
+  }
+
+  /**
+   * Gets the number of bytes {@link #writeDataOutput(CompoundBinaryTag, DataOutput)} writes for a compound tag, without writing it.
+   *
+   * <p>This can be used to size buffers exactly, or to reject tags that are too large before writing them. Sizes are
+   * cached in compound and list tags, so measuring a tag again, or a tag sharing parts with one already measured, is
+   * cheap.</p>
+   *
+   * @param tag the compound tag
+   * @return the number of bytes
+   * @since 4.1.0
+   */
+  public static long size(final @NonNull CompoundBinaryTag tag) {
+    return sizeNamed("", tag);
+  }
+
+  /**
+   * Gets the number of bytes {@link #writeNamedDataOutput(String, BinaryTag, DataOutput)} writes for a tag, without writing it.
+   *
+   * @param name the name
+   * @param tag the tag
+   * @return the number of bytes
+   * @since 4.1.0
+   */
+  public static long sizeNamed(final @NonNull String name, final @NonNull BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    if(type == BinaryTagTypes.END) return Byte.BYTES;
+    return Byte.BYTES + ModifiedUtf8.size(name) + BinaryTagType.size(type, tag);
+  }
+
+  /**
+   * Gets the number of bytes {@link #writeNamelessDataOutput(BinaryTag, DataOutput)} writes for a tag, without writing it.
+   *
+   * @param tag the tag
+   * @return the number of bytes
+   * @since 4.1.0
+   */
+  public static long sizeNameless(final @NonNull BinaryTag tag) {
+    return Byte.BYTES + BinaryTagType.size(tag.type(), tag);
+  }
+
+  private static void writeByteBuffer(final ByteBuffer buffer, final BufferWriter writer) throws IOException {
+    final ByteBuffer view = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    try {
+      writer.write(new ByteBufferDataOutput(view));
+    } catch(final BufferOverflowException ex) {
+      throw new IOException("Not enough space remaining in buffer to write a tag", ex);
+    }
+    buffer.position(view.position());
+  }
+
+  @FunctionalInterface
+  private interface BufferReader<T> {
+    T read(final DataInput input) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface BufferWriter {
+    void write(final DataOutput output) throws IOException;
+  }
+
+  /**
+   * Reads tags within some {@link Limits}.
+   *
+   * <p>Each read is limited separately.</p>
+   *
+   * @see #reader(Limits)
+   * @since 4.1.0
+   */
+  public interface Reader {
+    /**
+     * Reads a compound tag from {@code path} using {@code compression}.
+     *
+     * <p>The byte limit applies to the decompressed tag.</p>
+     *
+     * @param path the path
+     * @param compression the compression
+     * @return the compound tag
+     * @throws IOException if an exception was encountered while reading a compound tag, or it exceeds the limits
+     * @since 4.1.0
+     */
+    @NonNull CompoundBinaryTag read(final @NonNull Path path, final @NonNull Compression compression) throws IOException;
+
+    /**
+     * Reads a compound tag from an input stream using {@code compression}. The stream is not closed afterwards.
+     *
+     * <p>The byte limit applies to the decompressed tag.</p>
+     *
+     * @param input the input stream
+     * @param compression the compression
+     * @return the compound tag
+     * @throws IOException if an exception was encountered while reading a compound tag, or it exceeds the limits
+     * @since 4.1.0
+     */
+    @NonNull CompoundBinaryTag read(final @NonNull InputStream input, final @NonNull Compression compression) throws IOException;
+
+    /**
+     * Reads a compound tag from {@code buffer}, starting at its current position.
+     *
+     * @param buffer the buffer
+     * @return the compound tag
+     * @throws IOException if an exception was encountered while reading a compound tag, or it exceeds the limits
+     * @see BinaryTagIO#readByteBuffer(ByteBuffer)
+     * @since 4.1.0
+     */
+    @NonNull CompoundBinaryTag read(final @NonNull ByteBuffer buffer) throws IOException;
+
+    /**
+     * Reads a compound tag from {@code input}.
+     *
+     * @param input the input
+     * @return the compound tag
+     * @throws IOException if an exception was encountered while reading a compound tag, or it exceeds the limits
+     * @since 4.1.0
+     */
+    @NonNull CompoundBinaryTag read(final @NonNull DataInput input) throws IOException;
+
+    /**
+     * Reads a tag of any type from {@code input}, along with its name.
+     *
+     * @param input the input
+     * @return the name and tag
+     * @throws IOException if an exception was encountered while reading a tag, or it exceeds the limits
+     * @see BinaryTagIO#readNamedDataInput(DataInput)
+     * @since 4.1.0
+     */
+    Map.@NonNull Entry<String, BinaryTag> readNamed(final @NonNull DataInput input) throws IOException;
+
+    /**
+     * Reads a tag of any type from {@code input}, without a name.
+     *
+     * @param input the input
+     * @return the tag
+     * @throws IOException if an exception was encountered while reading a tag, or it exceeds the limits
+     * @see BinaryTagIO#readNamelessDataInput(DataInput)
+     * @since 4.1.0
+     */
+    @NonNull BinaryTag readNameless(final @NonNull DataInput input) throws IOException;
+  }
+
+  /**
+   * Limits on the tags a {@link Reader} will read.
+   *
+   * <p>For comparison, the vanilla server reads network tags with a limit of 2 MiB, and any tag with a depth limit of
+   * 512.</p>
+   *
+   * @since 4.1.0
+   */
+  public static final class Limits {
+    private static final Limits UNLIMITED = new Limits(new Builder());
+    private final int maxDepth;
+    private final long maxBytes;
+    private final int maxArrayLength;
+
+    private Limits(final Builder builder) {
+      this.maxDepth = builder.maxDepth;
+      this.maxBytes = builder.maxBytes;
+      this.maxArrayLength = builder.maxArrayLength;
+    }
+
+    /**
+     * Gets limits which allow any tag.
+     *
+     * @return no limits
+     * @since 4.1.0
+     */
+    public static @NonNull Limits unlimited() {
+      return UNLIMITED;
+    }
+
+    /**
+     * Creates a builder for limits, which starts with no limits.
+     *
+     * @return a builder
+     * @since 4.1.0
+     */
+    public static @NonNull Builder builder() {
+      return new Builder();
+    }
+
+    /**
+     * Gets the deepest that compound and list tags can be nested, where the root tag is at a depth of {@code 1}.
+     *
+     * @return the maximum depth
+     * @since 4.1.0
+     */
+    public int maxDepth() {
+      return this.maxDepth;
+    }
+
+    /**
+     * Gets the most bytes that can be read for a tag.
+     *
+     * @return the maximum number of bytes
+     * @since 4.1.0
+     */
+    public long maxBytes() {
+      return this.maxBytes;
+    }
+
+    /**
+     * Gets the most elements an array or list tag can have.
+     *
+     * @return the maximum length
+     * @since 4.1.0
+     */
+    public int maxArrayLength() {
+      return this.maxArrayLength;
+    }
+
+    /**
+     * A builder for {@link Limits}.
+     *
+     * @since 4.1.0
+     */
+    public static final class Builder {
+      private int maxDepth = Integer.MAX_VALUE;
+      private long maxBytes = Long.MAX_VALUE;
+      private int maxArrayLength = Integer.MAX_VALUE;
+
+      Builder() {
+      }
+
+      /**
+       * Sets the deepest that compound and list tags can be nested, where the root tag is at a depth of {@code 1}.
+       *
+       * @param maxDepth the maximum depth
+       * @return this builder
+       * @throws IllegalArgumentException if {@code maxDepth} is less than {@code 1}
+       * @since 4.1.0
+       */
+      public @NonNull Builder maxDepth(final int maxDepth) {
+        if(maxDepth < 1) {
+          throw new IllegalArgumentException("Maximum depth must be at least 1, was " + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        return this;
+      }
+
+      /**
+       * Sets the most bytes that can be read for a tag.
+       *
+       * <p>Lengths are checked against the bytes remaining before arrays and lists are allocated, so a tag claiming to
+       * be larger than the limit is rejected without allocating for it.</p>
+       *
+       * @param maxBytes the maximum number of bytes
+       * @return this builder
+       * @throws IllegalArgumentException if {@code maxBytes} is negative
+       * @since 4.1.0
+       */
+      public @NonNull Builder maxBytes(final long maxBytes) {
+        if(maxBytes < 0) {
+          throw new IllegalArgumentException("Maximum bytes must not be negative, was " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        return this;
+      }
+
+      /**
+       * Sets the most elements an array or list tag can have.
+       *
+       * @param maxArrayLength the maximum length
+       * @return this builder
+       * @throws IllegalArgumentException if {@code maxArrayLength} is negative
+       * @since 4.1.0
+       */
+      public @NonNull Builder maxArrayLength(final int maxArrayLength) {
+        if(maxArrayLength < 0) {
+          throw new IllegalArgumentException("Maximum array length must not be negative, was " + maxArrayLength);
+        }
+        this.maxArrayLength = maxArrayLength;
+        return this;
+      }
+
+      /**
+       * Builds the limits.
+       *
+       * @return the limits
+       * @since 4.1.0
+       */
+      public @NonNull Limits build() {
+        return new Limits(this);
+      }
+    }
+  }
+
+  private static final class LimitedReader implements Reader {
+    private final Limits limits;
+
+    LimitedReader(final Limits limits) {
+      this.limits = limits;
+    }
+
+    @Override
+    public @NonNull CompoundBinaryTag read(final @NonNull Path path, final @NonNull Compression compression) throws IOException {
+      try(final InputStream is = new BufferedInputStream(Files.newInputStream(path))) {
+        return this.read(is, compression);
+      }
+    }
+
+    @Override
+    public @NonNull CompoundBinaryTag read(final @NonNull InputStream input, final @NonNull Compression compression) throws IOException {
+      if(compression == Compression.NONE) return this.read(new DataInputStream(closeShield(input)));
+      try(final DataInputStream dis = new DataInputStream(new BufferedInputStream(compression.decompress(closeShield(input))))) {
+        return this.read(dis);
+      }
+    }
+
+    @Override
+    public @NonNull CompoundBinaryTag read(final @NonNull ByteBuffer buffer) throws IOException {
+      return readByteBuffer(buffer, this::read);
+    }
+
+    @Override
+    public @NonNull CompoundBinaryTag read(final @NonNull DataInput input) throws IOException {
+      return readDataInput(new LimitedDataInput(input, this.limits));
+    }
+
+    @Override
+    public Map.@NonNull Entry<String, BinaryTag> readNamed(final @NonNull DataInput input) throws IOException {
+      return readNamedDataInput(new LimitedDataInput(input, this.limits));
+    }
+
+    @Override
+    public @NonNull BinaryTag readNameless(final @NonNull DataInput input) throws IOException {
+      return readNamelessDataInput(new LimitedDataInput(input, this.limits));
+    }
+  }
+
+  /**
+   * A compression format for binary tags.
+   *
+   * <p>The inflaters and deflaters behind each format are pooled per thread. One is taken from the pool when a stream is
+   * opened with {@link #decompress(InputStream)} or {@link #compress(OutputStream)}, and returned when that stream is closed.</p>
+   *
+   * @since 4.1.0
+   */
+  public abstract static class Compression {
+    /**
+     * No compression.
+     *
+     * @since 4.1.0
+     */
+    public static final Compression NONE = new Compressions.None();
+    /**
+     * GZIP compression, as used by standalone files, at the default level.
+     *
+     * @since 4.1.0
+     */
+    public static final Compression GZIP = new Compressions.Gzip(Deflater.DEFAULT_COMPRESSION);
+    /**
+     * Zlib compression, as used by region files and network packets, at the default level.
+     *
+     * @since 4.1.0
+     */
+    public static final Compression ZLIB = new Compressions.Zlib(Deflater.DEFAULT_COMPRESSION);
+
+    Compression() {
+    }
+
+    /**
+     * Gets GZIP compression at {@code level}.
+     *
+     * <p>The level only affects writing.</p>
+     *
+     * @param level the level, from {@code 0} to {@code 9}, or {@code -1} for the default level
+     * @return the compression
+     * @throws IllegalArgumentException if {@code level} is out of range
+     * @since 4.1.0
+     */
+    public static @NonNull Compression gzip(final int level) {
+      return level == Deflater.DEFAULT_COMPRESSION ? GZIP : new Compressions.Gzip(checkLevel(level));
+    }
+
+    /**
+     * Gets zlib compression at {@code level}.
+     *
+     * <p>The level only affects writing.</p>
+     *
+     * @param level the level, from {@code 0} to {@code 9}, or {@code -1} for the default level
+     * @return the compression
+     * @throws IllegalArgumentException if {@code level} is out of range
+     * @since 4.1.0
+     */
+    public static @NonNull Compression zlib(final int level) {
+      return level == Deflater.DEFAULT_COMPRESSION ? ZLIB : new Compressions.Zlib(checkLevel(level));
+    }
+
+    private static int checkLevel(final int level) {
+      if(level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+        throw new IllegalArgumentException(String.format("Compression level must be between %d and %d, was %d", Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION, level));
+      }
+      return level;
+    }
+
+    /**
+     * Opens a stream decompressing from {@code input}.
+     *
+     * <p>Closing the returned stream closes {@code input}.</p>
+     *
+     * @param input the input stream
+     * @return the decompressing stream
+     * @throws IOException if the compression header could not be read
+     * @since 4.1.0
+     */
+    public abstract @NonNull InputStream decompress(final @NonNull InputStream input) throws IOException;
+
+    /**
+     * Opens a stream compressing to {@code output}.
+     *
+     * <p>Closing the returned stream finishes compression and closes {@code output}.</p>
+     *
+     * @param output the output stream
+     * @return the compressing stream
+     * @throws IOException if the compression header could not be written
+     * @since 4.1.0
+     */
+    public abstract @NonNull OutputStream compress(final @NonNull OutputStream output) throws IOException;
+  }
 }
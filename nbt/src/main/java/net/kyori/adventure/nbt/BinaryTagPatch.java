@@ -0,0 +1,108 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import net.kyori.examination.Examinable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The changes made between two compound tags.
+ *
+ * <p>A patch holds the tags that were added, removed and replaced, recursing into compound tags and into list tags
+ * whose element type did not change, so that it only holds the tags that changed. Subtrees are compared by identity
+ * and hash code first, so unchanged parts of large tags are skipped quickly.</p>
+ *
+ * <p>Patches can be written to and read from a binary form, which can be sent instead of the new tag.</p>
+ *
+ * @since 4.1.0
+ */
+public interface BinaryTagPatch extends Examinable {
+  /**
+   * Gets a patch which changes nothing.
+   *
+   * @return an empty patch
+   * @since 4.1.0
+   */
+  static @NonNull BinaryTagPatch empty() {
+    return BinaryTagPatchImpl.EMPTY;
+  }
+
+  /**
+   * Computes the changes made from {@code from} to {@code to}.
+   *
+   * @param from the original tag
+   * @param to the changed tag
+   * @return a patch which turns {@code from} into {@code to}
+   * @since 4.1.0
+   */
+  static @NonNull BinaryTagPatch diff(final @NonNull CompoundBinaryTag from, final @NonNull CompoundBinaryTag to) {
+    return BinaryTagPatchImpl.diff(from, to);
+  }
+
+  /**
+   * Reads a patch written by {@link #write(DataOutput)}.
+   *
+   * @param input the input
+   * @return the patch
+   * @throws IOException if an exception was encountered while reading the patch
+   * @since 4.1.0
+   */
+  static @NonNull BinaryTagPatch read(final @NonNull DataInput input) throws IOException {
+    return BinaryTagPatchImpl.read(input);
+  }
+
+  /**
+   * Checks if this patch changes nothing.
+   *
+   * @return {@code true} if this patch is empty
+   * @since 4.1.0
+   */
+  boolean isEmpty();
+
+  /**
+   * Applies this patch to a tag.
+   *
+   * <p>Parts of {@code tag} which are not changed are shared with the returned tag. Applying a patch to a tag other
+   * than the one it was computed from applies the same changes, as long as the lists being changed are long
+   * enough.</p>
+   *
+   * @param tag the tag
+   * @return the patched tag, or {@code tag} if this patch is empty
+   * @throws IndexOutOfBoundsException if a changed list is shorter than it was when this patch was computed
+   * @since 4.1.0
+   */
+  @NonNull CompoundBinaryTag apply(final @NonNull CompoundBinaryTag tag);
+
+  /**
+   * Writes this patch.
+   *
+   * @param output the output
+   * @throws IOException if an exception was encountered while writing the patch
+   * @since 4.1.0
+   */
+  void write(final @NonNull DataOutput output) throws IOException;
+}
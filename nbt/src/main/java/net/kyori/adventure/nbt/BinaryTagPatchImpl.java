@@ -0,0 +1,412 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/*
+ * The binary form of a patch is:
+ *
+ *   compound patch: int count, then for each change: byte operation, string key, change
+ *   list patch:     int size, int count, then for each change: byte operation, int index, change
+ *
+ * where a change is nothing for REMOVE, a type id and tag for SET, and a nested compound or list patch for
+ * COMPOUND and LIST.
+ */
+final class BinaryTagPatchImpl implements BinaryTagPatch {
+  static final BinaryTagPatchImpl EMPTY = new BinaryTagPatchImpl(Collections.emptyMap());
+  private static final byte REMOVE = 0;
+  private static final byte SET = 1;
+  private static final byte COMPOUND = 2;
+  private static final byte LIST = 3;
+
+  private final Map<String, Change> changes;
+
+  private BinaryTagPatchImpl(final Map<String, Change> changes) {
+    this.changes = changes;
+  }
+
+  static BinaryTagPatchImpl diff(final CompoundBinaryTag from, final CompoundBinaryTag to) {
+    if(same(from, to)) return EMPTY;
+    final Map<String, Change> changes = new LinkedHashMap<>();
+    for(final Map.Entry<String, ? extends BinaryTag> entry : from) {
+      if(to.get(entry.getKey()) == null) {
+        changes.put(entry.getKey(), Remove.INSTANCE);
+      }
+    }
+    for(final Map.Entry<String, ? extends BinaryTag> entry : to) {
+      final /* @Nullable */ BinaryTag previous = from.get(entry.getKey());
+      final /* @Nullable */ Change change = previous == null ? new Set(entry.getValue()) : change(previous, entry.getValue());
+      if(change != null) {
+        changes.put(entry.getKey(), change);
+      }
+    }
+    return changes.isEmpty() ? EMPTY : new BinaryTagPatchImpl(changes);
+  }
+
+  private static @Nullable Change diff(final ListBinaryTag from, final ListBinaryTag to) {
+    if(from.listType() != to.listType()) return new Set(to);
+    final int size = to.size();
+    final int common = Math.min(from.size(), size);
+    int[] indices = new int[Math.min(size, 8)];
+    Change[] changes = new Change[indices.length];
+    int count = 0;
+    int replaced = 0; // once every element is replaced, the whole list may as well be
+    for(int i = 0; i < size; i++) {
+      final /* @Nullable */ Change change = i < common ? change(from.get(i), to.get(i)) : new Set(to.get(i));
+      if(change == null) continue;
+      if(change instanceof Set) replaced++;
+      if(count == indices.length) {
+        indices = Arrays.copyOf(indices, count * 2);
+        changes = Arrays.copyOf(changes, count * 2);
+      }
+      indices[count] = i;
+      changes[count] = change;
+      count++;
+    }
+    if(count == 0 && size == from.size()) return null;
+    if(replaced == size) return new Set(to);
+    return new EditList(size, Arrays.copyOf(indices, count), Arrays.copyOf(changes, count));
+  }
+
+  private static @Nullable Change change(final BinaryTag from, final BinaryTag to) {
+    if(same(from, to)) return null;
+    final BinaryTagType<? extends BinaryTag> type = to.type();
+    if(from.type() == type) {
+      if(type == BinaryTagTypes.COMPOUND) {
+        final BinaryTagPatchImpl patch = diff((CompoundBinaryTag) from, (CompoundBinaryTag) to);
+        return patch.isEmpty() ? null : new EditCompound(patch);
+      } else if(type == BinaryTagTypes.LIST) {
+        return diff((ListBinaryTag) from, (ListBinaryTag) to);
+      }
+    }
+    return new Set(to);
+  }
+
+  // hash codes of compound and list tags are cached, so differing subtrees are usually told apart without visiting them
+  private static boolean same(final BinaryTag a, final BinaryTag b) {
+    return a == b || (a.hashCode() == b.hashCode() && a.equals(b));
+  }
+
+  static BinaryTagPatchImpl read(final DataInput input) throws IOException {
+    final int count = count(input);
+    if(count == 0) return EMPTY;
+    final Map<String, Change> changes = new LinkedHashMap<>();
+    for(int i = 0; i < count; i++) {
+      final byte operation = input.readByte();
+      changes.put(ModifiedUtf8.readKey(input), readChange(operation, input));
+    }
+    return new BinaryTagPatchImpl(changes);
+  }
+
+  private static EditList readList(final DataInput input) throws IOException {
+    final int size = count(input);
+    final int count = count(input);
+    final int[] indices = new int[count];
+    final Change[] changes = new Change[count];
+    for(int i = 0; i < count; i++) {
+      final byte operation = input.readByte();
+      if(operation == REMOVE) {
+        throw new IOException("List patches cannot remove single elements");
+      }
+      indices[i] = input.readInt();
+      changes[i] = readChange(operation, input);
+    }
+    return new EditList(size, indices, changes);
+  }
+
+  private static Change readChange(final byte operation, final DataInput input) throws IOException {
+    switch(operation) {
+      case REMOVE:
+        return Remove.INSTANCE;
+      case SET:
+        final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+        if(type == BinaryTagTypes.END) {
+          throw new IOException("Patches cannot set an end tag");
+        }
+        return new Set(type.read(input));
+      case COMPOUND:
+        return new EditCompound(read(input));
+      case LIST:
+        return readList(input);
+      default:
+        throw new IOException(String.format("Unknown patch operation %d", operation));
+    }
+  }
+
+  private static int count(final DataInput input) throws IOException {
+    final int count = input.readInt();
+    if(count < 0) {
+      throw new IOException(String.format("Negative count %d in patch", count));
+    }
+    return count;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.changes.isEmpty();
+  }
+
+  @Override
+  public @NonNull CompoundBinaryTag apply(final @NonNull CompoundBinaryTag tag) {
+    if(this.changes.isEmpty()) return tag;
+    return tag.edit(this::apply);
+  }
+
+  private void apply(final CompoundBinaryTag.Mutable tag) {
+    for(final Map.Entry<String, Change> entry : this.changes.entrySet()) {
+      entry.getValue().apply(tag, entry.getKey());
+    }
+  }
+
+  @Override
+  public void write(final @NonNull DataOutput output) throws IOException {
+    output.writeInt(this.changes.size());
+    for(final Map.Entry<String, Change> entry : this.changes.entrySet()) {
+      output.writeByte(entry.getValue().operation());
+      ModifiedUtf8.write(output, entry.getKey());
+      entry.getValue().write(output);
+    }
+  }
+
+  @Override
+  public boolean equals(final Object that) {
+    return this == that || (that instanceof BinaryTagPatchImpl && this.changes.equals(((BinaryTagPatchImpl) that).changes));
+  }
+
+  @Override
+  public int hashCode() {
+    return this.changes.hashCode();
+  }
+
+  @Override
+  public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.of(ExaminableProperty.of("changes", Collections.unmodifiableMap(this.changes)));
+  }
+
+  private abstract static class Change implements Examinable {
+    abstract byte operation();
+
+    abstract void apply(final CompoundBinaryTag.Mutable tag, final String key);
+
+    abstract void apply(final ListBinaryTag.Mutable tag, final int index);
+
+    abstract void write(final DataOutput output) throws IOException;
+  }
+
+  private static final class Remove extends Change {
+    static final Remove INSTANCE = new Remove();
+
+    @Override
+    byte operation() {
+      return REMOVE;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.Mutable tag, final String key) {
+      tag.remove(key);
+    }
+
+    @Override
+    void apply(final ListBinaryTag.Mutable tag, final int index) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    void write(final DataOutput output) {
+    }
+  }
+
+  private static final class Set extends Change {
+    private final BinaryTag tag;
+
+    Set(final BinaryTag tag) {
+      this.tag = tag;
+    }
+
+    @Override
+    byte operation() {
+      return SET;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.Mutable tag, final String key) {
+      tag.put(key, this.tag);
+    }
+
+    @Override
+    void apply(final ListBinaryTag.Mutable tag, final int index) {
+      if(index == tag.size()) {
+        tag.add(this.tag);
+      } else {
+        tag.set(index, this.tag);
+      }
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      final BinaryTagType<? extends BinaryTag> type = this.tag.type();
+      output.writeByte(type.id());
+      BinaryTagType.write(type, this.tag, output);
+    }
+
+    @Override
+    public boolean equals(final Object that) {
+      return this == that || (that instanceof Set && this.tag.equals(((Set) that).tag));
+    }
+
+    @Override
+    public int hashCode() {
+      return this.tag.hashCode();
+    }
+
+    @Override
+    public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+      return Stream.of(ExaminableProperty.of("tag", this.tag));
+    }
+  }
+
+  private static final class EditCompound extends Change {
+    private final BinaryTagPatchImpl patch;
+
+    EditCompound(final BinaryTagPatchImpl patch) {
+      this.patch = patch;
+    }
+
+    @Override
+    byte operation() {
+      return COMPOUND;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.Mutable tag, final String key) {
+      tag.editCompound(key, this.patch::apply);
+    }
+
+    @Override
+    void apply(final ListBinaryTag.Mutable tag, final int index) {
+      tag.editCompound(index, this.patch::apply);
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      this.patch.write(output);
+    }
+
+    @Override
+    public boolean equals(final Object that) {
+      return this == that || (that instanceof EditCompound && this.patch.equals(((EditCompound) that).patch));
+    }
+
+    @Override
+    public int hashCode() {
+      return this.patch.hashCode();
+    }
+
+    @Override
+    public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+      return this.patch.examinableProperties();
+    }
+  }
+
+  private static final class EditList extends Change {
+    private final int size;
+    private final int[] indices; // ascending, so that elements past the end are added in order
+    private final Change[] changes;
+
+    EditList(final int size, final int[] indices, final Change[] changes) {
+      this.size = size;
+      this.indices = indices;
+      this.changes = changes;
+    }
+
+    @Override
+    byte operation() {
+      return LIST;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.Mutable tag, final String key) {
+      tag.editList(key, this::apply);
+    }
+
+    @Override
+    void apply(final ListBinaryTag.Mutable tag, final int index) {
+      tag.editList(index, this::apply);
+    }
+
+    private void apply(final ListBinaryTag.Mutable tag) {
+      for(int i = tag.size(); i > this.size; i--) {
+        tag.remove(i - 1);
+      }
+      for(int i = 0; i < this.indices.length; i++) {
+        this.changes[i].apply(tag, this.indices[i]);
+      }
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      output.writeInt(this.size);
+      output.writeInt(this.indices.length);
+      for(int i = 0; i < this.indices.length; i++) {
+        output.writeByte(this.changes[i].operation());
+        output.writeInt(this.indices[i]);
+        this.changes[i].write(output);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object that) {
+      if(this == that) return true;
+      if(!(that instanceof EditList)) return false;
+      final EditList other = (EditList) that;
+      return this.size == other.size && Arrays.equals(this.indices, other.indices) && Arrays.equals(this.changes, other.changes);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * this.size + Arrays.hashCode(this.indices)) + Arrays.hashCode(this.changes);
+    }
+
+    @Override
+    public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+      return Stream.of(
+        ExaminableProperty.of("size", this.size),
+        ExaminableProperty.of("indices", this.indices),
+        ExaminableProperty.of("changes", this.changes)
+      );
+    }
+  }
+}
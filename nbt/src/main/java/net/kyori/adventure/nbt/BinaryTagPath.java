@@ -0,0 +1,102 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+import net.kyori.examination.Examinable;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A compiled NBT path, as used by commands and by NBT components, which selects tags from a tag tree.
+ *
+ * <p>A path is a sequence of nodes, optionally separated by {@code .}:</p>
+ * <ul>
+ *   <li>{@code name} or {@code "quoted name"} selects the named child of a compound tag</li>
+ *   <li>{@code name{...}} selects the named child if it is a compound tag matching the given compound</li>
+ *   <li>{@code {...}}, only as the first node, selects the root tag if it matches the given compound</li>
+ *   <li>{@code []} selects every element of a list or array tag</li>
+ *   <li>{@code [index]} selects one element of a list or array tag, counting from the end if negative</li>
+ *   <li>{@code [{...}]} selects every compound element of a list tag matching the given compound</li>
+ * </ul>
+ *
+ * <p>A tag matches a compound if it holds every tag of the compound, where compounds are matched recursively and
+ * lists match if every element of the given list matches some element of the tag's list.</p>
+ *
+ * <p>Paths are immutable and can be evaluated concurrently. Evaluating a path does not copy or collect the tags it
+ * passes through.</p>
+ *
+ * @since 4.1.0
+ */
+public interface BinaryTagPath extends Examinable {
+  /**
+   * Compiles a path.
+   *
+   * <p>Recently compiled paths are cached, so compiling the same path again is cheap.</p>
+   *
+   * @param path the path
+   * @return the compiled path
+   * @throws IOException if the path is malformed
+   * @since 4.1.0
+   */
+  static @NonNull BinaryTagPath compile(final @NonNull String path) throws IOException {
+    return BinaryTagPathImpl.compile(path);
+  }
+
+  /**
+   * Gets the path this was compiled from.
+   *
+   * @return the path
+   * @since 4.1.0
+   */
+  @NonNull String asString();
+
+  /**
+   * Performs {@code action} on each tag selected by this path from {@code root}, in order.
+   *
+   * @param root the root tag
+   * @param action the action
+   * @since 4.1.0
+   */
+  void forEach(final @NonNull BinaryTag root, final @NonNull Consumer<? super BinaryTag> action);
+
+  /**
+   * Gets the first tag selected by this path from {@code root}, without evaluating the rest of the path.
+   *
+   * @param root the root tag
+   * @return the first selected tag, or {@code null} if no tag is selected
+   * @since 4.1.0
+   */
+  @Nullable BinaryTag first(final @NonNull BinaryTag root);
+
+  /**
+   * Counts the tags selected by this path from {@code root}.
+   *
+   * @param root the root tag
+   * @return the number of selected tags
+   * @since 4.1.0
+   */
+  int count(final @NonNull BinaryTag root);
+}
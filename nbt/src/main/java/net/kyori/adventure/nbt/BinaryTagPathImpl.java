@@ -0,0 +1,369 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import net.kyori.examination.ExaminableProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class BinaryTagPathImpl implements BinaryTagPath {
+  /*
+   * Paths usually come from a small, fixed set of components and commands, so the cache is simply emptied when it
+   * fills up rather than tracking which paths were used least recently.
+   */
+  private static final int CACHE_SIZE = 512;
+  private static final Map<String, BinaryTagPathImpl> CACHE = new ConcurrentHashMap<>();
+  private static final char NODE_SEPARATOR = '.';
+
+  private final String path;
+  private final Node[] nodes;
+
+  private BinaryTagPathImpl(final String path, final Node[] nodes) {
+    this.path = path;
+    this.nodes = nodes;
+  }
+
+  static BinaryTagPathImpl compile(final String path) throws IOException {
+    /* @Nullable */ BinaryTagPathImpl compiled = CACHE.get(path);
+    if(compiled == null) {
+      compiled = parse(path);
+      if(CACHE.size() >= CACHE_SIZE) CACHE.clear();
+      CACHE.put(path, compiled);
+    }
+    return compiled;
+  }
+
+  private static BinaryTagPathImpl parse(final String path) throws StringTagParseException {
+    final CharBuffer buffer = new CharBuffer(path);
+    final TagStringReader reader = new TagStringReader(buffer);
+    final List<Node> nodes = new ArrayList<>();
+    nodes.add(node(buffer, reader, true));
+    while(buffer.hasMore()) {
+      final char c = buffer.peek();
+      if(c != Tokens.ARRAY_BEGIN && c != Tokens.COMPOUND_BEGIN) {
+        if(c != NODE_SEPARATOR) throw buffer.makeError("Expected '" + NODE_SEPARATOR + "' but got '" + c + "'");
+        buffer.take();
+      }
+      nodes.add(node(buffer, reader, false));
+    }
+    return new BinaryTagPathImpl(path, nodes.toArray(new Node[0]));
+  }
+
+  private static Node node(final CharBuffer buffer, final TagStringReader reader, final boolean first) throws StringTagParseException {
+    if(!buffer.hasMore()) throw buffer.makeError("Expected a path node but got EOF");
+    final String name;
+    switch(buffer.peek()) {
+      case Tokens.COMPOUND_BEGIN:
+        if(!first) throw buffer.makeError("A compound can only be matched at the start of a path, or after a name");
+        return new MatchRoot(reader.compound());
+      case Tokens.ARRAY_BEGIN:
+        buffer.take();
+        if(!buffer.hasMore()) throw buffer.makeError("Unterminated element node");
+        if(buffer.peek() == Tokens.COMPOUND_BEGIN) {
+          final CompoundBinaryTag filter = reader.compound();
+          buffer.expect(Tokens.ARRAY_END);
+          return new MatchElement(filter);
+        } else if(buffer.takeIf(Tokens.ARRAY_END)) {
+          return AllElements.INSTANCE;
+        }
+        final int index = index(buffer);
+        buffer.expect(Tokens.ARRAY_END);
+        return new Index(index);
+      case Tokens.DOUBLE_QUOTE:
+      case Tokens.SINGLE_QUOTE:
+        name = quotedName(buffer);
+        break;
+      default:
+        name = unquotedName(buffer);
+        break;
+    }
+    if(buffer.hasMore() && buffer.peek() == Tokens.COMPOUND_BEGIN) {
+      return new MatchChild(name, reader.compound());
+    }
+    return new Child(name);
+  }
+
+  private static String quotedName(final CharBuffer buffer) throws StringTagParseException {
+    final char quote = buffer.take();
+    final StringBuilder builder = new StringBuilder();
+    while(buffer.hasMore()) {
+      final char c = buffer.take();
+      if(c == quote) {
+        return builder.toString();
+      } else if(c == Tokens.ESCAPE_MARKER && buffer.hasMore()) {
+        builder.append(buffer.take());
+      } else {
+        builder.append(c);
+      }
+    }
+    throw buffer.makeError("Unterminated quoted name");
+  }
+
+  private static String unquotedName(final CharBuffer buffer) throws StringTagParseException {
+    final int start = buffer.index();
+    while(buffer.hasMore() && unquoted(buffer.peek())) buffer.advance();
+    final int end = buffer.index();
+    if(start == end) throw buffer.makeError("Expected a name but got '" + buffer.peek() + "'");
+    return buffer.sequence().subSequence(start, end).toString();
+  }
+
+  private static boolean unquoted(final char c) {
+    return c != ' ' && c != NODE_SEPARATOR
+      && c != Tokens.DOUBLE_QUOTE && c != Tokens.SINGLE_QUOTE
+      && c != Tokens.ARRAY_BEGIN && c != Tokens.ARRAY_END
+      && c != Tokens.COMPOUND_BEGIN && c != Tokens.COMPOUND_END;
+  }
+
+  private static int index(final CharBuffer buffer) throws StringTagParseException {
+    buffer.skipWhitespace();
+    final int start = buffer.index();
+    if(buffer.hasMore() && buffer.peek() == '-') buffer.advance();
+    while(buffer.hasMore() && buffer.peek() >= '0' && buffer.peek() <= '9') buffer.advance();
+    final String index = buffer.sequence().subSequence(start, buffer.index()).toString();
+    try {
+      return Integer.parseInt(index);
+    } catch(final NumberFormatException ex) {
+      throw buffer.makeError("Invalid element index '" + index + "'");
+    }
+  }
+
+  @Override
+  public @NonNull String asString() {
+    return this.path;
+  }
+
+  @Override
+  public void forEach(final @NonNull BinaryTag root, final @NonNull Consumer<? super BinaryTag> action) {
+    this.visit(0, root, tag -> {
+      action.accept(tag);
+      return true;
+    });
+  }
+
+  @Override
+  public @Nullable BinaryTag first(final @NonNull BinaryTag root) {
+    final BinaryTag[] first = new BinaryTag[1];
+    this.visit(0, root, tag -> {
+      first[0] = tag;
+      return false;
+    });
+    return first[0];
+  }
+
+  @Override
+  public int count(final @NonNull BinaryTag root) {
+    final int[] count = new int[1];
+    this.visit(0, root, tag -> {
+      count[0]++;
+      return true;
+    });
+    return count[0];
+  }
+
+  /**
+   * Passes the tags selected from {@code tag} by the nodes starting at {@code node} to {@code sink}.
+   *
+   * @param node the index of the first node to evaluate
+   * @param tag the tag
+   * @param sink the sink, which returns {@code false} to stop evaluating
+   * @return {@code false} if the sink stopped evaluating
+   */
+  boolean visit(final int node, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+    if(node == this.nodes.length) return sink.test(tag);
+    return this.nodes[node].visit(this, node + 1, tag, sink);
+  }
+
+  static boolean matches(final BinaryTag expected, final BinaryTag actual) {
+    if(expected == actual) return true;
+    if(expected.type() != actual.type()) return false;
+    if(expected instanceof CompoundBinaryTag) {
+      final CompoundBinaryTag compound = (CompoundBinaryTag) actual;
+      for(final Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) expected) {
+        final /* @Nullable */ BinaryTag value = compound.get(entry.getKey());
+        if(value == null || !matches(entry.getValue(), value)) return false;
+      }
+      return true;
+    } else if(expected instanceof ListBinaryTag) {
+      final ListBinaryTag expectedList = (ListBinaryTag) expected;
+      final ListBinaryTag actualList = (ListBinaryTag) actual;
+      if(expectedList.size() == 0) return actualList.size() == 0;
+      outer:
+      for(int i = 0; i < expectedList.size(); i++) {
+        for(int j = 0; j < actualList.size(); j++) {
+          if(matches(expectedList.get(i), actualList.get(j))) continue outer;
+        }
+        return false;
+      }
+      return true;
+    }
+    return expected.equals(actual);
+  }
+
+  @Override
+  public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.of(ExaminableProperty.of("path", this.path));
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object that) {
+    return this == that || (that instanceof BinaryTagPathImpl && this.path.equals(((BinaryTagPathImpl) that).path));
+  }
+
+  @Override
+  public int hashCode() {
+    return this.path.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return this.path;
+  }
+
+  private abstract static class Node {
+    abstract boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink);
+  }
+
+  private static final class Child extends Node {
+    private final String name;
+
+    Child(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+      if(tag instanceof CompoundBinaryTag) {
+        final /* @Nullable */ BinaryTag child = ((CompoundBinaryTag) tag).get(this.name);
+        if(child != null) return path.visit(next, child, sink);
+      }
+      return true;
+    }
+  }
+
+  private static final class MatchChild extends Node {
+    private final String name;
+    private final CompoundBinaryTag filter;
+
+    MatchChild(final String name, final CompoundBinaryTag filter) {
+      this.name = name;
+      this.filter = filter;
+    }
+
+    @Override
+    boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+      if(tag instanceof CompoundBinaryTag) {
+        final /* @Nullable */ BinaryTag child = ((CompoundBinaryTag) tag).get(this.name);
+        if(child != null && matches(this.filter, child)) return path.visit(next, child, sink);
+      }
+      return true;
+    }
+  }
+
+  private static final class MatchRoot extends Node {
+    private final CompoundBinaryTag filter;
+
+    MatchRoot(final CompoundBinaryTag filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+      return !matches(this.filter, tag) || path.visit(next, tag, sink);
+    }
+  }
+
+  private static final class AllElements extends Node {
+    static final AllElements INSTANCE = new AllElements();
+
+    @Override
+    boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+      final int size = size(tag);
+      for(int i = 0; i < size; i++) {
+        if(!path.visit(next, element(tag, i), sink)) return false;
+      }
+      return true;
+    }
+  }
+
+  private static final class Index extends Node {
+    private final int index;
+
+    Index(final int index) {
+      this.index = index;
+    }
+
+    @Override
+    boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+      final int size = size(tag);
+      final int index = this.index < 0 ? size + this.index : this.index;
+      return index < 0 || index >= size || path.visit(next, element(tag, index), sink);
+    }
+  }
+
+  private static final class MatchElement extends Node {
+    private final CompoundBinaryTag filter;
+
+    MatchElement(final CompoundBinaryTag filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    boolean visit(final BinaryTagPathImpl path, final int next, final BinaryTag tag, final Predicate<? super BinaryTag> sink) {
+      if(tag instanceof ListBinaryTag) {
+        final ListBinaryTag list = (ListBinaryTag) tag;
+        for(int i = 0; i < list.size(); i++) {
+          final BinaryTag element = list.get(i);
+          if(matches(this.filter, element) && !path.visit(next, element, sink)) return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /*
+   * Lists and arrays are the tags with elements. Array elements are boxed into tags one at a time as they are visited.
+   */
+  static int size(final BinaryTag tag) {
+    if(tag instanceof ListBinaryTag) return ((ListBinaryTag) tag).size();
+    if(tag instanceof ByteArrayBinaryTag) return ((ByteArrayBinaryTag) tag).size();
+    if(tag instanceof IntArrayBinaryTag) return ((IntArrayBinaryTag) tag).size();
+    if(tag instanceof LongArrayBinaryTag) return ((LongArrayBinaryTag) tag).size();
+    return 0;
+  }
+
+  static BinaryTag element(final BinaryTag tag, final int index) {
+    if(tag instanceof ListBinaryTag) return ((ListBinaryTag) tag).get(index);
+    if(tag instanceof ByteArrayBinaryTag) return ByteBinaryTag.of(((ByteArrayBinaryTag) tag).get(index));
+    if(tag instanceof IntArrayBinaryTag) return IntBinaryTag.of(((IntArrayBinaryTag) tag).get(index));
+    return LongBinaryTag.of(((LongArrayBinaryTag) tag).get(index));
+  }
+}
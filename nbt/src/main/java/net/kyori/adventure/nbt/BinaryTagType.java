@@ -61,6 +61,15 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
    */
   public abstract @NonNull T read(final @NonNull DataInput input) throws IOException;
 
+  /**
+   * Skips over a tag, without decoding it.
+   *
+   * @param input the input
+   * @throws IOException if an exception was encountered while skipping
+   * @since 4.1.0
+   */
+  public abstract void skip(final @NonNull DataInput input) throws IOException;
+
   /**
    * Writes a tag.
    *
@@ -71,11 +80,27 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
    */
   public abstract void write(final @NonNull T tag, final @NonNull DataOutput output) throws IOException;
 
+  /**
+   * Gets the number of bytes {@link #write(BinaryTag, DataOutput)} writes for a tag, without writing it.
+   *
+   * <p>The sizes of compound and list tags are cached, so they are only computed once.</p>
+   *
+   * @param tag the tag
+   * @return the number of bytes
+   * @since 4.1.0
+   */
+  public abstract long size(final @NonNull T tag);
+
   @SuppressWarnings("unchecked") // HACK: generics suck
   static <T extends BinaryTag> void write(final BinaryTagType<? extends BinaryTag> type, final T tag, final DataOutput output) throws IOException {
     ((BinaryTagType<T>) type).write(tag, output);
   }
 
+  @SuppressWarnings("unchecked") // HACK: generics suck
+  static <T extends BinaryTag> long size(final BinaryTagType<? extends BinaryTag> type, final T tag) {
+    return ((BinaryTagType<T>) type).size(tag);
+  }
+
   static @NonNull BinaryTagType<? extends BinaryTag> of(final byte id) {
     for(int i = 0; i < TYPES.size(); i++) {
       final BinaryTagType<? extends BinaryTag> type = TYPES.get(i);
@@ -86,12 +111,12 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     throw new IllegalArgumentException(String.valueOf(id));
   }
 
-  static <T extends BinaryTag> @NonNull BinaryTagType<T> register(final Class<T> type, final byte id, final Reader<T> reader, final @Nullable Writer<T> writer) {
-    return register(new Impl<>(type, id, reader, writer));
+  static <T extends BinaryTag> @NonNull BinaryTagType<T> register(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final @Nullable Writer<T> writer, final Sizer<T> sizer) {
+    return register(new Impl<>(type, id, reader, skipper, writer, sizer));
   }
 
-  static <T extends NumberBinaryTag> @NonNull BinaryTagType<T> registerNumeric(final Class<T> type, final byte id, final Reader<T> reader, final Writer<T> writer) {
-    return register(new Impl.Numeric<>(type, id, reader, writer));
+  static <T extends NumberBinaryTag> @NonNull BinaryTagType<T> registerNumeric(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final Writer<T> writer, final Sizer<T> sizer) {
+    return register(new Impl.Numeric<>(type, id, reader, skipper, writer, sizer));
   }
 
   private static <T extends BinaryTag, Y extends BinaryTagType<T>> Y register(final Y type) {
@@ -108,6 +133,13 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     @NonNull T read(final @NonNull DataInput input) throws IOException;
   }
 
+  /**
+   * A binary tag skipper.
+   */
+  interface Skipper {
+    void skip(final @NonNull DataInput input) throws IOException;
+  }
+
   /**
    * A binary tag writer.
    *
@@ -117,6 +149,15 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     void write(final @NonNull T tag, final @NonNull DataOutput output) throws IOException;
   }
 
+  /**
+   * A binary tag sizer.
+   *
+   * @param <T> the tag type
+   */
+  interface Sizer<T extends BinaryTag> {
+    long size(final @NonNull T tag);
+  }
+
   @Override
   public boolean test(final BinaryTagType<? extends BinaryTag> that) {
     return this == that || (this.numeric() && that.numeric());
@@ -126,13 +167,17 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     final Class<T> type;
     final byte id;
     private final Reader<T> reader;
+    private final Skipper skipper;
     private final @Nullable Writer<T> writer;
+    private final Sizer<T> sizer;
 
-    Impl(final Class<T> type, final byte id, final Reader<T> reader, final @Nullable Writer<T> writer) {
+    Impl(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final @Nullable Writer<T> writer, final Sizer<T> sizer) {
       this.type = type;
       this.id = id;
       this.reader = reader;
+      this.skipper = skipper;
       this.writer = writer;
+      this.sizer = sizer;
     }
 
     @Override
@@ -140,11 +185,21 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
       return this.reader.read(input);
     }
 
+    @Override
+    public final void skip(final @NonNull DataInput input) throws IOException {
+      this.skipper.skip(input);
+    }
+
     @Override
     public final void write(final @NonNull T tag, final @NonNull DataOutput output) throws IOException {
       if(this.writer != null) this.writer.write(tag, output);
     }
 
+    @Override
+    public final long size(final @NonNull T tag) {
+      return this.sizer.size(tag);
+    }
+
     @Override
     public final byte id() {
       return this.id;
@@ -161,8 +216,8 @@ public abstract class BinaryTagType<T extends BinaryTag> implements Predicate<Bi
     }
 
     static class Numeric<T extends BinaryTag> extends Impl<T> {
-      Numeric(final Class<T> type, final byte id, final Reader<T> reader, final @Nullable Writer<T> writer) {
-        super(type, id, reader, writer);
+      Numeric(final Class<T> type, final byte id, final Reader<T> reader, final Skipper skipper, final @Nullable Writer<T> writer, final Sizer<T> sizer) {
+        super(type, id, reader, skipper, writer, sizer);
       }
 
       @Override
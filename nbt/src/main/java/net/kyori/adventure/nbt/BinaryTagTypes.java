@@ -23,11 +23,17 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static net.kyori.adventure.nbt.IOStreamUtil.skipBytes;
+
 /**
  * All known binary tag types.
  *
@@ -39,43 +45,43 @@ public final class BinaryTagTypes {
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<EndBinaryTag> END = BinaryTagType.register(EndBinaryTag.class, (byte) 0, input -> EndBinaryTag.get(), null); // nothing to write
+  public static final BinaryTagType<EndBinaryTag> END = BinaryTagType.register(EndBinaryTag.class, (byte) 0, input -> EndBinaryTag.get(), input -> {}, null, tag -> 0); // nothing to skip or write
   /**
    * {@link ByteBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<ByteBinaryTag> BYTE = BinaryTagType.registerNumeric(ByteBinaryTag.class, (byte) 1, input -> ByteBinaryTag.of(input.readByte()), (tag, output) -> output.writeByte(tag.value()));
+  public static final BinaryTagType<ByteBinaryTag> BYTE = BinaryTagType.registerNumeric(ByteBinaryTag.class, (byte) 1, input -> ByteBinaryTag.of(input.readByte()), input -> skipBytes(input, Byte.BYTES), (tag, output) -> output.writeByte(tag.value()), tag -> Byte.BYTES);
   /**
    * {@link ShortBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<ShortBinaryTag> SHORT = BinaryTagType.registerNumeric(ShortBinaryTag.class, (byte) 2, input -> ShortBinaryTag.of(input.readShort()), (tag, output) -> output.writeShort(tag.value()));
+  public static final BinaryTagType<ShortBinaryTag> SHORT = BinaryTagType.registerNumeric(ShortBinaryTag.class, (byte) 2, input -> ShortBinaryTag.of(input.readShort()), input -> skipBytes(input, Short.BYTES), (tag, output) -> output.writeShort(tag.value()), tag -> Short.BYTES);
   /**
    * {@link IntBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<IntBinaryTag> INT = BinaryTagType.registerNumeric(IntBinaryTag.class, (byte) 3, input -> IntBinaryTag.of(input.readInt()), (tag, output) -> output.writeInt(tag.value()));
+  public static final BinaryTagType<IntBinaryTag> INT = BinaryTagType.registerNumeric(IntBinaryTag.class, (byte) 3, input -> IntBinaryTag.of(input.readInt()), input -> skipBytes(input, Integer.BYTES), (tag, output) -> output.writeInt(tag.value()), tag -> Integer.BYTES);
   /**
    * {@link LongBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<LongBinaryTag> LONG = BinaryTagType.registerNumeric(LongBinaryTag.class, (byte) 4, input -> LongBinaryTag.of(input.readLong()), (tag, output) -> output.writeLong(tag.value()));
+  public static final BinaryTagType<LongBinaryTag> LONG = BinaryTagType.registerNumeric(LongBinaryTag.class, (byte) 4, input -> LongBinaryTag.of(input.readLong()), input -> skipBytes(input, Long.BYTES), (tag, output) -> output.writeLong(tag.value()), tag -> Long.BYTES);
   /**
    * {@link FloatBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<FloatBinaryTag> FLOAT = BinaryTagType.registerNumeric(FloatBinaryTag.class, (byte) 5, input -> FloatBinaryTag.of(input.readFloat()), (tag, output) -> output.writeFloat(tag.value()));
+  public static final BinaryTagType<FloatBinaryTag> FLOAT = BinaryTagType.registerNumeric(FloatBinaryTag.class, (byte) 5, input -> FloatBinaryTag.of(input.readFloat()), input -> skipBytes(input, Float.BYTES), (tag, output) -> output.writeFloat(tag.value()), tag -> Float.BYTES);
   /**
    * {@link DoubleBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<DoubleBinaryTag> DOUBLE = BinaryTagType.registerNumeric(DoubleBinaryTag.class, (byte) 6, input -> DoubleBinaryTag.of(input.readDouble()), (tag, output) -> output.writeDouble(tag.value()));
+  public static final BinaryTagType<DoubleBinaryTag> DOUBLE = BinaryTagType.registerNumeric(DoubleBinaryTag.class, (byte) 6, input -> DoubleBinaryTag.of(input.readDouble()), input -> skipBytes(input, Double.BYTES), (tag, output) -> output.writeDouble(tag.value()), tag -> Double.BYTES);
   /**
    * {@link ByteArrayBinaryTag}.
    *
@@ -83,20 +89,30 @@ public final class BinaryTagTypes {
    */
   public static final BinaryTagType<ByteArrayBinaryTag> BYTE_ARRAY = BinaryTagType.register(ByteArrayBinaryTag.class, (byte) 7, input -> {
     final int length = input.readInt();
+    final DataInput elements = LimitedDataInput.array(input, length, Byte.BYTES);
+    if(elements instanceof ByteBufferDataInput && ((ByteBufferDataInput) elements).shares()) {
+      return new ByteArrayBinaryTagImpl(((ByteBufferDataInput) elements).slice(length * (long) Byte.BYTES));
+    }
     final byte[] value = new byte[length];
-    input.readFully(value);
-    return ByteArrayBinaryTag.of(value);
-  }, (tag, output) -> {
-    final byte[] value = ByteArrayBinaryTagImpl.value(tag);
-    output.writeInt(value.length);
-    output.write(value);
-  });
+    elements.readFully(value);
+    return new ByteArrayBinaryTagImpl(ByteBuffer.wrap(value));
+  }, input -> skipBytes(input, input.readInt() * (long) Byte.BYTES), (tag, output) -> {
+    final ByteBuffer value = ByteArrayBinaryTagImpl.buffer(tag);
+    output.writeInt(value.remaining());
+    if(output instanceof ByteBufferDataOutput) {
+      ((ByteBufferDataOutput) output).write(value);
+    } else if(value.hasArray()) {
+      output.write(value.array(), value.arrayOffset(), value.remaining());
+    } else {
+      output.write(ByteArrayBinaryTagImpl.value(tag));
+    }
+  }, tag -> Integer.BYTES + tag.size() * (long) Byte.BYTES);
   /**
    * {@link StringBinaryTag}.
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<StringBinaryTag> STRING = BinaryTagType.register(StringBinaryTag.class, (byte) 8, input -> StringBinaryTag.of(input.readUTF()), (tag, output) -> output.writeUTF(tag.value()));
+  public static final BinaryTagType<StringBinaryTag> STRING = BinaryTagType.register(StringBinaryTag.class, (byte) 8, input -> StringBinaryTag.of(ModifiedUtf8.read(input)), input -> skipBytes(input, input.readUnsignedShort()), (tag, output) -> ModifiedUtf8.write(output, tag.value()), tag -> ModifiedUtf8.size(tag.value()));
   /**
    * {@link ListBinaryTag}.
    *
@@ -104,12 +120,21 @@ public final class BinaryTagTypes {
    */
   public static final BinaryTagType<ListBinaryTag> LIST = BinaryTagType.register(ListBinaryTag.class, (byte) 9, input -> {
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
-    final int length = input.readInt();
+    final int length = listLength(type, input);
+    if(type == BinaryTagTypes.END) {
+      return ListBinaryTag.empty();
+    }
+    LimitedDataInput.list(input, length);
+    LimitedDataInput.enter(input);
     final List<BinaryTag> tags = new ArrayList<>(length);
     for(int i = 0; i < length; i++) {
       tags.add(type.read(input));
     }
+    LimitedDataInput.exit(input);
     return ListBinaryTag.of(type, tags);
+  }, input -> {
+    final BinaryTagType<? extends BinaryTag> type = BinaryTagType.of(input.readByte());
+    skipListElements(type, listLength(type, input), input);
   }, (tag, output) -> {
     output.writeByte(tag.listType().id());
     final int size = tag.size();
@@ -117,21 +142,29 @@ public final class BinaryTagTypes {
     for(final BinaryTag item : tag) {
       BinaryTagType.write(item.type(), item, output);
     }
-  });
+  }, ListBinaryTagImpl::size);
   /**
    * {@link CompoundBinaryTag}.
    *
    * @since 4.0.0
    */
   public static final BinaryTagType<CompoundBinaryTag> COMPOUND = BinaryTagType.register(CompoundBinaryTag.class, (byte) 10, input -> {
-    final Map<String, BinaryTag> tags = new HashMap<>();
+    LimitedDataInput.enter(input);
+    final CompactTagMap.Builder tags = new CompactTagMap.Builder();
     BinaryTagType<? extends BinaryTag> type;
     while((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
-      final String key = input.readUTF();
+      final String key = ModifiedUtf8.readKey(input);
       final BinaryTag tag = type.read(input);
       tags.put(key, tag);
     }
-    return new CompoundBinaryTagImpl(tags);
+    LimitedDataInput.exit(input);
+    return new CompoundBinaryTagImpl(tags.build());
+  }, input -> {
+    BinaryTagType<? extends BinaryTag> type;
+    while((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+      skipBytes(input, input.readUnsignedShort()); // key
+      type.skip(input);
+    }
   }, (tag, output) -> {
     for(final Map.Entry<String, ? extends BinaryTag> entry : tag) {
       final BinaryTag value = entry.getValue();
@@ -139,13 +172,13 @@ public final class BinaryTagTypes {
         final BinaryTagType<? extends BinaryTag> type = value.type();
         output.writeByte(type.id());
         if(type != BinaryTagTypes.END) {
-          output.writeUTF(entry.getKey());
+          ModifiedUtf8.write(output, entry.getKey());
           BinaryTagType.write(type, value, output);
         }
       }
     }
     output.writeByte(BinaryTagTypes.END.id());
-  });
+  }, CompoundBinaryTagImpl::size);
   /**
    * {@link IntArrayBinaryTag}.
    *
@@ -153,19 +186,31 @@ public final class BinaryTagTypes {
    */
   public static final BinaryTagType<IntArrayBinaryTag> INT_ARRAY = BinaryTagType.register(IntArrayBinaryTag.class, (byte) 11, input -> {
     final int length = input.readInt();
+    final DataInput elements = LimitedDataInput.array(input, length, Integer.BYTES);
+    if(elements instanceof ByteBufferDataInput && ((ByteBufferDataInput) elements).shares()) {
+      return new IntArrayBinaryTagImpl(((ByteBufferDataInput) elements).slice(length * (long) Integer.BYTES).asIntBuffer());
+    }
     final int[] value = new int[length];
-    for(int i = 0; i < length; i++) {
-      value[i] = input.readInt();
+    if(elements instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) elements).readFully(value);
+    } else {
+      for(int i = 0; i < length; i++) {
+        value[i] = elements.readInt();
+      }
     }
-    return IntArrayBinaryTag.of(value);
-  }, (tag, output) -> {
-    final int[] value = IntArrayBinaryTagImpl.value(tag);
-    final int length = value.length;
+    return new IntArrayBinaryTagImpl(IntBuffer.wrap(value));
+  }, input -> skipBytes(input, input.readInt() * (long) Integer.BYTES), (tag, output) -> {
+    final IntBuffer value = IntArrayBinaryTagImpl.buffer(tag);
+    final int length = value.remaining();
     output.writeInt(length);
-    for(int i = 0; i < length; i++) {
-      output.writeInt(value[i]);
+    if(output instanceof ByteBufferDataOutput) {
+      ((ByteBufferDataOutput) output).write(value);
+    } else {
+      for(int i = 0; i < length; i++) {
+        output.writeInt(value.get(i));
+      }
     }
-  });
+  }, tag -> Integer.BYTES + tag.size() * (long) Integer.BYTES);
   /**
    * {@link LongArrayBinaryTag}.
    *
@@ -173,20 +218,85 @@ public final class BinaryTagTypes {
    */
   public static final BinaryTagType<LongArrayBinaryTag> LONG_ARRAY = BinaryTagType.register(LongArrayBinaryTag.class, (byte) 12, input -> {
     final int length = input.readInt();
+    final DataInput elements = LimitedDataInput.array(input, length, Long.BYTES);
+    if(elements instanceof ByteBufferDataInput && ((ByteBufferDataInput) elements).shares()) {
+      return new LongArrayBinaryTagImpl(((ByteBufferDataInput) elements).slice(length * (long) Long.BYTES).asLongBuffer());
+    }
     final long[] value = new long[length];
-    for(int i = 0; i < length; i++) {
-      value[i] = input.readLong();
+    if(elements instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) elements).readFully(value);
+    } else {
+      for(int i = 0; i < length; i++) {
+        value[i] = elements.readLong();
+      }
     }
-    return LongArrayBinaryTag.of(value);
-  }, (tag, output) -> {
-    final long[] value = LongArrayBinaryTagImpl.value(tag);
-    final int length = value.length;
+    return new LongArrayBinaryTagImpl(LongBuffer.wrap(value));
+  }, input -> skipBytes(input, input.readInt() * (long) Long.BYTES), (tag, output) -> {
+    final LongBuffer value = LongArrayBinaryTagImpl.buffer(tag);
+    final int length = value.remaining();
     output.writeInt(length);
-    for(int i = 0; i < length; i++) {
-      output.writeLong(value[i]);
+    if(output instanceof ByteBufferDataOutput) {
+      ((ByteBufferDataOutput) output).write(value);
+    } else {
+      for(int i = 0; i < length; i++) {
+        output.writeLong(value.get(i));
+      }
     }
-  });
+  }, tag -> Integer.BYTES + tag.size() * (long) Long.BYTES);
 
   private BinaryTagTypes() {
   }
+
+  /**
+   * Reads the length of a list tag, which is read or skipped only if it is valid for the element type.
+   *
+   * @param type the element type
+   * @param input the input
+   * @return the length
+   * @throws IOException if the length is negative, or a list of end tags is not empty
+   */
+  static int listLength(final BinaryTagType<? extends BinaryTag> type, final DataInput input) throws IOException {
+    final int length = input.readInt();
+    if(length < 0) {
+      throw new IOException(String.format("Expected a %s to have a length of at least 0, had %d", BinaryTagTypes.LIST, length));
+    }
+    // empty lists are written with an element type of END
+    if(type == BinaryTagTypes.END && length != 0) {
+      throw new IOException(String.format("Expected a %s with an element type of %s to be empty, had %d elements", BinaryTagTypes.LIST, BinaryTagTypes.END, length));
+    }
+    return length;
+  }
+
+  /**
+   * Skips the elements of a list tag, after its header has been read.
+   *
+   * @param type the element type
+   * @param length the length, as returned by {@link #listLength(BinaryTagType, DataInput)}
+   * @param input the input
+   * @throws IOException if an exception was encountered while skipping
+   */
+  static void skipListElements(final BinaryTagType<? extends BinaryTag> type, final int length, final DataInput input) throws IOException {
+    final int width = fixedWidth(type);
+    if(width != 0) {
+      skipBytes(input, length * (long) width);
+      return;
+    }
+    for(int i = 0; i < length; i++) {
+      type.skip(input);
+    }
+  }
+
+  /**
+   * Gets the number of bytes every tag of a type takes up.
+   *
+   * @param type the type
+   * @return the width, or {@code 0} if tags of the type vary in size
+   */
+  private static int fixedWidth(final BinaryTagType<? extends BinaryTag> type) {
+    if(type == BYTE) return Byte.BYTES;
+    if(type == SHORT) return Short.BYTES;
+    if(type == INT || type == FLOAT) return Integer.BYTES;
+    if(type == LONG || type == DOUBLE) return Long.BYTES;
+    return 0;
+  }
 }
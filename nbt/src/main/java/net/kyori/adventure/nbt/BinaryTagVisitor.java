@@ -0,0 +1,183 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A visitor of binary tags, as they are read.
+ *
+ * <p>Reading with a visitor does not build any tags, and subtrees may be skipped without decoding them, which allows
+ * large inputs to be scanned with constant memory.</p>
+ *
+ * <p>All methods do nothing by default, and all subtrees are visited.</p>
+ *
+ * @see BinaryTagIO#visitDataInput(java.io.DataInput, BinaryTagVisitor)
+ * @since 4.1.0
+ */
+public interface BinaryTagVisitor {
+  /**
+   * Visits the start of a compound tag.
+   *
+   * <p>If the compound tag is skipped, neither its entries nor its end will be visited.</p>
+   *
+   * @return {@code true} to visit the entries of the compound tag, {@code false} to skip it
+   * @since 4.1.0
+   */
+  default boolean visitCompoundStart() {
+    return true;
+  }
+
+  /**
+   * Visits the key of an entry in a compound tag.
+   *
+   * @param key the key
+   * @param type the type of the value
+   * @return {@code true} to visit the value, {@code false} to skip it
+   * @since 4.1.0
+   */
+  default boolean visitKey(final @NonNull String key, final @NonNull BinaryTagType<? extends BinaryTag> type) {
+    return true;
+  }
+
+  /**
+   * Visits the end of a compound tag.
+   *
+   * @since 4.1.0
+   */
+  default void visitCompoundEnd() {
+  }
+
+  /**
+   * Visits the start of a list tag.
+   *
+   * <p>If the list tag is skipped, neither its elements nor its end will be visited.</p>
+   *
+   * @param elementType the type of the elements
+   * @param length the number of elements
+   * @return {@code true} to visit the elements of the list tag, {@code false} to skip it
+   * @since 4.1.0
+   */
+  default boolean visitListStart(final @NonNull BinaryTagType<? extends BinaryTag> elementType, final int length) {
+    return true;
+  }
+
+  /**
+   * Visits the end of a list tag.
+   *
+   * @since 4.1.0
+   */
+  default void visitListEnd() {
+  }
+
+  /**
+   * Visits a byte.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitByte(final byte value) {
+  }
+
+  /**
+   * Visits a short.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitShort(final short value) {
+  }
+
+  /**
+   * Visits an int.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitInt(final int value) {
+  }
+
+  /**
+   * Visits a long.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitLong(final long value) {
+  }
+
+  /**
+   * Visits a float.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitFloat(final float value) {
+  }
+
+  /**
+   * Visits a double.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitDouble(final double value) {
+  }
+
+  /**
+   * Visits a string.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitString(final @NonNull String value) {
+  }
+
+  /**
+   * Visits a byte array.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitByteArray(final byte@NonNull[] value) {
+  }
+
+  /**
+   * Visits an int array.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitIntArray(final int@NonNull[] value) {
+  }
+
+  /**
+   * Visits a long array.
+   *
+   * @param value the value
+   * @since 4.1.0
+   */
+  default void visitLongArray(final long@NonNull[] value) {
+  }
+}
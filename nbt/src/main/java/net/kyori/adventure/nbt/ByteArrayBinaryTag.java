@@ -23,6 +23,8 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -42,6 +44,20 @@ public interface ByteArrayBinaryTag extends BinaryTag {
     return new ByteArrayBinaryTagImpl(value);
   }
 
+  /**
+   * Creates a binary tag holding the remaining bytes of {@code buffer}, without copying them.
+   *
+   * <p>The position of {@code buffer} is not changed. The contents of {@code buffer} must not be modified while the
+   * returned tag is in use.</p>
+   *
+   * @param buffer the buffer
+   * @return a binary tag
+   * @since 4.1.0
+   */
+  static @NonNull ByteArrayBinaryTag wrap(final @NonNull ByteBuffer buffer) {
+    return ByteArrayBinaryTagImpl.wrap(buffer);
+  }
+
   @Override
   default @NonNull BinaryTagType<ByteArrayBinaryTag> type() {
     return BinaryTagTypes.BYTE_ARRAY;
@@ -56,4 +72,54 @@ public interface ByteArrayBinaryTag extends BinaryTag {
    * @since 4.0.0
    */
   byte@NonNull[] value();
+
+  /**
+   * Gets the number of values.
+   *
+   * @return the number of values
+   * @since 4.1.0
+   */
+  int size();
+
+  /**
+   * Gets the value at index {@code index}.
+   *
+   * @param index the index
+   * @return the value
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @since 4.1.0
+   */
+  byte get(final @NonNegative int index);
+
+  /**
+   * Performs {@code action} on each value, in order.
+   *
+   * @param action the action
+   * @since 4.1.0
+   */
+  void forEachByte(final @NonNull ByteConsumer action);
+
+  /**
+   * Gets a read-only view of the values, which does not copy them.
+   *
+   * @return a read-only buffer positioned at the first value
+   * @since 4.1.0
+   */
+  @NonNull ByteBuffer byteBuffer();
+
+  /**
+   * A consumer of {@code byte} values.
+   *
+   * @since 4.1.0
+   */
+  @FunctionalInterface
+  interface ByteConsumer {
+    /**
+     * Accepts a value.
+     *
+     * @param value the value
+     * @since 4.1.0
+     */
+    void accept(final byte value);
+  }
 }
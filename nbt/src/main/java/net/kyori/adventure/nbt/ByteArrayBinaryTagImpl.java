@@ -23,6 +23,7 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.stream.Stream;
 import net.kyori.examination.ExaminableProperty;
@@ -30,20 +31,63 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class ByteArrayBinaryTagImpl implements ByteArrayBinaryTag {
-  final byte[] value;
+  private final ByteBuffer value; // always positioned at the first value, and never moved
 
-  ByteArrayBinaryTagImpl(final byte[] value) {
-    this.value = Arrays.copyOf(value, value.length);
+  ByteArrayBinaryTagImpl(final byte... value) {
+    this(ByteBuffer.wrap(Arrays.copyOf(value, value.length)));
+  }
+
+  ByteArrayBinaryTagImpl(final ByteBuffer value) {
+    this.value = value;
+  }
+
+  static ByteArrayBinaryTag wrap(final ByteBuffer buffer) {
+    return new ByteArrayBinaryTagImpl(buffer.slice());
   }
 
   @Override
   public byte@NonNull[] value() {
-    return Arrays.copyOf(this.value, this.value.length);
+    final byte[] value = new byte[this.value.limit()];
+    this.value.duplicate().get(value);
+    return value;
   }
 
   // to avoid copying array internally
   static byte[] value(final ByteArrayBinaryTag tag) {
-    return (tag instanceof ByteArrayBinaryTagImpl) ? ((ByteArrayBinaryTagImpl) tag).value : tag.value();
+    if(tag instanceof ByteArrayBinaryTagImpl) {
+      final ByteBuffer value = ((ByteArrayBinaryTagImpl) tag).value;
+      if(value.hasArray() && value.arrayOffset() == 0 && value.array().length == value.limit()) {
+        return value.array();
+      }
+    }
+    return tag.value();
+  }
+
+  // to avoid copying buffer internally, the returned buffer may be repositioned
+  static ByteBuffer buffer(final ByteArrayBinaryTag tag) {
+    return (tag instanceof ByteArrayBinaryTagImpl) ? ((ByteArrayBinaryTagImpl) tag).value.duplicate() : ByteBuffer.wrap(tag.value());
+  }
+
+  @Override
+  public int size() {
+    return this.value.limit();
+  }
+
+  @Override
+  public byte get(final int index) {
+    return this.value.get(index);
+  }
+
+  @Override
+  public void forEachByte(final @NonNull ByteConsumer action) {
+    for(int i = 0, size = this.value.limit(); i < size; i++) {
+      action.accept(this.value.get(i));
+    }
+  }
+
+  @Override
+  public @NonNull ByteBuffer byteBuffer() {
+    return this.value.asReadOnlyBuffer();
   }
 
   @Override
@@ -51,16 +95,21 @@ final class ByteArrayBinaryTagImpl implements ByteArrayBinaryTag {
     if(this == other) return true;
     if(other == null || this.getClass() != other.getClass()) return false;
     final ByteArrayBinaryTagImpl that = (ByteArrayBinaryTagImpl) other;
-    return Arrays.equals(this.value, that.value);
+    return this.value.equals(that.value);
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.value);
+    // the same as Arrays.hashCode, which this used to be
+    int hashCode = 1;
+    for(int i = 0, size = this.value.limit(); i < size; i++) {
+      hashCode = 31 * hashCode + Byte.hashCode(this.value.get(i));
+    }
+    return hashCode;
   }
 
   @Override
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
-    return Stream.of(ExaminableProperty.of("value", this.value));
+    return Stream.of(ExaminableProperty.of("value", this.value()));
   }
 }
@@ -49,20 +49,16 @@ public interface ByteBinaryTag extends NumberBinaryTag {
   ByteBinaryTag ONE = new ByteBinaryTagImpl((byte) 1);
 
   /**
-   * Creates a binary tag holding a {@code byte} value.
+   * Gets a binary tag holding a {@code byte} value.
+   *
+   * <p>Tags for every {@code byte} value are cached, so this never creates a new tag.</p>
    *
    * @param value the value
    * @return a binary tag
    * @since 4.0.0
    */
   static @NonNull ByteBinaryTag of(final byte value) {
-    if(value == 0) {
-      return ZERO;
-    } else if(value == 1) {
-      return ONE;
-    } else {
-      return new ByteBinaryTagImpl(value);
-    }
+    return ByteBinaryTagImpl.Cache.TAGS[value - Byte.MIN_VALUE];
   }
 
   @Override
@@ -138,4 +134,21 @@ final class ByteBinaryTagImpl implements ByteBinaryTag {
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
     return Stream.of(ExaminableProperty.of("value", this.value));
   }
+
+  /**
+   * Every {@code byte} value, created along with the first byte tag.
+   */
+  static final class Cache {
+    static final ByteBinaryTag[] TAGS = new ByteBinaryTag[256];
+
+    static {
+      for(int i = 0; i < TAGS.length; i++) {
+        final byte value = (byte) (i + Byte.MIN_VALUE);
+        TAGS[i] = value == 0 ? ByteBinaryTag.ZERO : value == 1 ? ByteBinaryTag.ONE : new ByteBinaryTagImpl(value);
+      }
+    }
+
+    private Cache() {
+    }
+  }
 }
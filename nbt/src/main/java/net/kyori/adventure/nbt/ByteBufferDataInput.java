@@ -0,0 +1,172 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link DataInput} reading directly from a big-endian {@link ByteBuffer}.
+ */
+final class ByteBufferDataInput implements DataInput {
+  private final ByteBuffer buffer;
+  private final boolean shares;
+
+  ByteBufferDataInput(final ByteBuffer buffer) {
+    this(buffer, false);
+  }
+
+  /**
+   * Creates a new input.
+   *
+   * @param buffer the buffer
+   * @param shares whether array tags may be read as slices of {@code buffer}, instead of being copied out of it
+   */
+  ByteBufferDataInput(final ByteBuffer buffer, final boolean shares) {
+    this.buffer = buffer;
+    this.shares = shares;
+  }
+
+  boolean shares() {
+    return this.shares;
+  }
+
+  ByteBuffer slice(final long length) throws IOException {
+    if(length < 0) throw new IOException("Negative length " + length);
+    this.require(length);
+    final ByteBuffer slice = this.buffer.slice();
+    slice.limit((int) length);
+    this.buffer.position(this.buffer.position() + (int) length);
+    return slice;
+  }
+
+  @Override
+  public void readFully(final byte[] b) {
+    this.buffer.get(b);
+  }
+
+  @Override
+  public void readFully(final byte[] b, final int off, final int len) {
+    this.buffer.get(b, off, len);
+  }
+
+  void readFully(final int[] ints) throws EOFException {
+    this.require(ints.length * (long) Integer.BYTES);
+    this.buffer.asIntBuffer().get(ints);
+    this.buffer.position(this.buffer.position() + ints.length * Integer.BYTES);
+  }
+
+  void readFully(final long[] longs) throws EOFException {
+    this.require(longs.length * (long) Long.BYTES);
+    this.buffer.asLongBuffer().get(longs);
+    this.buffer.position(this.buffer.position() + longs.length * Long.BYTES);
+  }
+
+  @Override
+  public int skipBytes(final int n) {
+    final int skipped = Math.max(0, Math.min(n, this.buffer.remaining()));
+    this.buffer.position(this.buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return this.buffer.get() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    return this.buffer.get();
+  }
+
+  @Override
+  public int readUnsignedByte() {
+    return this.buffer.get() & 0xff;
+  }
+
+  @Override
+  public short readShort() {
+    return this.buffer.getShort();
+  }
+
+  @Override
+  public int readUnsignedShort() {
+    return this.buffer.getShort() & 0xffff;
+  }
+
+  @Override
+  public char readChar() {
+    return this.buffer.getChar();
+  }
+
+  @Override
+  public int readInt() {
+    return this.buffer.getInt();
+  }
+
+  @Override
+  public long readLong() {
+    return this.buffer.getLong();
+  }
+
+  @Override
+  public float readFloat() {
+    return this.buffer.getFloat();
+  }
+
+  @Override
+  public double readDouble() {
+    return this.buffer.getDouble();
+  }
+
+  @Override
+  public @Nullable String readLine() {
+    if(!this.buffer.hasRemaining()) return null;
+    final StringBuilder line = new StringBuilder();
+    while(this.buffer.hasRemaining()) {
+      final char c = (char) (this.buffer.get() & 0xff);
+      if(c == '\n') break;
+      if(c == '\r') { // as with DataInputStream, a following \n is part of the same line terminator
+        if(this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') this.buffer.get();
+        break;
+      }
+      line.append(c);
+    }
+    return line.toString();
+  }
+
+  @Override
+  public String readUTF() throws IOException {
+    return ModifiedUtf8.read(this);
+  }
+
+  private void require(final long bytes) throws EOFException {
+    if(this.buffer.remaining() < bytes) {
+      throw new EOFException("Expected " + bytes + " bytes, but only " + this.buffer.remaining() + " remain");
+    }
+  }
+}
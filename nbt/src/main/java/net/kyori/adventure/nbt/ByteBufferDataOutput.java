@@ -0,0 +1,131 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * A {@link DataOutput} writing directly to a big-endian {@link ByteBuffer}.
+ */
+final class ByteBufferDataOutput implements DataOutput {
+  private final ByteBuffer buffer;
+
+  ByteBufferDataOutput(final ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  @Override
+  public void write(final int b) {
+    this.buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(final byte[] b) {
+    this.buffer.put(b);
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) {
+    this.buffer.put(b, off, len);
+  }
+
+  void write(final ByteBuffer bytes) {
+    this.buffer.put(bytes);
+  }
+
+  void write(final IntBuffer ints) {
+    final int length = ints.remaining();
+    this.buffer.asIntBuffer().put(ints);
+    this.buffer.position(this.buffer.position() + length * Integer.BYTES);
+  }
+
+  void write(final LongBuffer longs) {
+    final int length = longs.remaining();
+    this.buffer.asLongBuffer().put(longs);
+    this.buffer.position(this.buffer.position() + length * Long.BYTES);
+  }
+
+  @Override
+  public void writeBoolean(final boolean v) {
+    this.buffer.put((byte) (v ? 1 : 0));
+  }
+
+  @Override
+  public void writeByte(final int v) {
+    this.buffer.put((byte) v);
+  }
+
+  @Override
+  public void writeShort(final int v) {
+    this.buffer.putShort((short) v);
+  }
+
+  @Override
+  public void writeChar(final int v) {
+    this.buffer.putChar((char) v);
+  }
+
+  @Override
+  public void writeInt(final int v) {
+    this.buffer.putInt(v);
+  }
+
+  @Override
+  public void writeLong(final long v) {
+    this.buffer.putLong(v);
+  }
+
+  @Override
+  public void writeFloat(final float v) {
+    this.buffer.putFloat(v);
+  }
+
+  @Override
+  public void writeDouble(final double v) {
+    this.buffer.putDouble(v);
+  }
+
+  @Override
+  public void writeBytes(final String s) {
+    for(int i = 0, length = s.length(); i < length; i++) {
+      this.buffer.put((byte) s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeChars(final String s) {
+    for(int i = 0, length = s.length(); i < length; i++) {
+      this.buffer.putChar(s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeUTF(final String s) throws IOException {
+    ModifiedUtf8.write(this, s);
+  }
+}
@@ -23,15 +23,58 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 /**
  * A character buffer designed to be inspected by a parser.
+ *
+ * <p>A buffer either wraps a whole character sequence, or reads from a {@link Reader} into a sliding window. Indices
+ * are always positions in the whole input. A window only keeps characters from the current position, or from the
+ * last position returned by {@link #index()} until the next token is consumed with {@link #expect(char)} or
+ * {@link #takeIf(char)}, so that ranges starting there can still be read from {@link #sequence()}.</p>
  */
 final class CharBuffer {
+  private static final int WINDOW_SIZE = 8192;
+
   private final CharSequence sequence;
+  private final @Nullable Reader reader;
+  private char[] window;
+  /**
+   * The position of the first character in the window.
+   */
+  private int offset;
+  /**
+   * The position after the last character available, either in the sequence or in the window.
+   */
+  private int length;
+  private int mark = -1;
+  /**
+   * The number of lines and the position of the last line start before {@link #offset}, for error positions.
+   */
+  private int discardedLines;
+  private int discardedLineStart;
   private int index;
 
   CharBuffer(final CharSequence sequence) {
     this.sequence = sequence;
+    this.reader = null;
+    this.length = sequence.length();
+  }
+
+  /**
+   * Create a buffer reading from {@code reader} as the input is inspected.
+   *
+   * <p>Errors reading from {@code reader} are thrown as {@link UncheckedIOException}s.</p>
+   *
+   * @param reader the reader
+   */
+  CharBuffer(final Reader reader) {
+    this.sequence = new Window();
+    this.reader = reader;
+    this.window = new char[WINDOW_SIZE];
   }
 
   /**
@@ -56,17 +99,40 @@ final class CharBuffer {
     return this.sequence.charAt(this.index++);
   }
 
+  /**
+   * Get the underlying character sequence, for reading ranges of it without copying.
+   *
+   * @return the character sequence
+   */
+  public CharSequence sequence() {
+    return this.sequence;
+  }
+
+  /**
+   * Get the current position, which is kept available in {@link #sequence()} until the next token is consumed.
+   *
+   * @return the current position
+   */
+  public int index() {
+    this.mark = this.index;
+    return this.index;
+  }
+
+  public void skip(final int count) {
+    this.index += count;
+  }
+
   public boolean advance() {
     this.index++;
     return this.hasMore();
   }
 
   public boolean hasMore() {
-    return this.index < this.sequence.length();
+    return this.index < this.length || this.fill(this.index);
   }
 
   public boolean hasMore(final int offset) {
-    return this.index + offset < this.sequence.length();
+    return this.index + offset < this.length || this.fill(this.index + offset);
   }
 
   /**
@@ -75,10 +141,22 @@ final class CharBuffer {
    * @param until Case-insensitive token
    * @return the string starting at the current position (inclusive) and going until the location of {@code until}, exclusive
    */
-  public CharSequence takeUntil(char until) throws StringTagParseException {
+  public CharSequence takeUntil(final char until) throws StringTagParseException {
+    final int start = this.index;
+    final int end = this.skipUntil(until);
+    return this.sequence.subSequence(start, end);
+  }
+
+  /**
+   * Search for the provided token, and advance the reader index past the {@code until} character.
+   *
+   * @param until Case-insensitive token
+   * @return the index of {@code until}, which ends the skipped characters
+   */
+  public int skipUntil(char until) throws StringTagParseException {
     until = Character.toLowerCase(until);
     int endIdx = -1;
-    for(int idx = this.index; idx < this.sequence.length(); ++idx) {
+    for(int idx = this.index; idx < this.length || this.fill(idx); ++idx) {
       if(this.sequence.charAt(idx) == Tokens.ESCAPE_MARKER) {
         idx++;
       } else if(Character.toLowerCase(this.sequence.charAt(idx)) == until) {
@@ -90,9 +168,8 @@ final class CharBuffer {
       throw this.makeError("No occurrence of " + until + " was found");
     }
 
-    final CharSequence result = this.sequence.subSequence(this.index, endIdx);
     this.index = endIdx + 1;
-    return result;
+    return endIdx;
   }
 
   /**
@@ -105,6 +182,7 @@ final class CharBuffer {
    * @throws StringTagParseException if EOF or non-matching value is found
    */
   public CharBuffer expect(final char expectedChar) throws StringTagParseException {
+    this.mark = -1;
     this.skipWhitespace();
     if(!this.hasMore()) {
       throw this.makeError("Expected character '" + expectedChar + "' but got EOF");
@@ -125,6 +203,7 @@ final class CharBuffer {
    * @return if the next non-whitespace character is {@code token}
    */
   public boolean takeIf(final char token) {
+    this.mark = -1;
     this.skipWhitespace();
     if(this.hasMore() && this.peek() == token) {
       this.advance();
@@ -139,6 +218,86 @@ final class CharBuffer {
   }
 
   public StringTagParseException makeError(final String message) {
-    return new StringTagParseException(message, this.sequence, this.index);
+    int lines = this.discardedLines;
+    int lineStart = this.discardedLineStart;
+    final int end = Math.min(this.index, this.length);
+    for(int i = this.offset; i < end; i++) {
+      if(this.sequence.charAt(i) == '\n') {
+        lines++;
+        lineStart = i + 1;
+      }
+    }
+    return new StringTagParseException(message, this.index, lines + 1, this.index - lineStart + 1);
+  }
+
+  /**
+   * Read from the reader until the character at {@code position} is available.
+   *
+   * @param position the position to make available
+   * @return whether the character is available, or {@code false} at the end of the input
+   */
+  private boolean fill(final int position) {
+    if(this.reader == null) return false;
+    try {
+      while(position >= this.length) {
+        final int keep = this.mark == -1 ? this.index : Math.min(this.index, this.mark);
+        final int filled = this.length - this.offset;
+        if(filled == this.window.length) {
+          final int discard = keep - this.offset;
+          if(discard > this.window.length / 2) { // slide the window along
+            for(int i = 0; i < discard; i++) {
+              if(this.window[i] == '\n') {
+                this.discardedLines++;
+                this.discardedLineStart = this.offset + i + 1;
+              }
+            }
+            System.arraycopy(this.window, discard, this.window, 0, filled - discard);
+            this.offset = keep;
+          } else { // the range being read takes up most of the window
+            final char[] grown = new char[this.window.length * 2];
+            System.arraycopy(this.window, 0, grown, 0, filled);
+            this.window = grown;
+          }
+        }
+        final int start = this.length - this.offset;
+        final int read = this.reader.read(this.window, start, this.window.length - start);
+        if(read == -1) return false;
+        this.length += read;
+      }
+      return true;
+    } catch(final IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * A view of the characters in the window, indexed by their position in the whole input.
+   */
+  private final class Window implements CharSequence {
+    @Override
+    public int length() {
+      return CharBuffer.this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+      if(index >= CharBuffer.this.length && !CharBuffer.this.fill(index)) {
+        throw new IndexOutOfBoundsException("Position " + index + " is past the end of the input");
+      }
+      return CharBuffer.this.window[index - CharBuffer.this.offset];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+      if(end > CharBuffer.this.length && !CharBuffer.this.fill(end - 1)) {
+        throw new IndexOutOfBoundsException("Position " + end + " is past the end of the input");
+      }
+      return new String(CharBuffer.this.window, start - CharBuffer.this.offset, end - start);
+    }
+
+    @Override
+    public String toString() {
+      return new String(CharBuffer.this.window, 0, CharBuffer.this.length - CharBuffer.this.offset);
+    }
   }
 }
@@ -0,0 +1,260 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable map of a few tags, held in parallel key and tag arrays which are searched linearly.
+ *
+ * <p>Entries are ordered by their hash bits from the lowest up, which is the order a {@link TagTrie} iterates in, so
+ * a compound keeps its iteration order when it grows past {@link #MAX_SIZE} and is converted to a trie. Compounds
+ * that are small enough are not kept in a {@link HashMap} at all, so their order does not depend on how they were built.</p>
+ */
+final class CompactTagMap extends AbstractMap<String, BinaryTag> {
+  static final int MAX_SIZE = 8;
+  private final String[] keys;
+  private final BinaryTag[] tags;
+
+  private CompactTagMap(final String[] keys, final BinaryTag[] tags) {
+    this.keys = keys;
+    this.tags = tags;
+  }
+
+  /**
+   * Gets a compact copy of {@code tags} if it is small enough.
+   *
+   * @param tags the tags, which must not be changed afterwards
+   * @return a compact copy of a small map, or {@code tags} otherwise
+   */
+  static Map<String, BinaryTag> compact(final Map<String, BinaryTag> tags) {
+    if(tags instanceof CompactTagMap || tags.size() > MAX_SIZE) return tags;
+    final Builder builder = new Builder();
+    for(final Entry<String, BinaryTag> entry : tags.entrySet()) {
+      builder.put(entry.getKey(), entry.getValue());
+    }
+    return builder.build();
+  }
+
+  /*
+   * The position of a key in a trie: the hash split into groups of bits from the lowest up, with the lowest group the
+   * most significant.
+   */
+  private static long order(final String key) {
+    final int hash = TagTrie.hash(key);
+    long order = 0;
+    for(int shift = 0; shift < Integer.SIZE; shift += TagTrie.BITS) {
+      order = (order << TagTrie.BITS) | ((hash >>> shift) & TagTrie.MASK);
+    }
+    return order;
+  }
+
+  private int indexOf(final Object key) {
+    for(int i = 0; i < this.keys.length; i++) {
+      if(this.keys[i].equals(key)) return i;
+    }
+    return -1;
+  }
+
+  private int insertionPoint(final long order) {
+    int index = this.keys.length;
+    while(index > 0 && order(this.keys[index - 1]) > order) index--;
+    return index;
+  }
+
+  /**
+   * Gets a map with {@code key} set to {@code tag}, which is converted to a trie if it would grow too large.
+   *
+   * @param key the key
+   * @param tag the tag
+   * @return the map
+   */
+  Map<String, BinaryTag> with(final String key, final BinaryTag tag) {
+    final int existing = this.indexOf(key);
+    if(existing != -1) {
+      if(this.tags[existing] == tag) return this;
+      final BinaryTag[] tags = this.tags.clone();
+      tags[existing] = tag;
+      return new CompactTagMap(this.keys, tags);
+    }
+    if(this.keys.length == MAX_SIZE) return TagTrie.of(this).with(key, tag);
+    final int index = this.insertionPoint(order(key));
+    final String[] keys = new String[this.keys.length + 1];
+    final BinaryTag[] tags = new BinaryTag[this.tags.length + 1];
+    System.arraycopy(this.keys, 0, keys, 0, index);
+    System.arraycopy(this.tags, 0, tags, 0, index);
+    keys[index] = key;
+    tags[index] = tag;
+    System.arraycopy(this.keys, index, keys, index + 1, this.keys.length - index);
+    System.arraycopy(this.tags, index, tags, index + 1, this.tags.length - index);
+    return new CompactTagMap(keys, tags);
+  }
+
+  /**
+   * Gets a map without {@code key}.
+   *
+   * @param key the key
+   * @return the map
+   */
+  CompactTagMap without(final String key) {
+    final int index = this.indexOf(key);
+    if(index == -1) return this;
+    final String[] keys = new String[this.keys.length - 1];
+    final BinaryTag[] tags = new BinaryTag[this.tags.length - 1];
+    System.arraycopy(this.keys, 0, keys, 0, index);
+    System.arraycopy(this.tags, 0, tags, 0, index);
+    System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+    System.arraycopy(this.tags, index + 1, tags, index, tags.length - index);
+    return new CompactTagMap(keys, tags);
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final Object key) {
+    final int index = this.indexOf(key);
+    return index == -1 ? null : this.tags[index];
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.indexOf(key) != -1;
+  }
+
+  @Override
+  public int size() {
+    return this.keys.length;
+  }
+
+  @Override
+  public void forEach(final BiConsumer<? super String, ? super BinaryTag> action) {
+    for(int i = 0; i < this.keys.length; i++) {
+      action.accept(this.keys[i], this.tags[i]);
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    int hashCode = 0;
+    for(int i = 0; i < this.keys.length; i++) {
+      hashCode += this.keys[i].hashCode() ^ this.tags[i].hashCode();
+    }
+    return hashCode;
+  }
+
+  @Override
+  public @NonNull Set<Entry<String, BinaryTag>> entrySet() {
+    return new AbstractSet<Entry<String, BinaryTag>>() {
+      @Override
+      public @NonNull Iterator<Entry<String, BinaryTag>> iterator() {
+        return new Iterator<Entry<String, BinaryTag>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return this.index < CompactTagMap.this.keys.length;
+          }
+
+          @Override
+          public Entry<String, BinaryTag> next() {
+            if(!this.hasNext()) throw new NoSuchElementException();
+            final int index = this.index++;
+            return new SimpleImmutableEntry<>(CompactTagMap.this.keys[index], CompactTagMap.this.tags[index]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return CompactTagMap.this.keys.length;
+      }
+    };
+  }
+
+  /**
+   * Collects tags into a compact map, switching to a {@link HashMap} once there are more than {@link #MAX_SIZE}.
+   *
+   * <p>A builder can keep being used after {@link #build()}.</p>
+   */
+  static final class Builder {
+    private final String[] keys = new String[MAX_SIZE];
+    private final BinaryTag[] tags = new BinaryTag[MAX_SIZE];
+    private int size;
+    private @Nullable Map<String, BinaryTag> hashed;
+    private boolean built; // whether the hashed map is shared with a built map, and must be copied before changing
+
+    void put(final String key, final BinaryTag tag) {
+      if(this.hashed != null) {
+        if(this.built) {
+          this.hashed = new HashMap<>(this.hashed);
+          this.built = false;
+        }
+        this.hashed.put(key, tag);
+        return;
+      }
+      for(int i = 0; i < this.size; i++) {
+        if(this.keys[i].equals(key)) {
+          this.tags[i] = tag;
+          return;
+        }
+      }
+      if(this.size == MAX_SIZE) {
+        final Map<String, BinaryTag> hashed = new HashMap<>();
+        for(int i = 0; i < this.size; i++) {
+          hashed.put(this.keys[i], this.tags[i]);
+        }
+        hashed.put(key, tag);
+        this.hashed = hashed;
+        return;
+      }
+      // insertion sort, as there are only a few entries
+      final long order = order(key);
+      int index = this.size;
+      while(index > 0 && order(this.keys[index - 1]) > order) {
+        this.keys[index] = this.keys[index - 1];
+        this.tags[index] = this.tags[index - 1];
+        index--;
+      }
+      this.keys[index] = key;
+      this.tags[index] = tag;
+      this.size++;
+    }
+
+    Map<String, BinaryTag> build() {
+      if(this.hashed != null) {
+        this.built = true;
+        return this.hashed;
+      }
+      return new CompactTagMap(Arrays.copyOf(this.keys, this.size), Arrays.copyOf(this.tags, this.size));
+    }
+  }
+}
@@ -25,6 +25,7 @@ package net.kyori.adventure.nbt;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -76,6 +77,27 @@ public interface CompoundBinaryTag extends BinaryTag, CompoundTagSetter<Compound
    */
   @Nullable BinaryTag get(final String key);
 
+  /**
+   * Removes a tag.
+   *
+   * @param key the key
+   * @return a compound tag
+   * @since 4.1.0
+   */
+  default @NonNull CompoundBinaryTag remove(final @NonNull String key) {
+    return this.remove(key, null);
+  }
+
+  /**
+   * Removes a tag, optionally providing {@code removedConsumer} with the tag being removed.
+   *
+   * @param key the key
+   * @param removedConsumer a consumer which receives the tag being removed, if there was one
+   * @return a compound tag
+   * @since 4.1.0
+   */
+  @NonNull CompoundBinaryTag remove(final @NonNull String key, final @Nullable Consumer<BinaryTag> removedConsumer);
+
   /**
    * Gets a boolean.
    *
@@ -400,6 +422,18 @@ public interface CompoundBinaryTag extends BinaryTag, CompoundTagSetter<Compound
    */
   long@NonNull[] getLongArray(final @NonNull String key, final long@NonNull[] defaultValue);
 
+  /**
+   * Applies many edits to this compound tag at once.
+   *
+   * <p>The tags are copied at most once, no matter how many edits are made. {@code editor} must not keep the
+   * {@link Mutable} it is given, as it cannot be used after {@code editor} returns.</p>
+   *
+   * @param editor a consumer which makes the edits
+   * @return a compound tag, or this compound tag if no edits were made
+   * @since 4.1.0
+   */
+  @NonNull CompoundBinaryTag edit(final @NonNull Consumer<Mutable> editor);
+
   /**
    * A compound tag builder.
    *
@@ -414,4 +448,50 @@ public interface CompoundBinaryTag extends BinaryTag, CompoundTagSetter<Compound
      */
     @NonNull CompoundBinaryTag build();
   }
+
+  /**
+   * A compound tag being edited.
+   *
+   * @see CompoundBinaryTag#edit(Consumer)
+   * @since 4.1.0
+   */
+  interface Mutable extends CompoundTagSetter<Mutable> {
+    /**
+     * Gets a tag.
+     *
+     * @param key the key
+     * @return a tag
+     * @since 4.1.0
+     */
+    @Nullable BinaryTag get(final @NonNull String key);
+
+    /**
+     * Removes a tag.
+     *
+     * @param key the key
+     * @return this compound tag
+     * @since 4.1.0
+     */
+    @NonNull Mutable remove(final @NonNull String key);
+
+    /**
+     * Edits the compound tag at {@code key}, which is created if there is no compound tag there.
+     *
+     * @param key the key
+     * @param editor a consumer which makes the edits
+     * @return this compound tag
+     * @since 4.1.0
+     */
+    @NonNull Mutable editCompound(final @NonNull String key, final @NonNull Consumer<Mutable> editor);
+
+    /**
+     * Edits the list tag at {@code key}, which is created if there is no list tag there.
+     *
+     * @param key the key
+     * @param editor a consumer which makes the edits
+     * @return this compound tag
+     * @since 4.1.0
+     */
+    @NonNull Mutable editList(final @NonNull String key, final @NonNull Consumer<ListBinaryTag.Mutable> editor);
+  }
 }
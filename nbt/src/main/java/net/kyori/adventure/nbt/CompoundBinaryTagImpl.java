@@ -24,7 +24,6 @@
 package net.kyori.adventure.nbt;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -39,11 +38,11 @@ import static java.util.Objects.requireNonNull;
 final class CompoundBinaryTagImpl implements CompoundBinaryTag {
   static final CompoundBinaryTag EMPTY = new CompoundBinaryTagImpl(Collections.emptyMap());
   private final Map<String, BinaryTag> tags;
-  private final int hashCode;
+  private int hashCode; // computed on demand, as hashing a lazily decoded compound decodes all of it
+  private volatile long size; // the encoded size, computed on first use - volatile so that it is never read half-written
 
   CompoundBinaryTagImpl(final Map<String, BinaryTag> tags) {
-    this.tags = Collections.unmodifiableMap(tags);
-    this.hashCode = tags.hashCode();
+    this.tags = tags;
   }
 
   public boolean contains(final @NonNull String key, final @NonNull BinaryTagType<?> type) {
@@ -63,7 +62,21 @@ final class CompoundBinaryTagImpl implements CompoundBinaryTag {
 
   @Override
   public @NonNull CompoundBinaryTag put(final @NonNull String key, @NonNull final BinaryTag tag) {
-    return this.edit(map -> map.put(key, tag));
+    final Map<String, BinaryTag> tags = CompactTagMap.compact(this.tags);
+    if(tags instanceof CompactTagMap) return new CompoundBinaryTagImpl(((CompactTagMap) tags).with(key, tag));
+    return new CompoundBinaryTagImpl(TagTrie.of(tags).with(key, tag));
+  }
+
+  @Override
+  public @NonNull CompoundBinaryTag remove(final @NonNull String key, final @Nullable Consumer<BinaryTag> removedConsumer) {
+    final /* @Nullable */ BinaryTag tag = this.tags.get(key);
+    if(tag == null) return this;
+    if(removedConsumer != null) {
+      removedConsumer.accept(tag);
+    }
+    final Map<String, BinaryTag> tags = CompactTagMap.compact(this.tags);
+    if(tags instanceof CompactTagMap) return new CompoundBinaryTagImpl(((CompactTagMap) tags).without(key));
+    return new CompoundBinaryTagImpl(TagTrie.of(tags).without(key));
   }
 
   @Override
@@ -197,10 +210,35 @@ final class CompoundBinaryTagImpl implements CompoundBinaryTag {
     return defaultValue;
   }
 
-  private CompoundBinaryTag edit(final Consumer<Map<String, BinaryTag>> consumer) {
-    final Map<String, BinaryTag> tags = new HashMap<>(this.tags);
-    consumer.accept(tags);
-    return new CompoundBinaryTagImpl(tags);
+  static long size(final CompoundBinaryTag tag) {
+    if(!(tag instanceof CompoundBinaryTagImpl)) return computeSize(tag);
+    final CompoundBinaryTagImpl impl = (CompoundBinaryTagImpl) tag;
+    long size = impl.size;
+    if(size == 0) { // never a real size, as there is always an end tag
+      size = computeSize(impl);
+      impl.size = size;
+    }
+    return size;
+  }
+
+  private static long computeSize(final CompoundBinaryTag tag) {
+    long size = Byte.BYTES; // end tag
+    for(final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      final BinaryTag value = entry.getValue();
+      if(value != null) {
+        final BinaryTagType<? extends BinaryTag> type = value.type();
+        size += Byte.BYTES;
+        if(type != BinaryTagTypes.END) {
+          size += ModifiedUtf8.size(entry.getKey()) + BinaryTagType.size(type, value);
+        }
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public @NonNull CompoundBinaryTag edit(final @NonNull Consumer<Mutable> editor) {
+    return CompoundTagMutator.edit(this, this.tags, editor);
   }
 
   @Override
@@ -210,22 +248,27 @@ final class CompoundBinaryTagImpl implements CompoundBinaryTag {
 
   @Override
   public int hashCode() {
-    return this.hashCode;
+    int hashCode = this.hashCode;
+    if(hashCode == 0) {
+      hashCode = this.tags.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 
   @Override
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
-    return Stream.of(ExaminableProperty.of("tags", this.tags));
+    return Stream.of(ExaminableProperty.of("tags", Collections.unmodifiableMap(this.tags)));
   }
 
   @Override
   @SuppressWarnings({"unchecked", "rawtypes"})
   public @NonNull Iterator<Map.Entry<String, ? extends BinaryTag>> iterator() {
-    return (Iterator) this.tags.entrySet().iterator();
+    return (Iterator) Collections.unmodifiableMap(this.tags).entrySet().iterator();
   }
 
   @Override
   public void forEach(final @NonNull Consumer<? super Map.Entry<String, ? extends BinaryTag>> action) {
-    this.tags.entrySet().forEach(requireNonNull(action, "action"));
+    Collections.unmodifiableMap(this.tags).entrySet().forEach(requireNonNull(action, "action"));
   }
 }
@@ -23,18 +23,16 @@
  */
 package net.kyori.adventure.nbt;
 
-import java.util.HashMap;
-import java.util.Map;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 final class CompoundTagBuilder implements CompoundBinaryTag.Builder {
-  private @MonotonicNonNull Map<String, BinaryTag> tags;
+  private CompactTagMap.@MonotonicNonNull Builder tags;
 
   @Override
   public CompoundBinaryTag.@NonNull Builder put(final @NonNull String key, @NonNull final BinaryTag tag) {
     if(this.tags == null) {
-      this.tags = new HashMap<>();
+      this.tags = new CompactTagMap.Builder();
     }
     this.tags.put(key, tag);
     return this;
@@ -43,6 +41,6 @@ final class CompoundTagBuilder implements CompoundBinaryTag.Builder {
   @Override
   public @NonNull CompoundBinaryTag build() {
     if(this.tags == null) return CompoundBinaryTag.empty();
-    return new CompoundBinaryTagImpl(new HashMap<>(this.tags));
+    return new CompoundBinaryTagImpl(this.tags.build());
   }
 }
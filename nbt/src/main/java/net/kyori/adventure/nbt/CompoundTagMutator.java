@@ -0,0 +1,102 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class CompoundTagMutator implements CompoundBinaryTag.Mutable {
+  private @Nullable Map<String, BinaryTag> original;
+  private @Nullable Map<String, BinaryTag> tags; // copied from the original on the first edit
+
+  private CompoundTagMutator(final Map<String, BinaryTag> original) {
+    this.original = original;
+  }
+
+  static CompoundBinaryTag edit(final CompoundBinaryTag tag, final Map<String, BinaryTag> tags, final Consumer<CompoundBinaryTag.Mutable> editor) {
+    final CompoundTagMutator mutator = new CompoundTagMutator(tags);
+    editor.accept(mutator);
+    final /* @Nullable */ Map<String, BinaryTag> edited = mutator.tags;
+    mutator.original = null;
+    mutator.tags = null;
+    return edited == null ? tag : new CompoundBinaryTagImpl(CompactTagMap.compact(edited));
+  }
+
+  private Map<String, BinaryTag> read() {
+    if(this.tags != null) return this.tags;
+    if(this.original == null) throw new IllegalStateException("Cannot use a " + CompoundBinaryTag.Mutable.class.getSimpleName() + " after its edit has finished");
+    return this.original;
+  }
+
+  private Map<String, BinaryTag> write() {
+    if(this.tags == null) {
+      this.tags = new HashMap<>(this.read());
+    }
+    return this.tags;
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final @NonNull String key) {
+    return this.read().get(key);
+  }
+
+  @Override
+  public CompoundBinaryTag.@NonNull Mutable put(final @NonNull String key, final @NonNull BinaryTag tag) {
+    this.write().put(key, tag);
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NonNull Mutable remove(final @NonNull String key) {
+    if(this.read().containsKey(key)) {
+      this.write().remove(key);
+    }
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NonNull Mutable editCompound(final @NonNull String key, final @NonNull Consumer<CompoundBinaryTag.Mutable> editor) {
+    final /* @Nullable */ BinaryTag tag = this.read().get(key);
+    final CompoundBinaryTag compound = tag instanceof CompoundBinaryTag ? (CompoundBinaryTag) tag : CompoundBinaryTag.empty();
+    final CompoundBinaryTag edited = compound.edit(editor);
+    if(edited != tag) {
+      this.write().put(key, edited);
+    }
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NonNull Mutable editList(final @NonNull String key, final @NonNull Consumer<ListBinaryTag.Mutable> editor) {
+    final /* @Nullable */ BinaryTag tag = this.read().get(key);
+    final ListBinaryTag list = tag instanceof ListBinaryTag ? (ListBinaryTag) tag : ListBinaryTag.empty();
+    final ListBinaryTag edited = list.edit(editor);
+    if(edited != tag) {
+      this.write().put(key, edited);
+    }
+    return this;
+  }
+}
@@ -0,0 +1,322 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+final class Compressions {
+  private static final int BUFFER_SIZE = 512;
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int GZIP_DEFLATE = 8;
+  private static final int GZIP_FHCRC = 2;
+  private static final int GZIP_FEXTRA = 4;
+  private static final int GZIP_FNAME = 8;
+  private static final int GZIP_FCOMMENT = 16;
+  // magic, deflate, no flags, no modification time, no extra flags, and an unknown operating system
+  private static final byte[] GZIP_HEADER = {(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), GZIP_DEFLATE, 0, 0, 0, 0, 0, 0, (byte) 255};
+  private static final int LEVELS = Deflater.BEST_COMPRESSION - Deflater.DEFAULT_COMPRESSION + 1;
+
+  // each thread keeps at most one idle inflater or deflater of each kind - streams nested on the same thread create their own
+  private static final ThreadLocal<Inflater[]> INFLATERS = ThreadLocal.withInitial(() -> new Inflater[2]);
+  private static final ThreadLocal<Deflater[]> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[2 * LEVELS]);
+
+  private Compressions() {
+  }
+
+  static final class None extends BinaryTagIO.Compression {
+    @Override
+    public @NonNull InputStream decompress(final @NonNull InputStream input) {
+      return input;
+    }
+
+    @Override
+    public @NonNull OutputStream compress(final @NonNull OutputStream output) {
+      return output;
+    }
+
+    @Override
+    public String toString() {
+      return "Compression.NONE";
+    }
+  }
+
+  static final class Gzip extends BinaryTagIO.Compression {
+    private final int level;
+
+    Gzip(final int level) {
+      this.level = level;
+    }
+
+    @Override
+    public @NonNull InputStream decompress(final @NonNull InputStream input) throws IOException {
+      readGzipHeader(input);
+      return new GzipInputStream(input, acquireInflater(true));
+    }
+
+    @Override
+    public @NonNull OutputStream compress(final @NonNull OutputStream output) throws IOException {
+      output.write(GZIP_HEADER);
+      return new GzipOutputStream(output, acquireDeflater(this.level, true), this.level);
+    }
+
+    @Override
+    public String toString() {
+      return "Compression.gzip(" + this.level + ")";
+    }
+  }
+
+  static final class Zlib extends BinaryTagIO.Compression {
+    private final int level;
+
+    Zlib(final int level) {
+      this.level = level;
+    }
+
+    @Override
+    public @NonNull InputStream decompress(final @NonNull InputStream input) {
+      return new PooledInflaterInputStream(input, acquireInflater(false), false);
+    }
+
+    @Override
+    public @NonNull OutputStream compress(final @NonNull OutputStream output) {
+      return new PooledDeflaterOutputStream(output, acquireDeflater(this.level, false), this.level, false);
+    }
+
+    @Override
+    public String toString() {
+      return "Compression.zlib(" + this.level + ")";
+    }
+  }
+
+  static Inflater acquireInflater(final boolean nowrap) {
+    final Inflater[] idle = INFLATERS.get();
+    final int slot = nowrap ? 1 : 0;
+    final Inflater inflater = idle[slot];
+    if(inflater == null) return new Inflater(nowrap);
+    idle[slot] = null;
+    return inflater;
+  }
+
+  static void releaseInflater(final Inflater inflater, final boolean nowrap) {
+    final Inflater[] idle = INFLATERS.get();
+    final int slot = nowrap ? 1 : 0;
+    if(idle[slot] == null) {
+      inflater.reset();
+      idle[slot] = inflater;
+    } else {
+      inflater.end();
+    }
+  }
+
+  static Deflater acquireDeflater(final int level, final boolean nowrap) {
+    final Deflater[] idle = DEFLATERS.get();
+    final int slot = deflaterSlot(level, nowrap);
+    final Deflater deflater = idle[slot];
+    if(deflater == null) return new Deflater(level, nowrap);
+    idle[slot] = null;
+    return deflater;
+  }
+
+  static void releaseDeflater(final Deflater deflater, final int level, final boolean nowrap) {
+    final Deflater[] idle = DEFLATERS.get();
+    final int slot = deflaterSlot(level, nowrap);
+    if(idle[slot] == null) {
+      deflater.reset();
+      idle[slot] = deflater;
+    } else {
+      deflater.end();
+    }
+  }
+
+  private static int deflaterSlot(final int level, final boolean nowrap) {
+    return (level - Deflater.DEFAULT_COMPRESSION) * 2 + (nowrap ? 1 : 0);
+  }
+
+  // RFC 1952, section 2.3
+  private static void readGzipHeader(final InputStream input) throws IOException {
+    final CRC32 crc = new CRC32();
+    if(readUnsignedShortLE(input, crc) != GZIP_MAGIC) throw new ZipException("Not in GZIP format");
+    if(readUnsignedByte(input, crc) != GZIP_DEFLATE) throw new ZipException("Unsupported GZIP compression method");
+    final int flags = readUnsignedByte(input, crc);
+    for(int i = 0; i < 6; i++) readUnsignedByte(input, crc); // modification time, extra flags and operating system
+    if((flags & GZIP_FEXTRA) != 0) {
+      for(int i = readUnsignedShortLE(input, crc); i > 0; i--) readUnsignedByte(input, crc);
+    }
+    if((flags & GZIP_FNAME) != 0) skipZeroTerminated(input, crc);
+    if((flags & GZIP_FCOMMENT) != 0) skipZeroTerminated(input, crc);
+    if((flags & GZIP_FHCRC) != 0) {
+      final int expected = (int) crc.getValue() & 0xffff;
+      if(readUnsignedShortLE(input, crc) != expected) throw new ZipException("Corrupt GZIP header");
+    }
+  }
+
+  private static int readUnsignedByte(final InputStream input, final CRC32 crc) throws IOException {
+    final int b = input.read();
+    if(b < 0) throw new EOFException();
+    crc.update(b);
+    return b;
+  }
+
+  private static int readUnsignedShortLE(final InputStream input, final CRC32 crc) throws IOException {
+    return readUnsignedByte(input, crc) | readUnsignedByte(input, crc) << 8;
+  }
+
+  private static void skipZeroTerminated(final InputStream input, final CRC32 crc) throws IOException {
+    int b;
+    do {
+      b = readUnsignedByte(input, crc);
+    } while(b != 0);
+  }
+
+  private static long readUnsignedIntLE(final InputStream input) throws IOException {
+    long value = 0;
+    for(int i = 0; i < Integer.BYTES; i++) {
+      final int b = input.read();
+      if(b < 0) throw new EOFException();
+      value |= (long) b << (i * 8);
+    }
+    return value;
+  }
+
+  private static void writeIntLE(final byte[] bytes, final int offset, final int value) {
+    for(int i = 0; i < Integer.BYTES; i++) {
+      bytes[offset + i] = (byte) (value >> (i * 8));
+    }
+  }
+
+  static class PooledInflaterInputStream extends InflaterInputStream {
+    private final boolean nowrap;
+    private boolean closed;
+
+    PooledInflaterInputStream(final InputStream input, final Inflater inflater, final boolean nowrap) {
+      super(input, inflater, BUFFER_SIZE);
+      this.nowrap = nowrap;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(this.closed) return;
+      this.closed = true;
+      try {
+        super.close(); // leaves the inflater alone, as we supplied it
+      } finally {
+        releaseInflater(this.inf, this.nowrap);
+      }
+    }
+  }
+
+  static final class GzipInputStream extends PooledInflaterInputStream {
+    private final CRC32 crc = new CRC32();
+    private boolean eos;
+
+    GzipInputStream(final InputStream input, final Inflater inflater) {
+      super(input, inflater, true);
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      if(this.eos) return -1;
+      final int read = super.read(b, off, len);
+      if(read == -1) {
+        this.eos = true;
+        this.readTrailer();
+      } else {
+        this.crc.update(b, off, read);
+      }
+      return read;
+    }
+
+    private void readTrailer() throws IOException {
+      // the inflater may have been handed more input than the deflate stream needed, which is the start of the trailer
+      final int remaining = this.inf.getRemaining();
+      final InputStream trailer = remaining > 0 ? new SequenceInputStream(new ByteArrayInputStream(this.buf, this.len - remaining, remaining), this.in) : this.in;
+      final long crc = readUnsignedIntLE(trailer);
+      final long size = readUnsignedIntLE(trailer);
+      if(crc != this.crc.getValue() || size != (this.inf.getBytesWritten() & 0xffffffffL)) {
+        throw new ZipException("Corrupt GZIP trailer");
+      }
+    }
+  }
+
+  static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+    private final int level;
+    private final boolean nowrap;
+    private boolean closed;
+
+    PooledDeflaterOutputStream(final OutputStream output, final Deflater deflater, final int level, final boolean nowrap) {
+      super(output, deflater, BUFFER_SIZE);
+      this.level = level;
+      this.nowrap = nowrap;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(this.closed) return;
+      this.closed = true;
+      try {
+        super.close(); // leaves the deflater alone, as we supplied it
+      } finally {
+        releaseDeflater(this.def, this.level, this.nowrap);
+      }
+    }
+  }
+
+  static final class GzipOutputStream extends PooledDeflaterOutputStream {
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+
+    GzipOutputStream(final OutputStream output, final Deflater deflater, final int level) {
+      super(output, deflater, level, true);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+      super.write(b, off, len);
+      this.crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      super.finish();
+      if(this.finished) return;
+      this.finished = true;
+      final byte[] trailer = new byte[2 * Integer.BYTES];
+      writeIntLE(trailer, 0, (int) this.crc.getValue());
+      writeIntLE(trailer, Integer.BYTES, (int) this.def.getBytesRead());
+      this.out.write(trailer);
+    }
+  }
+}
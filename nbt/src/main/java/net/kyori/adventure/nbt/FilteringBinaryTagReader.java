@@ -0,0 +1,79 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads compound tags from a {@link DataInput}, keeping only the entries on a set of key paths and skipping the rest.
+ */
+final class FilteringBinaryTagReader {
+  private FilteringBinaryTagReader() {
+  }
+
+  static Node compile(final Collection<? extends List<String>> paths) {
+    final Node root = new Node();
+    for(final List<String> path : paths) {
+      Node node = root;
+      for(final String key : path) {
+        if(node.all) break;
+        node = node.children.computeIfAbsent(key, k -> new Node());
+      }
+      node.all = true;
+      node.children.clear();
+    }
+    return root;
+  }
+
+  static CompoundBinaryTag compound(final DataInput input, final Node node) throws IOException {
+    if(node.all) return BinaryTagTypes.COMPOUND.read(input); // only reachable at the root, through an empty path
+    final CompactTagMap.Builder tags = new CompactTagMap.Builder();
+    BinaryTagType<? extends BinaryTag> type;
+    while((type = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+      final String key = ModifiedUtf8.readKey(input);
+      final /* @Nullable */ Node child = node.children.get(key);
+      if(child != null && child.all) {
+        tags.put(key, type.read(input));
+      } else if(child != null && type == BinaryTagTypes.COMPOUND) {
+        tags.put(key, compound(input, child));
+      } else {
+        type.skip(input);
+      }
+    }
+    return new CompoundBinaryTagImpl(tags.build());
+  }
+
+  /**
+   * A node in a tree of key paths.
+   */
+  static final class Node {
+    final Map<String, Node> children = new HashMap<>();
+    boolean all; // keep everything below this node
+  }
+}
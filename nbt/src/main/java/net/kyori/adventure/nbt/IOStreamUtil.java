@@ -23,9 +23,14 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.DataInput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 final class IOStreamUtil {
   private IOStreamUtil() {
@@ -68,4 +73,60 @@ final class IOStreamUtil {
       }
     };
   }
+
+  static InputStream inputStream(final ByteBuffer buffer) {
+    return new InputStream() {
+      @Override
+      public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+      }
+
+      @Override
+      public int read(final byte[] b, final int off, final int len) {
+        if(len == 0) return 0;
+        if(!buffer.hasRemaining()) return -1;
+        final int read = Math.min(len, buffer.remaining());
+        buffer.get(b, off, read);
+        return read;
+      }
+
+      @Override
+      public long skip(final long n) {
+        final int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+      }
+
+      @Override
+      public int available() {
+        return buffer.remaining();
+      }
+    };
+  }
+
+  // DataInput.skipBytes may skip fewer bytes than requested without being at the end, and never reports the end itself
+  static void skipBytes(final DataInput input, final long bytes) throws IOException {
+    if(bytes < 0) throw new IOException("Cannot skip a negative number of bytes: " + bytes);
+    long remaining = bytes;
+    while(remaining > 0) {
+      final int skipped = input.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+      if(skipped > 0) {
+        remaining -= skipped;
+      } else {
+        input.readByte(); // throws at the end of the input
+        remaining--;
+      }
+    }
+  }
+
+  // the mapping remains valid after the channel has been closed
+  static ByteBuffer map(final Path path) throws IOException {
+    try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if(size > Integer.MAX_VALUE) {
+        throw new IOException(String.format("Cannot map %s, it is larger than %d bytes", path, Integer.MAX_VALUE));
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
 }
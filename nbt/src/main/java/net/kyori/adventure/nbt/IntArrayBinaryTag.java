@@ -23,6 +23,10 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.function.IntConsumer;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -42,6 +46,21 @@ public interface IntArrayBinaryTag extends BinaryTag {
     return new IntArrayBinaryTagImpl(value);
   }
 
+  /**
+   * Creates a binary tag holding the remaining bytes of {@code buffer} as {@code int} values, without copying them.
+   *
+   * <p>The values are read in the byte order of {@code buffer}, and the position of {@code buffer} is not changed. The
+   * contents of {@code buffer} must not be modified while the returned tag is in use.</p>
+   *
+   * @param buffer the buffer
+   * @return a binary tag
+   * @throws IllegalArgumentException if the number of remaining bytes is not a multiple of {@value Integer#BYTES}
+   * @since 4.1.0
+   */
+  static @NonNull IntArrayBinaryTag wrap(final @NonNull ByteBuffer buffer) {
+    return IntArrayBinaryTagImpl.wrap(buffer);
+  }
+
   @Override
   default @NonNull BinaryTagType<IntArrayBinaryTag> type() {
     return BinaryTagTypes.INT_ARRAY;
@@ -56,4 +75,38 @@ public interface IntArrayBinaryTag extends BinaryTag {
    * @since 4.0.0
    */
   int@NonNull[] value();
+
+  /**
+   * Gets the number of values.
+   *
+   * @return the number of values
+   * @since 4.1.0
+   */
+  int size();
+
+  /**
+   * Gets the value at index {@code index}.
+   *
+   * @param index the index
+   * @return the value
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @since 4.1.0
+   */
+  int get(final @NonNegative int index);
+
+  /**
+   * Performs {@code action} on each value, in order.
+   *
+   * @param action the action
+   * @since 4.1.0
+   */
+  void forEachInt(final @NonNull IntConsumer action);
+
+  /**
+   * Gets a read-only view of the values, which does not copy them.
+   *
+   * @return a read-only buffer positioned at the first value
+   * @since 4.1.0
+   */
+  @NonNull IntBuffer intBuffer();
 }
@@ -23,27 +23,76 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
+import java.util.function.IntConsumer;
 import java.util.stream.Stream;
 import net.kyori.examination.ExaminableProperty;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class IntArrayBinaryTagImpl implements IntArrayBinaryTag {
-  final int[] value;
+  private final IntBuffer value; // always positioned at the first value, and never moved
 
   IntArrayBinaryTagImpl(final int... value) {
-    this.value = Arrays.copyOf(value, value.length);
+    this(IntBuffer.wrap(Arrays.copyOf(value, value.length)));
+  }
+
+  IntArrayBinaryTagImpl(final IntBuffer value) {
+    this.value = value;
+  }
+
+  static IntArrayBinaryTag wrap(final ByteBuffer buffer) {
+    if(buffer.remaining() % Integer.BYTES != 0) {
+      throw new IllegalArgumentException(String.format("Expected a multiple of %d bytes, had %d", Integer.BYTES, buffer.remaining()));
+    }
+    return new IntArrayBinaryTagImpl(buffer.slice().order(buffer.order()).asIntBuffer());
   }
 
   @Override
   public int@NonNull[] value() {
-    return Arrays.copyOf(this.value, this.value.length);
+    final int[] value = new int[this.value.limit()];
+    this.value.duplicate().get(value);
+    return value;
   }
 
   // to avoid copying array internally
   static int[] value(final IntArrayBinaryTag tag) {
-    return (tag instanceof IntArrayBinaryTagImpl) ? ((IntArrayBinaryTagImpl) tag).value : tag.value();
+    if(tag instanceof IntArrayBinaryTagImpl) {
+      final IntBuffer value = ((IntArrayBinaryTagImpl) tag).value;
+      if(value.hasArray() && value.arrayOffset() == 0 && value.array().length == value.limit()) {
+        return value.array();
+      }
+    }
+    return tag.value();
+  }
+
+  // to avoid copying buffer internally, the returned buffer may be repositioned
+  static IntBuffer buffer(final IntArrayBinaryTag tag) {
+    return (tag instanceof IntArrayBinaryTagImpl) ? ((IntArrayBinaryTagImpl) tag).value.duplicate() : IntBuffer.wrap(tag.value());
+  }
+
+  @Override
+  public int size() {
+    return this.value.limit();
+  }
+
+  @Override
+  public int get(final int index) {
+    return this.value.get(index);
+  }
+
+  @Override
+  public void forEachInt(final @NonNull IntConsumer action) {
+    for(int i = 0, size = this.value.limit(); i < size; i++) {
+      action.accept(this.value.get(i));
+    }
+  }
+
+  @Override
+  public @NonNull IntBuffer intBuffer() {
+    return this.value.asReadOnlyBuffer();
   }
 
   @Override
@@ -51,16 +100,21 @@ final class IntArrayBinaryTagImpl implements IntArrayBinaryTag {
     if(this == other) return true;
     if(other == null || this.getClass() != other.getClass()) return false;
     final IntArrayBinaryTagImpl that = (IntArrayBinaryTagImpl) other;
-    return Arrays.equals(this.value, that.value);
+    return this.value.equals(that.value);
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.value);
+    // the same as Arrays.hashCode, which this used to be
+    int hashCode = 1;
+    for(int i = 0, size = this.value.limit(); i < size; i++) {
+      hashCode = 31 * hashCode + Integer.hashCode(this.value.get(i));
+    }
+    return hashCode;
   }
 
   @Override
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
-    return Stream.of(ExaminableProperty.of("value", this.value));
+    return Stream.of(ExaminableProperty.of("value", this.value()));
   }
 }
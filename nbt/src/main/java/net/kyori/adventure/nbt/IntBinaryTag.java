@@ -35,13 +35,20 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public interface IntBinaryTag extends NumberBinaryTag {
   /**
-   * Creates a binary tag holding an {@code int} value.
+   * Gets a binary tag holding an {@code int} value.
+   *
+   * <p>Tags for small values are cached, in the same way as {@link Integer#valueOf(int)}. The cache covers
+   * {@code -128} to {@code 127} unless the upper bound is raised with the {@code net.kyori.adventure.nbt.numberCacheHigh}
+   * system property, which also applies to {@link ShortBinaryTag} and {@link LongBinaryTag}.</p>
    *
    * @param value the value
    * @return a binary tag
    * @since 4.0.0
    */
   static @NonNull IntBinaryTag of(final int value) {
+    if(value >= NumberTagCache.LOW && value <= NumberTagCache.HIGH) {
+      return IntBinaryTagImpl.Cache.TAGS[value - NumberTagCache.LOW];
+    }
     return new IntBinaryTagImpl(value);
   }
 
@@ -118,4 +125,20 @@ final class IntBinaryTagImpl implements IntBinaryTag {
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
     return Stream.of(ExaminableProperty.of("value", this.value));
   }
+
+  /**
+   * Small {@code int} values, created along with the first int tag.
+   */
+  static final class Cache {
+    static final IntBinaryTag[] TAGS = new IntBinaryTag[NumberTagCache.HIGH - NumberTagCache.LOW + 1];
+
+    static {
+      for(int i = 0; i < TAGS.length; i++) {
+        TAGS[i] = new IntBinaryTagImpl(i + NumberTagCache.LOW);
+      }
+    }
+
+    private Cache() {
+    }
+  }
 }
@@ -0,0 +1,200 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reads compound tags from a {@link ByteBuffer}, deferring the decoding of nested compounds, lists and arrays until they are accessed.
+ *
+ * <p>Each level of a compound is scanned once when it is first read: keys and scalar values are decoded immediately,
+ * while nested compounds, lists and arrays are skipped over and only their offsets are recorded.</p>
+ */
+final class LazyBinaryTagReader {
+  private LazyBinaryTagReader() {
+  }
+
+  /**
+   * Reads a compound tag, starting at the first entry.
+   *
+   * @param buffer a big-endian buffer, which must not be modified while the returned tag is in use
+   * @return the compound tag
+   * @throws IOException if an exception was encountered while scanning the compound tag
+   */
+  static CompoundBinaryTag compound(final ByteBuffer buffer) throws IOException {
+    final ByteBufferDataInput input = new ByteBufferDataInput(buffer, true);
+    final Map<String, BinaryTag> tags = new HashMap<>();
+    BinaryTagType<? extends BinaryTag> type;
+    while((type = BinaryTagType.of(buffer.get())) != BinaryTagTypes.END) {
+      final String key = ModifiedUtf8.readKey(input);
+      if(deferred(type)) {
+        tags.put(key, new Deferred(type, buffer, buffer.position()));
+        type.skip(input);
+      } else {
+        tags.put(key, type.read(input));
+      }
+    }
+    return new CompoundBinaryTagImpl(new TagMap(tags));
+  }
+
+  private static BinaryTag read(final BinaryTagType<? extends BinaryTag> type, final ByteBuffer buffer) throws IOException {
+    if(type == BinaryTagTypes.COMPOUND) {
+      return compound(buffer);
+    } else if(type == BinaryTagTypes.LIST) {
+      final BinaryTagType<? extends BinaryTag> elementType = BinaryTagType.of(buffer.get());
+      final int length = BinaryTagTypes.listLength(elementType, new ByteBufferDataInput(buffer));
+      if(elementType == BinaryTagTypes.END) {
+        return ListBinaryTag.empty();
+      }
+      final List<BinaryTag> tags = new ArrayList<>(length);
+      for(int i = 0; i < length; i++) {
+        tags.add(read(elementType, buffer));
+      }
+      return ListBinaryTag.of(elementType, tags);
+    }
+    return type.read(new ByteBufferDataInput(buffer, true));
+  }
+
+  private static boolean deferred(final BinaryTagType<? extends BinaryTag> type) {
+    return type == BinaryTagTypes.COMPOUND
+      || type == BinaryTagTypes.LIST
+      || type == BinaryTagTypes.BYTE_ARRAY
+      || type == BinaryTagTypes.INT_ARRAY
+      || type == BinaryTagTypes.LONG_ARRAY;
+  }
+
+  /**
+   * A tag which has not been decoded yet. These never escape a {@link TagMap}.
+   */
+  private static final class Deferred implements BinaryTag {
+    private final BinaryTagType<? extends BinaryTag> type;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private @Nullable BinaryTag value; // tags are immutable, so racing to decode is harmless
+
+    Deferred(final BinaryTagType<? extends BinaryTag> type, final ByteBuffer buffer, final int offset) {
+      this.type = type;
+      this.buffer = buffer;
+      this.offset = offset;
+    }
+
+    @Override
+    public @NonNull BinaryTagType<? extends BinaryTag> type() {
+      return this.type;
+    }
+
+    BinaryTag resolve() {
+      BinaryTag value = this.value;
+      if(value == null) {
+        final ByteBuffer buffer = this.buffer.duplicate();
+        buffer.position(this.offset);
+        try {
+          value = read(this.type, buffer);
+        } catch(final IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+        this.value = value;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * The tags in a lazily decoded compound.
+   */
+  private static final class TagMap extends AbstractMap<String, BinaryTag> {
+    private final Map<String, BinaryTag> tags;
+    private @Nullable Set<Entry<String, BinaryTag>> entrySet;
+
+    TagMap(final Map<String, BinaryTag> tags) {
+      this.tags = tags;
+    }
+
+    private static @Nullable BinaryTag resolve(final @Nullable BinaryTag tag) {
+      return tag instanceof Deferred ? ((Deferred) tag).resolve() : tag;
+    }
+
+    @Override
+    public @Nullable BinaryTag get(final Object key) {
+      return resolve(this.tags.get(key));
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+      return this.tags.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return this.tags.size();
+    }
+
+    @Override
+    public @NonNull Set<String> keySet() {
+      return this.tags.keySet();
+    }
+
+    @Override
+    public @NonNull Set<Entry<String, BinaryTag>> entrySet() {
+      if(this.entrySet == null) {
+        this.entrySet = new AbstractSet<Entry<String, BinaryTag>>() {
+          @Override
+          public @NonNull Iterator<Entry<String, BinaryTag>> iterator() {
+            final Iterator<Entry<String, BinaryTag>> iterator = TagMap.this.tags.entrySet().iterator();
+            return new Iterator<Entry<String, BinaryTag>>() {
+              @Override
+              public boolean hasNext() {
+                return iterator.hasNext();
+              }
+
+              @Override
+              public Entry<String, BinaryTag> next() {
+                final Entry<String, BinaryTag> entry = iterator.next();
+                return new SimpleImmutableEntry<>(entry.getKey(), resolve(entry.getValue()));
+              }
+            };
+          }
+
+          @Override
+          public int size() {
+            return TagMap.this.tags.size();
+          }
+        };
+      }
+      return this.entrySet;
+    }
+  }
+}
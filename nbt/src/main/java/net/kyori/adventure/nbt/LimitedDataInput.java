@@ -0,0 +1,217 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A {@link DataInput} which enforces {@link BinaryTagIO.Limits} while tags are read from it.
+ *
+ * <p>Every byte read is counted against the byte budget. Tag readers report nesting, and the lengths of arrays and
+ * lists before allocating them, through the static methods here, which do nothing for any other input.</p>
+ */
+final class LimitedDataInput implements DataInput {
+  private final DataInput input;
+  private final BinaryTagIO.Limits limits;
+  private long remaining;
+  private int depth;
+
+  LimitedDataInput(final DataInput input, final BinaryTagIO.Limits limits) {
+    this.input = input;
+    this.limits = limits;
+    this.remaining = limits.maxBytes();
+  }
+
+  /**
+   * Enters a compound or list tag.
+   *
+   * @param input the input
+   * @throws IOException if the tag is nested too deeply
+   */
+  static void enter(final DataInput input) throws IOException {
+    if(input instanceof LimitedDataInput) {
+      final LimitedDataInput limited = (LimitedDataInput) input;
+      if(++limited.depth > limited.limits.maxDepth()) {
+        throw new IOException(String.format("Tag is nested more than %d deep", limited.limits.maxDepth()));
+      }
+    }
+  }
+
+  /**
+   * Exits a compound or list tag.
+   *
+   * @param input the input
+   */
+  static void exit(final DataInput input) {
+    if(input instanceof LimitedDataInput) {
+      ((LimitedDataInput) input).depth--;
+    }
+  }
+
+  /**
+   * Checks the length of an array tag, and accounts for all of its elements at once.
+   *
+   * @param input the input
+   * @param length the number of elements
+   * @param elementBytes the size of each element
+   * @return the input to read the elements from, which no longer counts them
+   * @throws IOException if the array is too long
+   */
+  static DataInput array(final DataInput input, final int length, final int elementBytes) throws IOException {
+    if(!(input instanceof LimitedDataInput)) return input;
+    final LimitedDataInput limited = (LimitedDataInput) input;
+    limited.length(length);
+    limited.account(length * (long) elementBytes);
+    return limited.input;
+  }
+
+  /**
+   * Checks the length of a list tag.
+   *
+   * @param input the input
+   * @param length the number of elements
+   * @throws IOException if the list is too long
+   */
+  static void list(final DataInput input, final int length) throws IOException {
+    if(input instanceof LimitedDataInput) {
+      final LimitedDataInput limited = (LimitedDataInput) input;
+      limited.length(length);
+      if(length > limited.remaining) { // every element takes at least one byte
+        throw limited.tooLarge();
+      }
+    }
+  }
+
+  private void length(final int length) throws IOException {
+    if(length < 0 || length > this.limits.maxArrayLength()) {
+      throw new IOException(String.format("Length %d is not between 0 and the limit of %d", length, this.limits.maxArrayLength()));
+    }
+  }
+
+  private void account(final long bytes) throws IOException {
+    if(bytes > this.remaining) {
+      throw this.tooLarge();
+    }
+    this.remaining -= bytes;
+  }
+
+  private IOException tooLarge() {
+    return new IOException(String.format("Tag is larger than the limit of %d bytes", this.limits.maxBytes()));
+  }
+
+  @Override
+  public void readFully(final byte[] b) throws IOException {
+    this.account(b.length);
+    this.input.readFully(b);
+  }
+
+  @Override
+  public void readFully(final byte[] b, final int off, final int len) throws IOException {
+    this.account(len);
+    this.input.readFully(b, off, len);
+  }
+
+  @Override
+  public int skipBytes(final int n) throws IOException {
+    this.account(n);
+    return this.input.skipBytes(n);
+  }
+
+  @Override
+  public boolean readBoolean() throws IOException {
+    this.account(Byte.BYTES);
+    return this.input.readBoolean();
+  }
+
+  @Override
+  public byte readByte() throws IOException {
+    this.account(Byte.BYTES);
+    return this.input.readByte();
+  }
+
+  @Override
+  public int readUnsignedByte() throws IOException {
+    this.account(Byte.BYTES);
+    return this.input.readUnsignedByte();
+  }
+
+  @Override
+  public short readShort() throws IOException {
+    this.account(Short.BYTES);
+    return this.input.readShort();
+  }
+
+  @Override
+  public int readUnsignedShort() throws IOException {
+    this.account(Short.BYTES);
+    return this.input.readUnsignedShort();
+  }
+
+  @Override
+  public char readChar() throws IOException {
+    this.account(Character.BYTES);
+    return this.input.readChar();
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    this.account(Integer.BYTES);
+    return this.input.readInt();
+  }
+
+  @Override
+  public long readLong() throws IOException {
+    this.account(Long.BYTES);
+    return this.input.readLong();
+  }
+
+  @Override
+  public float readFloat() throws IOException {
+    this.account(Float.BYTES);
+    return this.input.readFloat();
+  }
+
+  @Override
+  public double readDouble() throws IOException {
+    this.account(Double.BYTES);
+    return this.input.readDouble();
+  }
+
+  @Override
+  public @Nullable String readLine() throws IOException {
+    final /* @Nullable */ String line = this.input.readLine();
+    if(line != null) {
+      this.account(line.length() + 1L); // the line terminator is counted as one byte, although it can be two or none
+    }
+    return line;
+  }
+
+  @Override
+  public String readUTF() throws IOException {
+    return DataInputStream.readUTF(this);
+  }
+}
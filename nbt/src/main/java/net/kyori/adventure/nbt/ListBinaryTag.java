@@ -442,6 +442,18 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
     return defaultValue;
   }
 
+  /**
+   * Applies many edits to this list tag at once.
+   *
+   * <p>The tags are copied at most once, no matter how many edits are made. {@code editor} must not keep the
+   * {@link Mutable} it is given, as it cannot be used after {@code editor} returns.</p>
+   *
+   * @param editor a consumer which makes the edits
+   * @return a list tag, or this list tag if no edits were made
+   * @since 4.1.0
+   */
+  @NonNull ListBinaryTag edit(final @NonNull Consumer<Mutable> editor);
+
   /**
    * A list tag builder.
    *
@@ -457,4 +469,75 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
      */
     @NonNull ListBinaryTag build();
   }
+
+  /**
+   * A list tag being edited.
+   *
+   * @see ListBinaryTag#edit(Consumer)
+   * @since 4.1.0
+   */
+  interface Mutable extends ListTagSetter<Mutable, BinaryTag> {
+    /**
+     * Gets the size.
+     *
+     * @return the size
+     * @since 4.1.0
+     */
+    int size();
+
+    /**
+     * Gets a tag.
+     *
+     * @param index the index
+     * @return the tag
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @since 4.1.0
+     */
+    @NonNull BinaryTag get(final @NonNegative int index);
+
+    /**
+     * Sets the tag at index {@code index} to {@code tag}.
+     *
+     * @param index the index
+     * @param tag the tag
+     * @return this list tag
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @since 4.1.0
+     */
+    @NonNull Mutable set(final @NonNegative int index, final @NonNull BinaryTag tag);
+
+    /**
+     * Removes the tag at index {@code index}.
+     *
+     * @param index the index
+     * @return this list tag
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @since 4.1.0
+     */
+    @NonNull Mutable remove(final @NonNegative int index);
+
+    /**
+     * Edits the compound tag at index {@code index}.
+     *
+     * @param index the index
+     * @param editor a consumer which makes the edits
+     * @return this list tag
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalArgumentException if the tag at index {@code index} is not a compound tag
+     * @since 4.1.0
+     */
+    @NonNull Mutable editCompound(final @NonNegative int index, final @NonNull Consumer<CompoundBinaryTag.Mutable> editor);
+
+    /**
+     * Edits the list tag at index {@code index}.
+     *
+     * @param index the index
+     * @param editor a consumer which makes the edits
+     * @return this list tag
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalArgumentException if the tag at index {@code index} is not a list tag
+     * @since 4.1.0
+     */
+    @NonNull Mutable editList(final @NonNegative int index, final @NonNull Consumer<Mutable> editor);
+  }
 }
@@ -40,12 +40,12 @@ final class ListBinaryTagImpl implements ListBinaryTag {
   static final ListBinaryTag EMPTY = new ListBinaryTagImpl(BinaryTagTypes.END, Collections.emptyList());
   private final List<? extends BinaryTag> tags;
   private final BinaryTagType<? extends BinaryTag> type;
-  private final int hashCode;
+  private int hashCode; // computed on demand, so that each edit does not hash every element
+  private volatile long size; // the encoded size, or 0 until size(ListBinaryTag) first needs it
 
   ListBinaryTagImpl(final BinaryTagType<? extends BinaryTag> type, final List<? extends BinaryTag> tags) {
     this.tags = tags;
     this.type = type;
-    this.hashCode = tags.hashCode();
   }
 
   @Override
@@ -65,12 +65,11 @@ final class ListBinaryTagImpl implements ListBinaryTag {
 
   @Override
   public @NonNull ListBinaryTag set(final int index, final @NonNull BinaryTag newTag, final @Nullable Consumer<BinaryTag> removedConsumer) {
-    return this.edit(tags -> {
-      final BinaryTag oldTag = tags.set(index, newTag);
-      if(removedConsumer != null) {
-        removedConsumer.accept(oldTag);
-      }
-    }, newTag.type());
+    final TagVector tags = TagVector.of(this.tags).with(index, newTag);
+    if(removedConsumer != null) {
+      removedConsumer.accept(this.tags.get(index));
+    }
+    return this.edit(tags, newTag.type());
   }
 
   @Override
@@ -85,13 +84,41 @@ final class ListBinaryTagImpl implements ListBinaryTag {
 
   @Override
   public @NonNull ListBinaryTag add(final BinaryTag tag) {
-    return this.edit(tags -> {
-      noAddEnd(tag);
-      if(this.type != BinaryTagTypes.END) {
-        mustBeSameType(tag, this.type);
-      }
-      tags.add(tag);
-    }, tag.type());
+    noAddEnd(tag);
+    if(this.type != BinaryTagTypes.END) {
+      mustBeSameType(tag, this.type);
+    }
+    return this.edit(TagVector.of(this.tags).plus(tag), tag.type());
+  }
+
+  @Override
+  public @NonNull ListBinaryTag edit(final @NonNull Consumer<Mutable> editor) {
+    return ListTagMutator.edit(this, this.tags, editor);
+  }
+
+  static long size(final ListBinaryTag tag) {
+    if(!(tag instanceof ListBinaryTagImpl)) return computeSize(tag);
+    final ListBinaryTagImpl impl = (ListBinaryTagImpl) tag;
+    long size = impl.size;
+    if(size == 0) { // never a real size, as there is always an element type and length
+      size = computeSize(impl);
+      impl.size = size;
+    }
+    return size;
+  }
+
+  private static long computeSize(final ListBinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.listType();
+    final int length = tag.size();
+    long size = Byte.BYTES + Integer.BYTES;
+    if(length == 0) return size;
+    if(type.numeric()) { // every element is the same size
+      return size + length * BinaryTagType.size(type, tag.get(0));
+    }
+    for(final BinaryTag item : tag) {
+      size += BinaryTagType.size(item.type(), item);
+    }
+    return size;
   }
 
   // An end tag cannot be an element in a list tag
@@ -111,6 +138,10 @@ final class ListBinaryTagImpl implements ListBinaryTag {
   private ListBinaryTag edit(final Consumer<List<BinaryTag>> consumer, final @Nullable BinaryTagType<? extends BinaryTag> maybeType) {
     final List<BinaryTag> tags = new ArrayList<>(this.tags);
     consumer.accept(tags);
+    return this.edit(tags, maybeType);
+  }
+
+  private ListBinaryTag edit(final List<? extends BinaryTag> tags, final @Nullable BinaryTagType<? extends BinaryTag> maybeType) {
     BinaryTagType<? extends BinaryTag> type = this.type;
     // set the type if it has not yet been set
     if(maybeType != null && type == BinaryTagTypes.END) {
@@ -157,7 +188,12 @@ final class ListBinaryTagImpl implements ListBinaryTag {
 
   @Override
   public int hashCode() {
-    return this.hashCode;
+    int hashCode = this.hashCode;
+    if(hashCode == 0) {
+      hashCode = this.tags.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 
   @Override
@@ -0,0 +1,128 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class ListTagMutator implements ListBinaryTag.Mutable {
+  private @Nullable List<? extends BinaryTag> original;
+  private @Nullable List<BinaryTag> tags; // copied from the original on the first edit
+  private BinaryTagType<? extends BinaryTag> type;
+
+  private ListTagMutator(final List<? extends BinaryTag> original, final BinaryTagType<? extends BinaryTag> type) {
+    this.original = original;
+    this.type = type;
+  }
+
+  static ListBinaryTag edit(final ListBinaryTag tag, final List<? extends BinaryTag> tags, final Consumer<ListBinaryTag.Mutable> editor) {
+    final ListTagMutator mutator = new ListTagMutator(tags, tag.listType());
+    editor.accept(mutator);
+    final /* @Nullable */ List<BinaryTag> edited = mutator.tags;
+    mutator.original = null;
+    mutator.tags = null;
+    return edited == null ? tag : new ListBinaryTagImpl(mutator.type, edited);
+  }
+
+  private List<? extends BinaryTag> read() {
+    if(this.tags != null) return this.tags;
+    if(this.original == null) throw new IllegalStateException("Cannot use a " + ListBinaryTag.Mutable.class.getSimpleName() + " after its edit has finished");
+    return this.original;
+  }
+
+  private List<BinaryTag> write() {
+    if(this.tags == null) {
+      this.tags = new ArrayList<>(this.read());
+    }
+    return this.tags;
+  }
+
+  private void checkType(final BinaryTag tag) {
+    ListBinaryTagImpl.noAddEnd(tag);
+    // set the type if it has not yet been set
+    if(this.type == BinaryTagTypes.END) {
+      this.type = tag.type();
+    }
+    ListBinaryTagImpl.mustBeSameType(tag, this.type);
+  }
+
+  @Override
+  public int size() {
+    return this.read().size();
+  }
+
+  @Override
+  public @NonNull BinaryTag get(final int index) {
+    return this.read().get(index);
+  }
+
+  @Override
+  public ListBinaryTag.@NonNull Mutable add(final BinaryTag tag) {
+    this.checkType(tag);
+    this.write().add(tag);
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NonNull Mutable set(final int index, final @NonNull BinaryTag tag) {
+    this.checkType(tag);
+    this.write().set(index, tag);
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NonNull Mutable remove(final int index) {
+    this.write().remove(index);
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NonNull Mutable editCompound(final int index, final @NonNull Consumer<CompoundBinaryTag.Mutable> editor) {
+    final BinaryTag tag = this.read().get(index);
+    if(!(tag instanceof CompoundBinaryTag)) {
+      throw new IllegalArgumentException(String.format("Expected the tag at index %d to be a %s, was %s", index, BinaryTagTypes.COMPOUND, tag.type()));
+    }
+    final CompoundBinaryTag edited = ((CompoundBinaryTag) tag).edit(editor);
+    if(edited != tag) {
+      this.write().set(index, edited);
+    }
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NonNull Mutable editList(final int index, final @NonNull Consumer<ListBinaryTag.Mutable> editor) {
+    final BinaryTag tag = this.read().get(index);
+    if(!(tag instanceof ListBinaryTag)) {
+      throw new IllegalArgumentException(String.format("Expected the tag at index %d to be a %s, was %s", index, BinaryTagTypes.LIST, tag.type()));
+    }
+    final ListBinaryTag edited = ((ListBinaryTag) tag).edit(editor);
+    if(edited != tag) {
+      this.write().set(index, edited);
+    }
+    return this;
+  }
+}
@@ -23,6 +23,10 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.function.LongConsumer;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -42,6 +46,21 @@ public interface LongArrayBinaryTag extends BinaryTag {
     return new LongArrayBinaryTagImpl(value);
   }
 
+  /**
+   * Creates a binary tag holding the remaining bytes of {@code buffer} as {@code long} values, without copying them.
+   *
+   * <p>The values are read in the byte order of {@code buffer}, and the position of {@code buffer} is not changed. The
+   * contents of {@code buffer} must not be modified while the returned tag is in use.</p>
+   *
+   * @param buffer the buffer
+   * @return a binary tag
+   * @throws IllegalArgumentException if the number of remaining bytes is not a multiple of {@value Long#BYTES}
+   * @since 4.1.0
+   */
+  static @NonNull LongArrayBinaryTag wrap(final @NonNull ByteBuffer buffer) {
+    return LongArrayBinaryTagImpl.wrap(buffer);
+  }
+
   @Override
   default @NonNull BinaryTagType<LongArrayBinaryTag> type() {
     return BinaryTagTypes.LONG_ARRAY;
@@ -56,4 +75,38 @@ public interface LongArrayBinaryTag extends BinaryTag {
    * @since 4.0.0
    */
   long@NonNull[] value();
+
+  /**
+   * Gets the number of values.
+   *
+   * @return the number of values
+   * @since 4.1.0
+   */
+  int size();
+
+  /**
+   * Gets the value at index {@code index}.
+   *
+   * @param index the index
+   * @return the value
+   * @throws IndexOutOfBoundsException if the index is out of range
+   * @since 4.1.0
+   */
+  long get(final @NonNegative int index);
+
+  /**
+   * Performs {@code action} on each value, in order.
+   *
+   * @param action the action
+   * @since 4.1.0
+   */
+  void forEachLong(final @NonNull LongConsumer action);
+
+  /**
+   * Gets a read-only view of the values, which does not copy them.
+   *
+   * @return a read-only buffer positioned at the first value
+   * @since 4.1.0
+   */
+  @NonNull LongBuffer longBuffer();
 }
@@ -23,27 +23,76 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
+import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 import net.kyori.examination.ExaminableProperty;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 final class LongArrayBinaryTagImpl implements LongArrayBinaryTag {
-  final long[] value;
+  private final LongBuffer value; // always positioned at the first value, and never moved
 
-  LongArrayBinaryTagImpl(final long[] value) {
-    this.value = Arrays.copyOf(value, value.length);
+  LongArrayBinaryTagImpl(final long... value) {
+    this(LongBuffer.wrap(Arrays.copyOf(value, value.length)));
+  }
+
+  LongArrayBinaryTagImpl(final LongBuffer value) {
+    this.value = value;
+  }
+
+  static LongArrayBinaryTag wrap(final ByteBuffer buffer) {
+    if(buffer.remaining() % Long.BYTES != 0) {
+      throw new IllegalArgumentException(String.format("Expected a multiple of %d bytes, had %d", Long.BYTES, buffer.remaining()));
+    }
+    return new LongArrayBinaryTagImpl(buffer.slice().order(buffer.order()).asLongBuffer());
   }
 
   @Override
   public long@NonNull[] value() {
-    return Arrays.copyOf(this.value, this.value.length);
+    final long[] value = new long[this.value.limit()];
+    this.value.duplicate().get(value);
+    return value;
   }
 
   // to avoid copying array internally
   static long[] value(final LongArrayBinaryTag tag) {
-    return (tag instanceof LongArrayBinaryTagImpl) ? ((LongArrayBinaryTagImpl) tag).value : tag.value();
+    if(tag instanceof LongArrayBinaryTagImpl) {
+      final LongBuffer value = ((LongArrayBinaryTagImpl) tag).value;
+      if(value.hasArray() && value.arrayOffset() == 0 && value.array().length == value.limit()) {
+        return value.array();
+      }
+    }
+    return tag.value();
+  }
+
+  // to avoid copying buffer internally, the returned buffer may be repositioned
+  static LongBuffer buffer(final LongArrayBinaryTag tag) {
+    return (tag instanceof LongArrayBinaryTagImpl) ? ((LongArrayBinaryTagImpl) tag).value.duplicate() : LongBuffer.wrap(tag.value());
+  }
+
+  @Override
+  public int size() {
+    return this.value.limit();
+  }
+
+  @Override
+  public long get(final int index) {
+    return this.value.get(index);
+  }
+
+  @Override
+  public void forEachLong(final @NonNull LongConsumer action) {
+    for(int i = 0, size = this.value.limit(); i < size; i++) {
+      action.accept(this.value.get(i));
+    }
+  }
+
+  @Override
+  public @NonNull LongBuffer longBuffer() {
+    return this.value.asReadOnlyBuffer();
   }
 
   @Override
@@ -51,16 +100,21 @@ final class LongArrayBinaryTagImpl implements LongArrayBinaryTag {
     if(this == other) return true;
     if(other == null || this.getClass() != other.getClass()) return false;
     final LongArrayBinaryTagImpl that = (LongArrayBinaryTagImpl) other;
-    return Arrays.equals(this.value, that.value);
+    return this.value.equals(that.value);
   }
 
   @Override
   public int hashCode() {
-    return Arrays.hashCode(this.value);
+    // the same as Arrays.hashCode, which this used to be
+    int hashCode = 1;
+    for(int i = 0, size = this.value.limit(); i < size; i++) {
+      hashCode = 31 * hashCode + Long.hashCode(this.value.get(i));
+    }
+    return hashCode;
   }
 
   @Override
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
-    return Stream.of(ExaminableProperty.of("value", this.value));
+    return Stream.of(ExaminableProperty.of("value", this.value()));
   }
 }
@@ -35,13 +35,18 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public interface LongBinaryTag extends NumberBinaryTag {
   /**
-   * Creates a binary tag holding a {@code long} value.
+   * Gets a binary tag holding a {@code long} value.
+   *
+   * <p>Tags for small values are cached, in the same way as {@link Long#valueOf(long)}.</p>
    *
    * @param value the value
    * @return a binary tag
    * @since 4.0.0
    */
   static @NonNull LongBinaryTag of(final long value) {
+    if(value >= NumberTagCache.LOW && value <= NumberTagCache.HIGH) {
+      return LongBinaryTagImpl.Cache.TAGS[(int) value - NumberTagCache.LOW];
+    }
     return new LongBinaryTagImpl(value);
   }
 
@@ -118,4 +123,20 @@ final class LongBinaryTagImpl implements LongBinaryTag {
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
     return Stream.of(ExaminableProperty.of("value", this.value));
   }
+
+  /**
+   * Small {@code long} values, created along with the first long tag.
+   */
+  static final class Cache {
+    static final LongBinaryTag[] TAGS = new LongBinaryTag[NumberTagCache.HIGH - NumberTagCache.LOW + 1];
+
+    static {
+      for(int i = 0; i < TAGS.length; i++) {
+        TAGS[i] = new LongBinaryTagImpl(i + NumberTagCache.LOW);
+      }
+    }
+
+    private Cache() {
+    }
+  }
 }
@@ -0,0 +1,183 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads and writes strings in the modified UTF-8 encoding of {@link DataInput#readUTF()}.
+ *
+ * <p>Strings made up only of ASCII characters, as nearly all are, are decoded and encoded without the general
+ * per-character loop. Compound keys are also looked up in a small shared cache of recently decoded keys, so repeated
+ * keys such as {@code id} or {@code Pos} are neither allocated again nor retained more than once. The number of cached
+ * keys can be set with the {@code net.kyori.adventure.nbt.keyCacheSize} system property, and {@code 0} disables it.</p>
+ */
+final class ModifiedUtf8 {
+  private static final int MAX_LENGTH = 0xffff;
+  private static final int MAX_KEY_LENGTH = 32;
+  private static final int INITIAL_SCRATCH_LENGTH = 1024;
+  private static final int MAX_SCRATCH_LENGTH = Short.BYTES + MAX_LENGTH; // enough for any string that can be written
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[INITIAL_SCRATCH_LENGTH]);
+  // written to without synchronization, which is safe as strings are immutable - a lost write only costs a cache miss
+  private static final String[] KEYS;
+
+  static {
+    final int size = Integer.getInteger("net.kyo".concat("ri.adventure.nbt.keyCacheSize"), 1024);
+    KEYS = new String[size <= 0 ? 0 : Integer.highestOneBit(Math.min(size, 1 << 20))];
+  }
+
+  private ModifiedUtf8() {
+  }
+
+  static String read(final DataInput input) throws IOException {
+    return read(input, false);
+  }
+
+  static String readKey(final DataInput input) throws IOException {
+    return read(input, true);
+  }
+
+  private static String read(final DataInput input, final boolean key) throws IOException {
+    final int length = input.readUnsignedShort();
+    final byte[] bytes = scratch(length);
+    input.readFully(bytes, 0, length);
+    int hash = 0;
+    for(int i = 0; i < length; i++) {
+      final byte b = bytes[i];
+      if(b < 0) return decode(bytes, i, length);
+      hash = 31 * hash + b;
+    }
+    if(key && length <= MAX_KEY_LENGTH && KEYS.length != 0) {
+      final int index = (hash ^ (hash >>> 16)) & (KEYS.length - 1);
+      final /* @Nullable */ String cached = KEYS[index];
+      if(cached != null && matches(cached, bytes, length)) return cached;
+      final String string = new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+      KEYS[index] = string;
+      return string;
+    }
+    return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+  }
+
+  private static boolean matches(final String string, final byte[] bytes, final int length) {
+    if(string.length() != length) return false;
+    for(int i = 0; i < length; i++) {
+      if(string.charAt(i) != bytes[i]) return false;
+    }
+    return true;
+  }
+
+  // bytes before start are known to be ASCII
+  private static String decode(final byte[] bytes, final int start, final int length) throws UTFDataFormatException {
+    final char[] chars = new char[length];
+    for(int i = 0; i < start; i++) {
+      chars[i] = (char) bytes[i];
+    }
+    int count = start;
+    for(int i = start; i < length; i++) {
+      final int a = bytes[i] & 0xff;
+      if(a < 0x80) {
+        chars[count++] = (char) a;
+      } else if((a & 0xe0) == 0xc0 && i + 1 < length) {
+        final int b = bytes[++i] & 0xff;
+        if((b & 0xc0) != 0x80) throw new UTFDataFormatException("Malformed input around byte " + i);
+        chars[count++] = (char) (((a & 0x1f) << 6) | (b & 0x3f));
+      } else if((a & 0xf0) == 0xe0 && i + 2 < length) {
+        final int b = bytes[++i] & 0xff;
+        final int c = bytes[++i] & 0xff;
+        if((b & 0xc0) != 0x80 || (c & 0xc0) != 0x80) throw new UTFDataFormatException("Malformed input around byte " + i);
+        chars[count++] = (char) (((a & 0x0f) << 12) | ((b & 0x3f) << 6) | (c & 0x3f));
+      } else {
+        throw new UTFDataFormatException("Malformed input around byte " + i);
+      }
+    }
+    return new String(chars, 0, count);
+  }
+
+  static void write(final DataOutput output, final String string) throws IOException {
+    final int length = string.length();
+    if(length > MAX_LENGTH) {
+      throw new UTFDataFormatException("Encoded string is too long: more than " + MAX_LENGTH + " bytes");
+    }
+    int capacity = Short.BYTES + length * 3; // the longest possible encoding
+    if(capacity > MAX_SCRATCH_LENGTH) {
+      capacity = size(string);
+      if(capacity > MAX_SCRATCH_LENGTH) {
+        throw new UTFDataFormatException("Encoded string is too long: " + (capacity - Short.BYTES) + " bytes");
+      }
+    }
+    final byte[] bytes = scratch(capacity);
+    int count = Short.BYTES;
+    for(int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if(c != 0 && c < 0x80) {
+        bytes[count++] = (byte) c;
+      } else if(c < 0x800) {
+        bytes[count++] = (byte) (0xc0 | (c >> 6));
+        bytes[count++] = (byte) (0x80 | (c & 0x3f));
+      } else {
+        bytes[count++] = (byte) (0xe0 | (c >> 12));
+        bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        bytes[count++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+    final int utfLength = count - Short.BYTES;
+    bytes[0] = (byte) (utfLength >>> 8);
+    bytes[1] = (byte) utfLength;
+    output.write(bytes, 0, count);
+  }
+
+  /**
+   * Gets the number of bytes {@link #write(DataOutput, String)} writes for a string, including its length.
+   *
+   * <p>This is computed even for strings that are too long to be written.</p>
+   *
+   * @param string the string
+   * @return the number of bytes
+   */
+  static int size(final String string) {
+    final int length = string.length();
+    int size = Short.BYTES + length;
+    for(int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if(c == 0 || c >= 0x80) {
+        size += c < 0x800 ? 1 : 2;
+      }
+    }
+    return size;
+  }
+
+  // the returned array is only valid until the next call on the same thread, and length must be at most MAX_SCRATCH_LENGTH
+  private static byte[] scratch(final int length) {
+    byte[] scratch = SCRATCH.get();
+    if(scratch.length < length) {
+      scratch = new byte[Math.min(Math.max(length, scratch.length * 2), MAX_SCRATCH_LENGTH)];
+      SCRATCH.set(scratch);
+    }
+    return scratch;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+/**
+ * Shared instances of small numeric tags.
+ *
+ * <p>Every {@code byte} value is cached. {@code short}, {@code int} and {@code long} values are cached from {@value #LOW}
+ * to {@code 127}, and the upper bound can be raised with the {@code net.kyori.adventure.nbt.numberCacheHigh} system
+ * property, much like the {@link Integer#valueOf(int)} cache.</p>
+ *
+ * <p>Each cache is held by a class nested in the implementation of its tag type, so that it is only created once that
+ * type of tag is.</p>
+ */
+final class NumberTagCache {
+  static final int LOW = -128;
+  static final int HIGH;
+
+  static {
+    final int high = Integer.getInteger("net.kyo".concat("ri.adventure.nbt.numberCacheHigh"), 127);
+    HIGH = Math.min(Math.max(high, 127), Integer.MAX_VALUE + LOW - 1); // the cache has to fit in an array
+  }
+
+  private NumberTagCache() {
+  }
+}
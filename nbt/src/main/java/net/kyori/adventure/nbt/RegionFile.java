@@ -0,0 +1,153 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static net.kyori.adventure.nbt.IOStreamUtil.inputStream;
+
+/**
+ * A read-only view of an Anvil region file, holding a grid of 32 by 32 chunks.
+ *
+ * <p>The file is memory-mapped once, and each chunk compound is decoded directly from the mapping when requested.
+ * Reading chunks is thread-safe.</p>
+ *
+ * @since 4.1.0
+ */
+public final class RegionFile {
+  private static final int SECTOR_BYTES = 4096;
+  private static final int HEADER_BYTES = 2 * SECTOR_BYTES; // locations, then timestamps
+  private static final byte COMPRESSION_GZIP = 1;
+  private static final byte COMPRESSION_ZLIB = 2;
+  private static final byte COMPRESSION_NONE = 3;
+  private static final byte COMPRESSION_EXTERNAL = (byte) 0x80;
+
+  private final Path path;
+  private final ByteBuffer buffer;
+
+  /**
+   * Memory-maps the region file at {@code path}.
+   *
+   * @param path the path
+   * @return the region file
+   * @throws IOException if the file could not be mapped, or is too small to be a region file
+   * @since 4.1.0
+   */
+  public static @NonNull RegionFile map(final @NonNull Path path) throws IOException {
+    final ByteBuffer buffer = IOStreamUtil.map(path);
+    if(buffer.capacity() < HEADER_BYTES) {
+      throw new IOException(String.format("%s is too small to be a region file (%d bytes)", path, buffer.capacity()));
+    }
+    return new RegionFile(path, buffer);
+  }
+
+  private RegionFile(final Path path, final ByteBuffer buffer) {
+    this.path = path;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Checks if a chunk is present in this region.
+   *
+   * <p>Only the lowest five bits of each coordinate are used, so both absolute and region-relative chunk coordinates are accepted.</p>
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @return {@code true} if the chunk is present
+   * @since 4.1.0
+   */
+  public boolean contains(final int x, final int z) {
+    return this.buffer.getInt(index(x, z) * Integer.BYTES) != 0;
+  }
+
+  /**
+   * Gets the time a chunk was last written, in seconds since the epoch.
+   *
+   * <p>Only the lowest five bits of each coordinate are used, so both absolute and region-relative chunk coordinates are accepted.</p>
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @return the timestamp, or {@code 0} if the chunk is not present
+   * @since 4.1.0
+   */
+  public int timestamp(final int x, final int z) {
+    return this.buffer.getInt(SECTOR_BYTES + index(x, z) * Integer.BYTES);
+  }
+
+  /**
+   * Reads a chunk compound tag.
+   *
+   * <p>Only the lowest five bits of each coordinate are used, so both absolute and region-relative chunk coordinates are accepted.</p>
+   *
+   * @param x the chunk x coordinate
+   * @param z the chunk z coordinate
+   * @return the chunk compound tag, or {@code null} if the chunk is not present
+   * @throws IOException if an exception was encountered while reading the chunk
+   * @since 4.1.0
+   */
+  public @Nullable CompoundBinaryTag read(final int x, final int z) throws IOException {
+    final int location = this.buffer.getInt(index(x, z) * Integer.BYTES);
+    if(location == 0) return null;
+    final long sectorOffset = (long) (location >>> 8) * SECTOR_BYTES; // may not fit in an int
+    final int sectors = location & 0xff;
+    if(sectorOffset < HEADER_BYTES || sectorOffset + Integer.BYTES + 1 > this.buffer.capacity()) {
+      throw this.error(x, z, "has an invalid offset " + sectorOffset);
+    }
+    final int offset = (int) sectorOffset;
+    final int length = this.buffer.getInt(offset); // includes the compression type
+    final long end = (long) offset + Integer.BYTES + length;
+    if(length <= 0 || length > sectors * SECTOR_BYTES - Integer.BYTES || end > this.buffer.capacity()) {
+      throw this.error(x, z, "has an invalid length " + length);
+    }
+    final byte compression = this.buffer.get(offset + Integer.BYTES);
+    final ByteBuffer data = this.buffer.duplicate();
+    data.limit((int) end);
+    data.position(offset + Integer.BYTES + 1);
+    switch(compression) {
+      case COMPRESSION_GZIP:
+        return BinaryTagIO.readInputStream(inputStream(data), BinaryTagIO.Compression.GZIP);
+      case COMPRESSION_ZLIB:
+        return BinaryTagIO.readInputStream(inputStream(data), BinaryTagIO.Compression.ZLIB);
+      case COMPRESSION_NONE:
+        return BinaryTagIO.readByteBuffer(data);
+      default:
+        if((compression & COMPRESSION_EXTERNAL) != 0) {
+          throw this.error(x, z, "is stored in an external file, which is not supported");
+        }
+        throw this.error(x, z, "has an unknown compression type " + compression);
+    }
+  }
+
+  private IOException error(final int x, final int z, final String message) {
+    return new IOException(String.format("Chunk [%d, %d] in %s %s", x & 31, z & 31, this.path, message));
+  }
+
+  private static int index(final int x, final int z) {
+    return (x & 31) + (z & 31) * 32;
+  }
+}
@@ -35,13 +35,18 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public interface ShortBinaryTag extends NumberBinaryTag {
   /**
-   * Creates a binary tag holding a {@code short} value.
+   * Gets a binary tag holding a {@code short} value.
+   *
+   * <p>Tags for small values are cached, in the same way as {@link Short#valueOf(short)}.</p>
    *
    * @param value the value
    * @return a binary tag
    * @since 4.0.0
    */
   static @NonNull ShortBinaryTag of(final short value) {
+    if(value >= NumberTagCache.LOW && value <= ShortBinaryTagImpl.Cache.HIGH) {
+      return ShortBinaryTagImpl.Cache.TAGS[value - NumberTagCache.LOW];
+    }
     return new ShortBinaryTagImpl(value);
   }
 
@@ -118,4 +123,21 @@ final class ShortBinaryTagImpl implements ShortBinaryTag {
   public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
     return Stream.of(ExaminableProperty.of("value", this.value));
   }
+
+  /**
+   * Small {@code short} values, created along with the first short tag.
+   */
+  static final class Cache {
+    static final int HIGH = Math.min(NumberTagCache.HIGH, Short.MAX_VALUE);
+    static final ShortBinaryTag[] TAGS = new ShortBinaryTag[HIGH - NumberTagCache.LOW + 1];
+
+    static {
+      for(int i = 0; i < TAGS.length; i++) {
+        TAGS[i] = new ShortBinaryTagImpl((short) (i + NumberTagCache.LOW));
+      }
+    }
+
+    private Cache() {
+    }
+  }
 }
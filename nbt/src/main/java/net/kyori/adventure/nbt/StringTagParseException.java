@@ -30,19 +30,19 @@ import java.io.IOException;
  */
 class StringTagParseException extends IOException {
   private static final long serialVersionUID = -3001637554903912905l;
-  private final CharSequence buffer;
   private final int position;
+  private final int line;
+  private final int column;
 
-  StringTagParseException(final String message, final CharSequence buffer, final int position) {
+  StringTagParseException(final String message, final int position, final int line, final int column) {
     super(message);
-    this.buffer = buffer;
     this.position = position;
+    this.line = line;
+    this.column = column;
   }
 
-  // TODO: Provide more specific position information
-
   @Override
   public String getMessage() {
-    return super.getMessage() + "(at position " + this.position + ")";
+    return super.getMessage() + "(at position " + this.position + ", line " + this.line + ", column " + this.column + ")";
   }
 }
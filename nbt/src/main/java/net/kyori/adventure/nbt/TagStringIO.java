@@ -23,8 +23,20 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -59,11 +71,13 @@ public final class TagStringIO {
   private final boolean acceptLegacy;
   private final boolean emitLegacy;
   private final String indent;
+  private final int maxInlineLength;
 
   private TagStringIO(final @NonNull Builder builder) {
     this.acceptLegacy = builder.acceptLegacy;
     this.emitLegacy = builder.emitLegacy;
     this.indent = builder.indent;
+    this.maxInlineLength = builder.maxInlineLength;
   }
 
   /**
@@ -75,8 +89,46 @@ public final class TagStringIO {
    * @since 4.0.0
    */
   public CompoundBinaryTag asCompound(final String input) throws IOException {
+    return this.asCompound(new CharBuffer(input));
+  }
+
+  /**
+   * Read a compound tag from a reader.
+   *
+   * <p>The input is parsed as it is read, so the whole document is never held in memory at once. The provided
+   * {@link Reader} will remain open after reading a tag, but all of its content will have been consumed.</p>
+   *
+   * @param input Input data
+   * @return the compound tag
+   * @throws IOException on any syntax errors, or errors reading from {@code input}
+   * @since 4.1.0
+   */
+  public CompoundBinaryTag asCompound(final Reader input) throws IOException {
+    try {
+      return this.asCompound(new CharBuffer(input));
+    } catch(final UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  /**
+   * Read a compound tag from a UTF-8 encoded file.
+   *
+   * <p>The file is parsed as it is read, so the whole document is never held in memory at once.</p>
+   *
+   * @param path the path to the file
+   * @return the compound tag
+   * @throws IOException on any syntax errors, or errors reading from the file
+   * @since 4.1.0
+   */
+  public CompoundBinaryTag asCompound(final Path path) throws IOException {
+    try(final Reader reader = new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)) {
+      return this.asCompound(reader);
+    }
+  }
+
+  private CompoundBinaryTag asCompound(final CharBuffer buffer) throws IOException {
     try {
-      final CharBuffer buffer = new CharBuffer(input);
       final TagStringReader parser = new TagStringReader(buffer);
       parser.legacy(this.acceptLegacy);
       final CompoundBinaryTag tag = parser.compound();
@@ -98,11 +150,20 @@ public final class TagStringIO {
    * @since 4.0.0
    */
   public String asString(final CompoundBinaryTag input) throws IOException {
+    return this.asString((BinaryTag) input);
+  }
+
+  /**
+   * Get a string representation of the provided tag, which may be of any type.
+   *
+   * @param input tag to serialize
+   * @return serialized form
+   * @throws IOException if any errors occur writing to string
+   * @since 4.1.0
+   */
+  public String asString(final BinaryTag input) throws IOException {
     final StringBuilder sb = new StringBuilder();
-    try(final TagStringWriter emit = new TagStringWriter(sb, this.indent)) {
-      emit.legacy(this.emitLegacy);
-      emit.writeTag(input);
-    }
+    this.toAppendable(input, sb);
     return sb.toString();
   }
 
@@ -117,12 +178,138 @@ public final class TagStringIO {
    * @since 4.0.0
    */
   public void toWriter(final CompoundBinaryTag input, final Writer dest) throws IOException {
-    try(final TagStringWriter emit = new TagStringWriter(dest, this.indent)) {
+    this.toAppendable(input, dest);
+  }
+
+  /**
+   * Writes a tag, which may be of any type, in string format.
+   *
+   * <p>The tag is streamed to {@code dest} as it is written, without building the whole string first. The provided
+   * {@link Writer} will remain open after writing a tag.</p>
+   *
+   * @param input Tag to write
+   * @param dest Writer to write to
+   * @throws IOException if any IO errors occur while writing
+   * @since 4.1.0
+   */
+  public void toWriter(final BinaryTag input, final Writer dest) throws IOException {
+    this.toAppendable(input, dest);
+  }
+
+  /**
+   * Writes a tag, which may be of any type, in string format.
+   *
+   * <p>The tag is streamed to {@code dest} as it is written, without building the whole string first. A
+   * {@link Writer} is flushed, but will remain open.</p>
+   *
+   * @param input Tag to write
+   * @param dest Appendable to write to
+   * @throws IOException if any IO errors occur while writing
+   * @since 4.1.0
+   */
+  public void toAppendable(final BinaryTag input, final Appendable dest) throws IOException {
+    try(final TagStringWriter emit = new TagStringWriter(dest, this.indent, this.maxInlineLength)) {
       emit.legacy(this.emitLegacy);
       emit.writeTag(input);
     }
   }
 
+  /**
+   * Reads a compound tag in binary form from {@code input}, writing it in string format as it is read.
+   *
+   * <p>The tag is never built, so documents of any size can be converted in roughly constant memory. Unlike
+   * {@link #toAppendable(BinaryTag, Appendable)}, compound and list tags are never kept on one line when
+   * pretty-printing, whatever the {@linkplain Builder#maxInlineLength(int) maximum inline length}. A {@link Writer}
+   * is flushed, but will remain open.</p>
+   *
+   * @param input the binary input, as read by {@link BinaryTagIO#readDataInput(DataInput)}
+   * @param dest Appendable to write to
+   * @throws IOException if any IO errors occur while reading or writing, or the input is not a compound tag
+   * @since 4.1.0
+   */
+  public void binaryToString(final DataInput input, final Appendable dest) throws IOException {
+    BinaryTagIO.readRootHeader(input);
+    try(final TagStringWriter emit = new TagStringWriter(dest, this.indent)) {
+      emit.legacy(this.emitLegacy);
+      emit.writeBinary(BinaryTagTypes.COMPOUND, input);
+    } catch(final IllegalArgumentException ex) { // unknown tag type
+      throw new IOException(ex);
+    }
+  }
+
+  /**
+   * Reads a compound tag in binary form from {@code buffer}, starting at its current position, writing it in string
+   * format as it is read.
+   *
+   * <p>The byte order of {@code buffer} is ignored. Its position is advanced past the tag once the whole tag has
+   * been written.</p>
+   *
+   * @param buffer the binary input, as read by {@link BinaryTagIO#readByteBuffer(ByteBuffer)}
+   * @param dest Appendable to write to
+   * @throws IOException if any IO errors occur while reading or writing, or the input is not a compound tag
+   * @see #binaryToString(DataInput, Appendable)
+   * @since 4.1.0
+   */
+  public void binaryToString(final ByteBuffer buffer, final Appendable dest) throws IOException {
+    final ByteBuffer view = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    try {
+      this.binaryToString(new ByteBufferDataInput(view), dest);
+    } catch(final BufferUnderflowException ex) {
+      throw new EOFException("Reached end of buffer while reading a compound tag");
+    }
+    buffer.position(view.position());
+  }
+
+  /**
+   * Reads a compound tag in string format, writing it in binary form to {@code output} as it is read.
+   *
+   * <p>Only the elements of list tags are held in memory before being written, as their number comes first. If
+   * the input is invalid, part of the tag may have already been written.</p>
+   *
+   * @param input Input data
+   * @param output the binary output, as written by {@link BinaryTagIO#writeDataOutput(CompoundBinaryTag, DataOutput)}
+   * @throws IOException on any syntax errors, or errors writing to {@code output}
+   * @since 4.1.0
+   */
+  public void stringToBinary(final String input, final DataOutput output) throws IOException {
+    this.stringToBinary(new CharBuffer(input), output);
+  }
+
+  /**
+   * Reads a compound tag in string format from a reader, writing it in binary form to {@code output} as it is read.
+   *
+   * <p>The provided {@link Reader} will remain open after reading a tag, but all of its content will have been
+   * consumed.</p>
+   *
+   * @param input Input data
+   * @param output the binary output
+   * @throws IOException on any syntax errors, or errors reading from {@code input} or writing to {@code output}
+   * @see #stringToBinary(String, DataOutput)
+   * @since 4.1.0
+   */
+  public void stringToBinary(final Reader input, final DataOutput output) throws IOException {
+    try {
+      this.stringToBinary(new CharBuffer(input), output);
+    } catch(final UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private void stringToBinary(final CharBuffer buffer, final DataOutput output) throws IOException {
+    try {
+      final TagStringReader parser = new TagStringReader(buffer);
+      parser.legacy(this.acceptLegacy);
+      output.writeByte(BinaryTagTypes.COMPOUND.id());
+      output.writeUTF(""); // write empty name
+      parser.compound(output);
+      if(buffer.skipWhitespace().hasMore()) {
+        throw new IOException("Document had trailing content after first CompoundTag");
+      }
+    } catch(final StringTagParseException ex) {
+      throw new IOException(ex);
+    }
+  }
+
   /**
    * Builder for a SNBT I/O handler.
    *
@@ -132,6 +319,7 @@ public final class TagStringIO {
     private boolean acceptLegacy = true;
     private boolean emitLegacy = false;
     private String indent = "";
+    private int maxInlineLength;
 
     Builder() {
     }
@@ -176,6 +364,27 @@ public final class TagStringIO {
       return this;
     }
 
+    /**
+     * Set how long compound and list tags can be while pretty-printing and still be kept on one line.
+     *
+     * <p>A compound or list tag that would be at most {@code length} characters long on one line is written on one
+     * line, and longer ones are broken over one line per element as usual. Providing a length of {@code 0}, the
+     * default, breaks every compound tag, and every list of non-scalar tags. This has no effect unless an indent is
+     * set.</p>
+     *
+     * @param length the longest compound or list tag to keep on one line
+     * @return this builder
+     * @throws IllegalArgumentException if {@code length} is negative
+     * @since 4.1.0
+     */
+    public @NonNull Builder maxInlineLength(final int length) {
+      if(length < 0) {
+        throw new IllegalArgumentException("Maximum inline length must not be negative, was " + length);
+      }
+      this.maxInlineLength = length;
+      return this;
+    }
+
     /**
      * Configure whether or not the resulting IO configuration will accept legacy-formatted data.
      *
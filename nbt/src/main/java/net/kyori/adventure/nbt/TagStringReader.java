@@ -23,18 +23,42 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
-import java.util.stream.LongStream;
 
 final class TagStringReader {
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
   private static final int[] EMPTY_INT_ARRAY = new int[0];
   private static final long[] EMPTY_LONG_ARRAY = new long[0];
+  private static final int INITIAL_ARRAY_LENGTH = 16;
+  private static final int MAX_EXACT_DIGITS = 18; // any more and the mantissa may not fit in a long
+  private static final int MAX_EXACT_FLOAT_DIGITS = 7; // 10^7 < 2^24
+  private static final int MAX_EXACT_DOUBLE_DIGITS = 15; // 10^15 < 2^53
+  private static final int MAX_EXACT_FLOAT_EXPONENT = 10;
+  private static final int MAX_EXACT_DOUBLE_EXPONENT = 22;
+  private static final int MAX_EXPONENT = 100000; // far past the range of a double, where parsing takes over
+  private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
 
   private final CharBuffer buffer;
   private boolean acceptLegacy;
+  // buffers for the elements of lists being streamed, by nesting depth, as their length must be written first
+  private final List<ListScratch> listScratch = new ArrayList<>();
+  private int listDepth;
+  // the results of integer() and decimal(), which would otherwise need boxing
+  private long integer;
+  private double decimal;
 
   TagStringReader(final CharBuffer buffer) {
     this.buffer = buffer;
@@ -78,6 +102,125 @@ final class TagStringReader {
     throw this.buffer.makeError("Reached end of file without end of list tag!");
   }
 
+  /**
+   * Read a compound tag, writing its binary payload to {@code output} as it is read rather than building the tag.
+   *
+   * @param output the binary output
+   * @throws IOException on any syntax errors, or errors writing to {@code output}
+   */
+  public void compound(final DataOutput output) throws IOException {
+    this.buffer.expect(Tokens.COMPOUND_BEGIN);
+    if(this.buffer.takeIf(Tokens.COMPOUND_END)) {
+      output.writeByte(BinaryTagTypes.END.id());
+      return;
+    }
+
+    while(this.buffer.hasMore()) {
+      final String key = this.key();
+      final BinaryTagType<?> type = this.nestedType();
+      if(type != null) {
+        output.writeByte(type.id());
+        ModifiedUtf8.write(output, key);
+        this.nested(type, output);
+      } else {
+        final BinaryTag tag = this.tag();
+        output.writeByte(tag.type().id());
+        ModifiedUtf8.write(output, key);
+        BinaryTagType.write(tag.type(), tag, output);
+      }
+      if(this.separatorOrCompleteWith(Tokens.COMPOUND_END)) {
+        output.writeByte(BinaryTagTypes.END.id());
+        return;
+      }
+    }
+    throw this.buffer.makeError("Unterminated compound tag!");
+  }
+
+  /**
+   * Read a list tag, writing its binary payload to {@code output} as it is read rather than building the tag.
+   *
+   * <p>As the element type and length come first, the elements are collected in their binary form before being
+   * written.</p>
+   *
+   * @param output the binary output
+   * @throws IOException on any syntax errors, or errors writing to {@code output}
+   */
+  public void list(final DataOutput output) throws IOException {
+    this.buffer.expect(Tokens.ARRAY_BEGIN);
+    final boolean prefixedIndex = this.acceptLegacy && this.buffer.peek() == '0' && this.buffer.peek(1) == ':';
+    if(!prefixedIndex && this.buffer.takeIf(Tokens.ARRAY_END)) {
+      output.writeByte(BinaryTagTypes.END.id());
+      output.writeInt(0);
+      return;
+    }
+
+    if(this.listDepth == this.listScratch.size()) {
+      this.listScratch.add(new ListScratch());
+    }
+    final ListScratch elements = this.listScratch.get(this.listDepth++);
+    elements.reset();
+    try {
+      /* @Nullable */ BinaryTagType<?> elementType = null;
+      int size = 0;
+      while(this.buffer.hasMore()) {
+        if(prefixedIndex) {
+          this.buffer.takeUntil(':');
+        }
+
+        BinaryTagType<?> type = this.nestedType();
+        /* @Nullable */ BinaryTag tag = null;
+        if(type == null) {
+          tag = this.tag();
+          type = tag.type();
+        }
+        if(elementType == null) {
+          elementType = type;
+        } else if(type != elementType) {
+          throw new IllegalArgumentException(String.format("Trying to add tag of type %s to list of %s", type, elementType));
+        }
+        if(tag == null) {
+          this.nested(type, elements.data);
+        } else {
+          BinaryTagType.write(type, tag, elements.data);
+        }
+        size++;
+
+        if(this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
+          output.writeByte(elementType.id());
+          output.writeInt(size);
+          elements.copyTo(output);
+          return;
+        }
+      }
+      throw this.buffer.makeError("Reached end of file without end of list tag!");
+    } finally {
+      this.listDepth--;
+    }
+  }
+
+  /**
+   * Get the type of the next tag if it is a compound or list tag, which can be streamed.
+   *
+   * @return the type, or {@code null} if the next tag should be read whole
+   */
+  private /* @Nullable */ BinaryTagType<?> nestedType() {
+    final char startToken = this.buffer.skipWhitespace().peek();
+    if(startToken == Tokens.COMPOUND_BEGIN) {
+      return BinaryTagTypes.COMPOUND;
+    } else if(startToken == Tokens.ARRAY_BEGIN && !(this.buffer.hasMore(2) && this.buffer.peek(2) == ';')) {
+      return BinaryTagTypes.LIST;
+    }
+    return null;
+  }
+
+  private void nested(final BinaryTagType<?> type, final DataOutput output) throws IOException {
+    if(type == BinaryTagTypes.COMPOUND) {
+      this.compound(output);
+    } else {
+      this.list(output);
+    }
+  }
+
   /**
    * Similar to a list tag in syntax, but returning a single array tag rather than a list of tags.
    *
@@ -90,76 +233,93 @@ final class TagStringReader {
 
     elementType = Character.toLowerCase(elementType);
     if(elementType == Tokens.TYPE_BYTE) {
-      return ByteArrayBinaryTag.of(this.byteArray());
+      return this.byteArray();
     } else if(elementType == Tokens.TYPE_INT) {
-      return IntArrayBinaryTag.of(this.intArray());
+      return this.intArray();
     } else if(elementType == Tokens.TYPE_LONG) {
-      return LongArrayBinaryTag.of(this.longArray());
+      return this.longArray();
     } else {
       throw this.buffer.makeError("Type " + elementType + " is not a valid element type in an array!");
     }
   }
 
-  private byte[] byteArray() throws StringTagParseException {
+  private ByteArrayBinaryTag byteArray() throws StringTagParseException {
     if(this.buffer.takeIf(Tokens.ARRAY_END)) {
-      return EMPTY_BYTE_ARRAY;
+      return ByteArrayBinaryTag.of(EMPTY_BYTE_ARRAY);
     }
 
-    final List<Byte> bytes = new ArrayList<>();
+    byte[] bytes = new byte[INITIAL_ARRAY_LENGTH];
+    int size = 0;
+    final CharSequence sequence = this.buffer.sequence();
     while(this.buffer.hasMore()) {
-      final CharSequence value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_BYTE);
-      try {
-        bytes.add(Byte.valueOf(value.toString()));
-      } catch(final NumberFormatException ex) {
+      final int start = this.buffer.skipWhitespace().index();
+      final int end = this.buffer.skipUntil(Tokens.TYPE_BYTE);
+      if(!this.integer(sequence, start, end) || this.integer < Byte.MIN_VALUE || this.integer > Byte.MAX_VALUE) {
         throw this.buffer.makeError("All elements of a byte array must be bytes!");
       }
+      if(size == bytes.length) bytes = Arrays.copyOf(bytes, size * 2);
+      bytes[size++] = (byte) this.integer;
 
       if(this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
-        final byte[] result = new byte[bytes.size()];
-        for(int i = 0; i < bytes.size(); ++i) { // todo yikes, let's do less boxing
-          result[i] = bytes.get(i);
-        }
-        return result;
+        return new ByteArrayBinaryTagImpl(ByteBuffer.wrap(Arrays.copyOf(bytes, size)));
       }
     }
     throw this.buffer.makeError("Reached end of document without array close");
   }
 
-  private int[] intArray() throws StringTagParseException {
+  private IntArrayBinaryTag intArray() throws StringTagParseException {
     if(this.buffer.takeIf(Tokens.ARRAY_END)) {
-      return EMPTY_INT_ARRAY;
+      return IntArrayBinaryTag.of(EMPTY_INT_ARRAY);
     }
 
-    final IntStream.Builder builder = IntStream.builder();
+    int[] ints = new int[INITIAL_ARRAY_LENGTH];
+    int size = 0;
+    final CharSequence sequence = this.buffer.sequence();
     while(this.buffer.hasMore()) {
-      final BinaryTag value = this.tag();
-      if(!(value instanceof IntBinaryTag)) {
+      final int start = this.buffer.skipWhitespace().index();
+      while(this.buffer.hasMore() && Tokens.id(this.buffer.peek())) this.buffer.advance();
+      final int value;
+      if(this.buffer.hasMore() && this.buffer.peek() == Tokens.ESCAPE_MARKER) { // rare enough to go the long way round
+        this.buffer.skip(start - this.buffer.index());
+        final BinaryTag tag = this.tag();
+        if(!(tag instanceof IntBinaryTag)) {
+          throw this.buffer.makeError("All elements of an int array must be ints!");
+        }
+        value = ((IntBinaryTag) tag).intValue();
+      } else if(this.integer(sequence, start, this.buffer.index()) && this.integer >= Integer.MIN_VALUE && this.integer <= Integer.MAX_VALUE) {
+        value = (int) this.integer;
+      } else {
         throw this.buffer.makeError("All elements of an int array must be ints!");
       }
-      builder.add(((IntBinaryTag) value).intValue());
+      if(size == ints.length) ints = Arrays.copyOf(ints, size * 2);
+      ints[size++] = value;
+
       if(this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
-        return builder.build().toArray();
+        return new IntArrayBinaryTagImpl(IntBuffer.wrap(Arrays.copyOf(ints, size)));
       }
     }
     throw this.buffer.makeError("Reached end of document without array close");
   }
 
-  private long[] longArray() throws StringTagParseException {
+  private LongArrayBinaryTag longArray() throws StringTagParseException {
     if(this.buffer.takeIf(Tokens.ARRAY_END)) {
-      return EMPTY_LONG_ARRAY;
+      return LongArrayBinaryTag.of(EMPTY_LONG_ARRAY);
     }
 
-    final LongStream.Builder longs = LongStream.builder();
+    long[] longs = new long[INITIAL_ARRAY_LENGTH];
+    int size = 0;
+    final CharSequence sequence = this.buffer.sequence();
     while(this.buffer.hasMore()) {
-      final CharSequence value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_LONG);
-      try {
-        longs.add(Long.parseLong(value.toString()));
-      } catch(final NumberFormatException ex) {
+      final int start = this.buffer.skipWhitespace().index();
+      final int end = this.buffer.skipUntil(Tokens.TYPE_LONG);
+      if(!this.integer(sequence, start, end)) {
         throw this.buffer.makeError("All elements of a long array must be longs!");
       }
+      if(size == longs.length) longs = Arrays.copyOf(longs, size * 2);
+      longs[size++] = this.integer;
 
       if(this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
-        return longs.build().toArray();
+        return new LongArrayBinaryTagImpl(LongBuffer.wrap(Arrays.copyOf(longs, size)));
       }
     }
     throw this.buffer.makeError("Reached end of document without array close");
@@ -173,23 +333,24 @@ final class TagStringReader {
         return unescape(this.buffer.takeUntil(this.buffer.take()).toString());
       }
 
-      final StringBuilder builder = new StringBuilder();
+      final CharSequence sequence = this.buffer.sequence();
+      final int start = this.buffer.index();
+      while(this.buffer.hasMore() && Tokens.id(this.buffer.peek())) this.buffer.advance();
+      if(!this.acceptLegacy || !this.buffer.hasMore() || this.buffer.peek() == Tokens.COMPOUND_KEY_TERMINATOR) {
+        return sequence.subSequence(start, this.buffer.index()).toString();
+      }
+
+      // In legacy format, a key is any non-colon character, with escapes allowed
+      final StringBuilder builder = new StringBuilder().append(sequence, start, this.buffer.index());
       while(this.buffer.hasMore()) {
         final char peek = this.buffer.peek();
-        if(!Tokens.id(peek)) {
-          if(this.acceptLegacy) {
-            // In legacy format, a key is any non-colon character, with escapes allowed
-            if(peek == Tokens.ESCAPE_MARKER) {
-              this.buffer.take(); // skip
-              continue;
-            } else if(peek != Tokens.COMPOUND_KEY_TERMINATOR) {
-              builder.append(this.buffer.take());
-              continue;
-            }
-          }
+        if(peek == Tokens.ESCAPE_MARKER) {
+          this.buffer.take(); // skip
+        } else if(peek != Tokens.COMPOUND_KEY_TERMINATOR) {
+          builder.append(this.buffer.take());
+        } else {
           break;
         }
-        builder.append(this.buffer.take());
       }
       return builder.toString();
     } finally {
@@ -225,74 +386,221 @@ final class TagStringReader {
    *
    * <p>Does not detect quoted strings, so those should have been parsed already.</p>
    *
+   * <p>The scalar is read directly out of the buffer, and only copied into a string when it is a string tag or
+   * contains escapes.</p>
+   *
    * @return a parsed tag
    */
   private BinaryTag scalar() {
-    final StringBuilder builder = new StringBuilder();
+    final CharSequence sequence = this.buffer.sequence();
+    final int start = this.buffer.index();
+    /* @Nullable */ StringBuilder escaped = null; // only used once an escape is found
     boolean possiblyNumeric = true;
-    while(this.buffer.hasMore()) {
-      final char current = this.buffer.peek();
-      if(possiblyNumeric && !Tokens.numeric(current)) {
-        if(builder.length() != 0) {
-          BinaryTag result = null;
-          try {
-            switch(Character.toLowerCase(current)) { // try to read and return as a number
-              // case Tokens.TYPE_INTEGER: // handled below, ints are ~special~
-              case Tokens.TYPE_BYTE:
-                result = ByteBinaryTag.of(Byte.parseByte(builder.toString()));
-                break;
-              case Tokens.TYPE_SHORT:
-                result = ShortBinaryTag.of(Short.parseShort(builder.toString()));
-                break;
-              case Tokens.TYPE_LONG:
-                result = LongBinaryTag.of(Long.parseLong(builder.toString()));
-                break;
-              case Tokens.TYPE_FLOAT:
-                result = FloatBinaryTag.of(Float.parseFloat(builder.toString()));
-                break;
-              case Tokens.TYPE_DOUBLE:
-                result = DoubleBinaryTag.of(Double.parseDouble(builder.toString()));
-                break;
-            }
-          } catch(final NumberFormatException ex) {
-            possiblyNumeric = false; // fallback to treating as a String
-          }
+    int end = start;
+    while(this.buffer.hasMore(end - start)) {
+      final char current = sequence.charAt(end);
+      final boolean empty = escaped == null ? end == start : escaped.length() == 0;
+      if(possiblyNumeric && !empty && !Tokens.numeric(current)) {
+        final char type = Character.toLowerCase(current);
+        if(type == Tokens.TYPE_BYTE || type == Tokens.TYPE_SHORT || type == Tokens.TYPE_LONG || type == Tokens.TYPE_FLOAT || type == Tokens.TYPE_DOUBLE) { // try to read and return as a number
+          final BinaryTag result = escaped == null ? this.number(sequence, start, end, type) : this.number(escaped, 0, escaped.length(), type);
           if(result != null) {
-            this.buffer.take();
+            this.buffer.skip(end + 1 - start);
             return result;
           }
+          possiblyNumeric = false; // fallback to treating as a String
         }
       }
       if(current == '\\') { // escape -- we are significantly more lenient than original format at the moment
-        this.buffer.advance();
-        builder.append(this.buffer.take());
+        if(escaped == null) escaped = new StringBuilder().append(sequence, start, end);
+        escaped.append(sequence.charAt(end + 1));
+        end += 2;
       } else if(Tokens.id(current)) {
-        builder.append(this.buffer.take());
+        if(escaped != null) escaped.append(current);
+        end++;
       } else { // end of value
         break;
       }
     }
+    this.buffer.skip(end - start);
+
+    final CharSequence text = escaped == null ? sequence : escaped;
+    final int from = escaped == null ? start : 0;
+    final int to = escaped == null ? end : escaped.length();
     // if we run out of content without an explicit value separator, then we're either an integer or string tag -- all others have a character at the end
-    final String built = builder.toString();
     if(possiblyNumeric) {
-      try {
-        return IntBinaryTag.of(Integer.parseInt(built));
-      } catch(final NumberFormatException ex) {
-        try {
-          return DoubleBinaryTag.of(Double.parseDouble(built));
-        } catch(final NumberFormatException ex2) {
-          // ignore
-        }
-      }
+      final BinaryTag result = this.number(text, from, to, Tokens.TYPE_INT);
+      if(result != null) return result;
     }
 
-    if(built.equalsIgnoreCase(Tokens.LITERAL_TRUE)) {
+    if(regionMatchesIgnoreCase(text, from, to, Tokens.LITERAL_TRUE)) {
       return ByteBinaryTag.ONE;
-    } else if(built.equalsIgnoreCase(Tokens.LITERAL_FALSE)) {
+    } else if(regionMatchesIgnoreCase(text, from, to, Tokens.LITERAL_FALSE)) {
       return ByteBinaryTag.ZERO;
     }
-    return StringBinaryTag.of(built);
+    return StringBinaryTag.of(text.subSequence(from, to).toString());
+  }
 
+  /**
+   * Parses a number of the given type from a range of characters, without creating a string for it.
+   *
+   * <p>An unsuffixed number is an int, or a double if it is not a valid int.</p>
+   *
+   * @param text the characters
+   * @param from the start of the number
+   * @param to the end of the number
+   * @param type the type suffix, or {@link Tokens#TYPE_INT} if the number has none
+   * @return the tag, or {@code null} if the characters are not a valid number of that type
+   */
+  private /* @Nullable */ BinaryTag number(final CharSequence text, final int from, final int to, final char type) {
+    switch(type) {
+      case Tokens.TYPE_BYTE:
+        return this.integer(text, from, to) && this.integer >= Byte.MIN_VALUE && this.integer <= Byte.MAX_VALUE ? ByteBinaryTag.of((byte) this.integer) : null;
+      case Tokens.TYPE_SHORT:
+        return this.integer(text, from, to) && this.integer >= Short.MIN_VALUE && this.integer <= Short.MAX_VALUE ? ShortBinaryTag.of((short) this.integer) : null;
+      case Tokens.TYPE_LONG:
+        return this.integer(text, from, to) ? LongBinaryTag.of(this.integer) : null;
+      case Tokens.TYPE_FLOAT:
+        return this.decimal(text, from, to, true) ? FloatBinaryTag.of((float) this.decimal) : null;
+      case Tokens.TYPE_DOUBLE:
+        return this.decimal(text, from, to, false) ? DoubleBinaryTag.of(this.decimal) : null;
+      default:
+        if(this.integer(text, from, to) && this.integer >= Integer.MIN_VALUE && this.integer <= Integer.MAX_VALUE) {
+          return IntBinaryTag.of((int) this.integer);
+        }
+        return this.decimal(text, from, to, false) ? DoubleBinaryTag.of(this.decimal) : null;
+    }
+  }
+
+  /**
+   * Parses {@code [+-]?[0-9]+} into {@link #integer}, as {@link Long#parseLong(String)} would.
+   *
+   * @param text the characters
+   * @param from the start of the number
+   * @param to the end of the number
+   * @return whether the characters are a valid long
+   */
+  private boolean integer(final CharSequence text, final int from, final int to) {
+    int i = from;
+    final boolean negative = i < to && text.charAt(i) == '-';
+    if(negative || (i < to && text.charAt(i) == '+')) i++;
+    if(i == to) return false;
+    long value = 0; // accumulated negatively, so that Long.MIN_VALUE fits
+    for(; i < to; i++) {
+      final int digit = text.charAt(i) - '0';
+      if(digit < 0 || digit > 9 || value < Long.MIN_VALUE / 10) return false;
+      value *= 10;
+      if(value < Long.MIN_VALUE + digit) return false;
+      value -= digit;
+    }
+    if(!negative && value == Long.MIN_VALUE) return false;
+    this.integer = negative ? value : -value;
+    return true;
+  }
+
+  /**
+   * Parses a decimal number into {@link #decimal}, accepting what {@link Double#parseDouble(String)} does for the
+   * characters that can make up a scalar.
+   *
+   * <p>Numbers that can be converted exactly are computed directly, and the rest go through
+   * {@link Double#parseDouble(String)} or {@link Float#parseFloat(String)}, only once they are known to be valid.</p>
+   *
+   * @param text the characters
+   * @param from the start of the number
+   * @param to the end of the number
+   * @param single whether the number is a float
+   * @return whether the characters are a valid number
+   */
+  private boolean decimal(final CharSequence text, int from, int to, final boolean single) {
+    // like Java, ignore surrounding whitespace - which is only reachable through escapes
+    while(from < to && text.charAt(from) <= ' ') from++;
+    while(to > from && text.charAt(to - 1) <= ' ') to--;
+    int i = from;
+    final boolean negative = i < to && text.charAt(i) == '-';
+    if(negative || (i < to && text.charAt(i) == '+')) i++;
+    long mantissa = 0;
+    int digits = 0; // significant digits in the mantissa
+    int exponent = 0;
+    boolean exact = true;
+    boolean anyDigits = false;
+    boolean fraction = false;
+    for(; i < to; i++) {
+      final char c = text.charAt(i);
+      if(c == '.' && !fraction) {
+        fraction = true;
+        continue;
+      }
+      if(c < '0' || c > '9') break;
+      anyDigits = true;
+      if(fraction) exponent--;
+      if(mantissa == 0 && c == '0') continue; // leading zero
+      if(digits < MAX_EXACT_DIGITS) {
+        mantissa = mantissa * 10 + (c - '0');
+        digits++;
+      } else {
+        exact = false;
+      }
+    }
+    if(!anyDigits) return this.unusualDecimal(text, from, to, single);
+    if(i < to && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      i++;
+      final boolean negativeExponent = i < to && text.charAt(i) == '-';
+      if(negativeExponent || (i < to && text.charAt(i) == '+')) i++;
+      final int exponentStart = i;
+      int value = 0;
+      for(; i < to; i++) {
+        final int digit = text.charAt(i) - '0';
+        if(digit < 0 || digit > 9) break;
+        if(value < MAX_EXPONENT) value = value * 10 + digit;
+      }
+      if(i == exponentStart) return false;
+      exponent += negativeExponent ? -value : value;
+    }
+    if(i == to - 1 && "fFdD".indexOf(text.charAt(i)) != -1) i++; // only reachable through escapes
+    if(i != to) return this.unusualDecimal(text, from, to, single);
+
+    final int maxExponent = single ? MAX_EXACT_FLOAT_EXPONENT : MAX_EXACT_DOUBLE_EXPONENT;
+    final int maxDigits = single ? MAX_EXACT_FLOAT_DIGITS : MAX_EXACT_DOUBLE_DIGITS;
+    if(exact && digits <= maxDigits && exponent >= -maxExponent && exponent <= maxExponent) {
+      // both the mantissa and the power of ten are exact, so the result is correctly rounded
+      final double value;
+      if(single) {
+        value = exponent < 0 ? (float) mantissa / FLOAT_POWERS_OF_TEN[-exponent] : (float) mantissa * FLOAT_POWERS_OF_TEN[exponent];
+      } else {
+        value = exponent < 0 ? mantissa / DOUBLE_POWERS_OF_TEN[-exponent] : mantissa * DOUBLE_POWERS_OF_TEN[exponent];
+      }
+      this.decimal = negative ? -value : value;
+    } else {
+      final String string = text.subSequence(from, to).toString();
+      this.decimal = single ? Float.parseFloat(string) : Double.parseDouble(string);
+    }
+    return true;
+  }
+
+  // Java also accepts NaN, Infinity and hexadecimal floating point, which previous versions of this reader did as a
+  // result - although an unescaped Infinity is read as a string, as its 'f' is taken for a float suffix
+  private boolean unusualDecimal(final CharSequence text, final int from, final int to, final boolean single) {
+    boolean candidate = false;
+    for(int i = from; i < to && !candidate; i++) {
+      final char c = text.charAt(i);
+      candidate = c == 'N' || c == 'I' || c == 'x' || c == 'X';
+    }
+    if(!candidate) return false;
+    try {
+      final String string = text.subSequence(from, to).toString();
+      this.decimal = single ? Float.parseFloat(string) : Double.parseDouble(string);
+      return true;
+    } catch(final NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  private static boolean regionMatchesIgnoreCase(final CharSequence text, final int from, final int to, final String literal) {
+    if(to - from != literal.length()) return false;
+    for(int i = 0; i < literal.length(); i++) {
+      if(Character.toLowerCase(text.charAt(from + i)) != literal.charAt(i)) return false;
+    }
+    return true;
   }
 
   private boolean separatorOrCompleteWith(final char endCharacter) throws StringTagParseException {
@@ -327,4 +635,12 @@ final class TagStringReader {
   public void legacy(final boolean acceptLegacy) {
     this.acceptLegacy = acceptLegacy;
   }
+
+  private static final class ListScratch extends ByteArrayOutputStream {
+    final DataOutputStream data = new DataOutputStream(this);
+
+    void copyTo(final DataOutput output) throws IOException {
+      output.write(this.buf, 0, this.count);
+    }
+  }
 }
@@ -23,6 +23,7 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.DataInput;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Map;
@@ -31,11 +32,24 @@ import java.util.Map;
  * An emitter for the SNBT format.
  *
  * <p>Details on the format are described in the package documentation.</p>
+ *
+ * <p>Tags are streamed to the output as they are visited. Numbers are formatted into a reused buffer, and strings are
+ * escaped as they are written, so no intermediate strings are created.</p>
  */
 final class TagStringWriter implements AutoCloseable {
   private final Appendable out;
-  private final String indent; // TODO: pretty-printing
+  private final String indent;
+  /**
+   * The longest a compound or list tag can be on one line to be kept on one line when pretty-printing, or {@code 0} to always break them.
+   */
+  private final int maxInlineLength;
+  private final StringBuilder number = new StringBuilder();
+  private char[] chars = new char[32];
   private int level;
+  /**
+   * Whether the tag being written is being kept on one line.
+   */
+  private boolean inline;
   /**
    * Whether a {@link Tokens#VALUE_SEPARATOR} needs to be printed before the beginning of the next object.
    */
@@ -43,8 +57,13 @@ final class TagStringWriter implements AutoCloseable {
   private boolean legacy;
 
   TagStringWriter(final Appendable out, final String indent) {
+    this(out, indent, 0);
+  }
+
+  TagStringWriter(final Appendable out, final String indent, final int maxInlineLength) {
     this.out = out;
     this.indent = indent;
+    this.maxInlineLength = maxInlineLength;
   }
 
   public TagStringWriter legacy(final boolean legacy) {
@@ -69,17 +88,17 @@ final class TagStringWriter implements AutoCloseable {
     } else if(type == BinaryTagTypes.STRING) {
       return this.value(((StringBinaryTag) tag).value(), Tokens.EOF);
     } else if(type == BinaryTagTypes.BYTE) {
-      return this.value(Byte.toString(((ByteBinaryTag) tag).value()), Tokens.TYPE_BYTE);
+      return this.value(this.numberBuilder().append(((ByteBinaryTag) tag).value()), Tokens.TYPE_BYTE);
     } else if(type == BinaryTagTypes.SHORT) {
-      return this.value(Short.toString(((ShortBinaryTag) tag).value()), Tokens.TYPE_SHORT);
+      return this.value(this.numberBuilder().append(((ShortBinaryTag) tag).value()), Tokens.TYPE_SHORT);
     } else if(type == BinaryTagTypes.INT) {
-      return this.value(Integer.toString(((IntBinaryTag) tag).value()), Tokens.TYPE_INT);
+      return this.value(this.numberBuilder().append(((IntBinaryTag) tag).value()), Tokens.TYPE_INT);
     } else if(type == BinaryTagTypes.LONG) {
-      return this.value(Long.toString(((LongBinaryTag) tag).value()), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
+      return this.value(this.numberBuilder().append(((LongBinaryTag) tag).value()), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
     } else if(type == BinaryTagTypes.FLOAT) {
-      return this.value(Float.toString(((FloatBinaryTag) tag).value()), Tokens.TYPE_FLOAT);
+      return this.value(this.numberBuilder().append(((FloatBinaryTag) tag).value()), Tokens.TYPE_FLOAT);
     } else if(type == BinaryTagTypes.DOUBLE) {
-      return this.value(Double.toString(((DoubleBinaryTag) tag).value()), Tokens.TYPE_DOUBLE);
+      return this.value(this.numberBuilder().append(((DoubleBinaryTag) tag).value()), Tokens.TYPE_DOUBLE);
     } else {
       throw new IOException("Unknown tag type: " + type);
       // unknown!
@@ -87,35 +106,91 @@ final class TagStringWriter implements AutoCloseable {
   }
 
   private TagStringWriter writeCompound(final CompoundBinaryTag tag) throws IOException {
+    final boolean startsInline = this.startInline(tag);
     this.beginCompound();
     for(final Map.Entry<String, ? extends BinaryTag> entry : tag) {
       this.key(entry.getKey());
       this.writeTag(entry.getValue());
     }
     this.endCompound();
+    if(startsInline) this.inline = false;
     return this;
   }
 
   private TagStringWriter writeList(final ListBinaryTag tag) throws IOException {
+    final boolean startsInline = this.startInline(tag);
     this.beginList();
     int idx = 0;
-    final boolean lineBreaks = this.prettyPrinting() && this.breakListElement(tag.listType());
+    final boolean lineBreaks = this.prettyPrinting() && !this.inline && this.breakListElement(tag.listType());
     for(final BinaryTag el : tag) {
-      this.printAndResetSeparator(!lineBreaks);
-      if(lineBreaks) {
-        this.newlineIndent();
-      }
-      if(this.legacy) {
-        this.out.append(String.valueOf(idx++));
-        this.appendSeparator(Tokens.COMPOUND_KEY_TERMINATOR);
-      }
-
+      this.beginListElement(lineBreaks, idx++);
       this.writeTag(el);
     }
     this.endList(lineBreaks);
+    if(startsInline) this.inline = false;
     return this;
   }
 
+  private void beginListElement(final boolean lineBreaks, final int idx) throws IOException {
+    this.printAndResetSeparator(!lineBreaks);
+    if(lineBreaks) {
+      this.newlineIndent();
+    }
+    if(this.legacy) {
+      this.appendNumber(this.numberBuilder().append(idx));
+      this.appendSeparator(Tokens.COMPOUND_KEY_TERMINATOR);
+    }
+  }
+
+  /**
+   * Write the payload of a tag of {@code type} as it is read from its binary form in {@code input}.
+   *
+   * <p>Only arrays are read as whole tags. As a compound or list tag would have to be read ahead to be measured,
+   * they are never kept on one line.</p>
+   *
+   * @param type the type of the tag
+   * @param input the binary input
+   * @return this
+   * @throws IOException if the input could not be read, or the tag could not be written
+   */
+  public TagStringWriter writeBinary(final BinaryTagType<?> type, final DataInput input) throws IOException {
+    if(type == BinaryTagTypes.COMPOUND) {
+      this.beginCompound();
+      BinaryTagType<?> entryType;
+      while((entryType = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+        this.key(ModifiedUtf8.readKey(input));
+        this.writeBinary(entryType, input);
+      }
+      return this.endCompound();
+    } else if(type == BinaryTagTypes.LIST) {
+      final BinaryTagType<?> elementType = BinaryTagType.of(input.readByte());
+      final int length = input.readInt();
+      this.beginList();
+      final boolean lineBreaks = this.prettyPrinting() && !this.inline && this.breakListElement(elementType);
+      for(int i = 0; i < length; i++) {
+        this.beginListElement(lineBreaks, i);
+        this.writeBinary(elementType, input);
+      }
+      return this.endList(lineBreaks);
+    } else if(type == BinaryTagTypes.STRING) {
+      return this.value(ModifiedUtf8.read(input), Tokens.EOF);
+    } else if(type == BinaryTagTypes.BYTE) {
+      return this.value(this.numberBuilder().append(input.readByte()), Tokens.TYPE_BYTE);
+    } else if(type == BinaryTagTypes.SHORT) {
+      return this.value(this.numberBuilder().append(input.readShort()), Tokens.TYPE_SHORT);
+    } else if(type == BinaryTagTypes.INT) {
+      return this.value(this.numberBuilder().append(input.readInt()), Tokens.TYPE_INT);
+    } else if(type == BinaryTagTypes.LONG) {
+      return this.value(this.numberBuilder().append(input.readLong()), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
+    } else if(type == BinaryTagTypes.FLOAT) {
+      return this.value(this.numberBuilder().append(input.readFloat()), Tokens.TYPE_FLOAT);
+    } else if(type == BinaryTagTypes.DOUBLE) {
+      return this.value(this.numberBuilder().append(input.readDouble()), Tokens.TYPE_DOUBLE);
+    } else {
+      return this.writeTag(type.read(input));
+    }
+  }
+
   private TagStringWriter writeByteArray(final ByteArrayBinaryTag tag) throws IOException {
     if(this.legacy) {
       throw new IOException("Legacy Mojangson only supports integer arrays!");
@@ -123,10 +198,9 @@ final class TagStringWriter implements AutoCloseable {
     this.beginArray(Tokens.TYPE_BYTE);
 
     final char byteArrayType = Character.toUpperCase(Tokens.TYPE_BYTE); // special case to match vanilla format
-    final byte[] value = ByteArrayBinaryTagImpl.value(tag);
-    for(int i = 0, length = value.length; i < length; i++) {
+    for(int i = 0, length = tag.size(); i < length; i++) {
       this.printAndResetSeparator(true);
-      this.value(Byte.toString(value[i]), byteArrayType);
+      this.value(this.numberBuilder().append(tag.get(i)), byteArrayType);
     }
     this.endArray();
     return this;
@@ -139,10 +213,9 @@ final class TagStringWriter implements AutoCloseable {
       this.beginArray(Tokens.TYPE_INT);
     }
 
-    final int[] value = IntArrayBinaryTagImpl.value(tag);
-    for(int i = 0, length = value.length; i < length; i++) {
+    for(int i = 0, length = tag.size(); i < length; i++) {
       this.printAndResetSeparator(true);
-      this.value(Integer.toString(value[i]), Tokens.TYPE_INT);
+      this.value(this.numberBuilder().append(tag.get(i)), Tokens.TYPE_INT);
     }
     this.endArray();
     return this;
@@ -154,10 +227,9 @@ final class TagStringWriter implements AutoCloseable {
     }
     this.beginArray(Tokens.TYPE_LONG);
 
-    final long[] value = LongArrayBinaryTagImpl.value(tag);
-    for(int i = 0, length = value.length; i < length; i++) {
+    for(int i = 0, length = tag.size(); i < length; i++) {
       this.printAndResetSeparator(true);
-      this.value(Long.toString(value[i]), Tokens.TYPE_LONG);
+      this.value(this.numberBuilder().append(tag.get(i)), Tokens.TYPE_LONG);
     }
     this.endArray();
     return this;
@@ -181,7 +253,7 @@ final class TagStringWriter implements AutoCloseable {
   }
 
   public TagStringWriter key(final String key) throws IOException {
-    this.printAndResetSeparator(false);
+    this.printAndResetSeparator(this.inline);
     this.newlineIndent();
     this.writeMaybeQuoted(key, false);
     this.appendSeparator(Tokens.COMPOUND_KEY_TERMINATOR);
@@ -201,6 +273,15 @@ final class TagStringWriter implements AutoCloseable {
     return this;
   }
 
+  private TagStringWriter value(final StringBuilder number, final char valueType) throws IOException {
+    this.appendNumber(number);
+    if(valueType != Tokens.TYPE_INT) {
+      this.out.append(valueType);
+    }
+    this.needsSeparator = true;
+    return this;
+  }
+
   public TagStringWriter beginList() throws IOException {
     this.printAndResetSeparator(false);
     this.level++;
@@ -234,34 +315,81 @@ final class TagStringWriter implements AutoCloseable {
     return this.endList(false);
   }
 
-  private void writeMaybeQuoted(final String content, boolean requireQuotes) throws IOException {
-    if(!requireQuotes) {
+  private void writeMaybeQuoted(final String content, final boolean requireQuotes) throws IOException {
+    if(requireQuotes || needsQuotes(content)) { // TODO: single quotes
+      this.out.append(Tokens.DOUBLE_QUOTE);
+      int start = 0;
       for(int i = 0; i < content.length(); ++i) {
-        if(!Tokens.id(content.charAt(i))) {
-          requireQuotes = true;
-          break;
+        final char c = content.charAt(i);
+        if(c == Tokens.DOUBLE_QUOTE || c == Tokens.ESCAPE_MARKER) {
+          this.append(content, start, i);
+          this.out.append(Tokens.ESCAPE_MARKER);
+          start = i;
         }
       }
-    }
-    if(requireQuotes) { // TODO: single quotes
-      this.out.append(Tokens.DOUBLE_QUOTE);
-      this.out.append(escape(content, Tokens.DOUBLE_QUOTE));
+      this.append(content, start, content.length());
       this.out.append(Tokens.DOUBLE_QUOTE);
     } else {
       this.out.append(content);
     }
   }
 
-  private static String escape(final String content, final char quoteChar) {
-    final StringBuilder output = new StringBuilder(content.length());
+  private static boolean needsQuotes(final String content) {
+    for(int i = 0; i < content.length(); ++i) {
+      if(!Tokens.id(content.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int quotedLength(final String content, final boolean requireQuotes) {
+    if(!requireQuotes && !needsQuotes(content)) {
+      return content.length();
+    }
+    int length = content.length() + 2;
     for(int i = 0; i < content.length(); ++i) {
       final char c = content.charAt(i);
-      if(c == quoteChar || c == '\\') {
-        output.append(Tokens.ESCAPE_MARKER);
+      if(c == Tokens.DOUBLE_QUOTE || c == Tokens.ESCAPE_MARKER) {
+        length++;
       }
-      output.append(c);
     }
-    return output.toString();
+    return length;
+  }
+
+  // Writer.append(CharSequence, int, int) would create a string for the range
+  private void append(final String content, final int start, final int end) throws IOException {
+    if(start == end) return;
+    if(this.out instanceof Writer) {
+      ((Writer) this.out).write(content, start, end - start);
+    } else {
+      this.out.append(content, start, end);
+    }
+  }
+
+  /**
+   * Get a builder to format a number into, which is the output itself when that is a {@link StringBuilder}.
+   *
+   * @return the builder
+   */
+  private StringBuilder numberBuilder() {
+    if(this.out instanceof StringBuilder) {
+      return (StringBuilder) this.out;
+    }
+    this.number.setLength(0);
+    return this.number;
+  }
+
+  private void appendNumber(final StringBuilder number) throws IOException {
+    if(number == this.out) return; // already written
+    final int length = number.length();
+    if(this.out instanceof Writer) {
+      if(this.chars.length < length) this.chars = new char[length];
+      number.getChars(0, length, this.chars, 0);
+      ((Writer) this.out).write(this.chars, 0, length);
+    } else {
+      this.out.append(number);
+    }
   }
 
   private void printAndResetSeparator(final boolean pad) throws IOException {
@@ -289,8 +417,93 @@ final class TagStringWriter implements AutoCloseable {
     return this.indent.length() > 0;
   }
 
+  private boolean startInline(final BinaryTag tag) {
+    if(this.inline || this.maxInlineLength <= 0 || !this.prettyPrinting()) return false;
+    this.inline = this.inlineLength(tag, this.maxInlineLength) <= this.maxInlineLength;
+    return this.inline;
+  }
+
+  /**
+   * Measure the length of a tag when written on one line.
+   *
+   * <p>Measuring stops as soon as {@code limit} is exceeded, so that only as much of the tag is visited as could fit.</p>
+   *
+   * @param tag the tag
+   * @param limit the length of interest
+   * @return the length, or a length greater than {@code limit} if the tag is longer than it
+   */
+  private int inlineLength(final BinaryTag tag, final int limit) {
+    final BinaryTagType<?> type = tag.type();
+    int length;
+    if(type == BinaryTagTypes.COMPOUND) {
+      length = 1;
+      for(final Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) tag) {
+        if(length > 1) length += 2; // ", "
+        length += quotedLength(entry.getKey(), false) + 2; // ": "
+        if(length > limit) return length;
+        length += this.inlineLength(entry.getValue(), limit - length);
+        if(length > limit) return length;
+      }
+      return length + 1;
+    } else if(type == BinaryTagTypes.LIST) {
+      length = 1;
+      int idx = 0;
+      for(final BinaryTag el : (ListBinaryTag) tag) {
+        if(length > 1) length += 2; // ", "
+        if(this.legacy) {
+          this.number.setLength(0);
+          length += this.number.append(idx++).length() + 2; // ": "
+        }
+        length += this.inlineLength(el, limit - length);
+        if(length > limit) return length;
+      }
+      return length + 1;
+    } else if(type == BinaryTagTypes.BYTE_ARRAY) {
+      final ByteArrayBinaryTag array = (ByteArrayBinaryTag) tag;
+      length = 5 + Math.max(0, array.size() * 4 - 2); // "[B; " and "]", then at least "0B, " for each element
+      for(int i = 0, size = array.size(); i < size && length <= limit; i++) {
+        this.number.setLength(0);
+        length += this.number.append(array.get(i)).length() - 1;
+      }
+      return length;
+    } else if(type == BinaryTagTypes.INT_ARRAY) {
+      final IntArrayBinaryTag array = (IntArrayBinaryTag) tag;
+      length = (this.legacy ? 2 : 5) + Math.max(0, array.size() * 3 - 2); // "[I; " and "]", then at least "0, " for each element
+      for(int i = 0, size = array.size(); i < size && length <= limit; i++) {
+        this.number.setLength(0);
+        length += this.number.append(array.get(i)).length() - 1;
+      }
+      return length;
+    } else if(type == BinaryTagTypes.LONG_ARRAY) {
+      final LongArrayBinaryTag array = (LongArrayBinaryTag) tag;
+      length = 5 + Math.max(0, array.size() * 4 - 2); // "[L; " and "]", then at least "0l, " for each element
+      for(int i = 0, size = array.size(); i < size && length <= limit; i++) {
+        this.number.setLength(0);
+        length += this.number.append(array.get(i)).length() - 1;
+      }
+      return length;
+    } else if(type == BinaryTagTypes.STRING) {
+      return quotedLength(((StringBinaryTag) tag).value(), true);
+    }
+    this.number.setLength(0);
+    if(type == BinaryTagTypes.BYTE) {
+      return this.number.append(((ByteBinaryTag) tag).value()).length() + 1;
+    } else if(type == BinaryTagTypes.SHORT) {
+      return this.number.append(((ShortBinaryTag) tag).value()).length() + 1;
+    } else if(type == BinaryTagTypes.INT) {
+      return this.number.append(((IntBinaryTag) tag).value()).length();
+    } else if(type == BinaryTagTypes.LONG) {
+      return this.number.append(((LongBinaryTag) tag).value()).length() + 1;
+    } else if(type == BinaryTagTypes.FLOAT) {
+      return this.number.append(((FloatBinaryTag) tag).value()).length() + 1;
+    } else if(type == BinaryTagTypes.DOUBLE) {
+      return this.number.append(((DoubleBinaryTag) tag).value()).length() + 1;
+    }
+    return limit + 1; // unknown, written as an error anyway
+  }
+
   private void newlineIndent() throws IOException {
-    if(this.prettyPrinting()) {
+    if(this.prettyPrinting() && !this.inline) {
       this.out.append(Tokens.NEWLINE);
       for(int i = 0; i < this.level; ++i) {
         this.out.append(this.indent);
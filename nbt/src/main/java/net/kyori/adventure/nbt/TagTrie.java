@@ -0,0 +1,313 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An immutable hash array mapped trie of tags.
+ *
+ * <p>{@link #with(String, BinaryTag)} and {@link #without(String)} copy only the path to the entry being changed,
+ * sharing the rest of the trie with the original.</p>
+ */
+final class TagTrie extends AbstractMap<String, BinaryTag> {
+  static final int BITS = 5;
+  static final int MASK = (1 << BITS) - 1;
+  static final TagTrie EMPTY = new TagTrie(new BitmapNode(0, new Object[0]), 0);
+  private final Node root;
+  private final int size;
+  private @Nullable Set<Entry<String, BinaryTag>> entrySet;
+
+  private TagTrie(final Node root, final int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  static TagTrie of(final Map<String, ? extends BinaryTag> tags) {
+    if(tags instanceof TagTrie) return (TagTrie) tags;
+    TagTrie trie = EMPTY;
+    for(final Entry<String, ? extends BinaryTag> entry : tags.entrySet()) {
+      trie = trie.with(entry.getKey(), entry.getValue());
+    }
+    return trie;
+  }
+
+  static int hash(final String key) {
+    final int hash = key.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  TagTrie with(final String key, final BinaryTag tag) {
+    final int hash = hash(key);
+    final boolean added = this.root.get(key, hash, 0) == null;
+    final Node root = this.root.put(key, hash, tag, 0);
+    if(root == this.root) return this;
+    return new TagTrie(root, added ? this.size + 1 : this.size);
+  }
+
+  TagTrie without(final String key) {
+    final /* @Nullable */ Node root = this.root.remove(key, hash(key), 0);
+    if(root == this.root) return this;
+    return root == null ? EMPTY : new TagTrie(root, this.size - 1);
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final Object key) {
+    if(!(key instanceof String)) return null;
+    return this.root.get((String) key, hash((String) key), 0);
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public @NonNull Set<Entry<String, BinaryTag>> entrySet() {
+    if(this.entrySet == null) {
+      this.entrySet = new AbstractSet<Entry<String, BinaryTag>>() {
+        @Override
+        public @NonNull Iterator<Entry<String, BinaryTag>> iterator() {
+          return new EntryIterator(TagTrie.this.root);
+        }
+
+        @Override
+        public int size() {
+          return TagTrie.this.size;
+        }
+      };
+    }
+    return this.entrySet;
+  }
+
+  /**
+   * A node in the trie.
+   *
+   * <p>The array holds pairs of entries. A pair is either a key and its tag, or {@code null} and a child node.</p>
+   */
+  private abstract static class Node {
+    final Object[] array;
+
+    Node(final Object[] array) {
+      this.array = array;
+    }
+
+    abstract @Nullable BinaryTag get(final String key, final int hash, final int shift);
+
+    abstract Node put(final String key, final int hash, final BinaryTag tag, final int shift);
+
+    abstract @Nullable Node remove(final String key, final int hash, final int shift);
+
+    static Object[] insert(final Object[] array, final int index, final Object a, final Object b) {
+      final Object[] result = new Object[array.length + 2];
+      System.arraycopy(array, 0, result, 0, index);
+      result[index] = a;
+      result[index + 1] = b;
+      System.arraycopy(array, index, result, index + 2, array.length - index);
+      return result;
+    }
+
+    static Object[] replace(final Object[] array, final int index, final Object value) {
+      final Object[] result = array.clone();
+      result[index] = value;
+      return result;
+    }
+
+    static Object[] delete(final Object[] array, final int index) {
+      final Object[] result = new Object[array.length - 2];
+      System.arraycopy(array, 0, result, 0, index);
+      System.arraycopy(array, index + 2, result, index, array.length - index - 2);
+      return result;
+    }
+
+    static Node merge(final int shift, final String key0, final int hash0, final Object tag0, final String key1, final int hash1, final BinaryTag tag1) {
+      if(hash0 == hash1) return new CollisionNode(hash0, new Object[]{key0, tag0, key1, tag1});
+      final int bit0 = (hash0 >>> shift) & MASK;
+      final int bit1 = (hash1 >>> shift) & MASK;
+      if(bit0 == bit1) {
+        return new BitmapNode(1 << bit0, new Object[]{null, merge(shift + BITS, key0, hash0, tag0, key1, hash1, tag1)});
+      }
+      return new BitmapNode((1 << bit0) | (1 << bit1), bit0 < bit1 ? new Object[]{key0, tag0, key1, tag1} : new Object[]{key1, tag1, key0, tag0});
+    }
+  }
+
+  private static final class BitmapNode extends Node {
+    private final int bitmap;
+
+    BitmapNode(final int bitmap, final Object[] array) {
+      super(array);
+      this.bitmap = bitmap;
+    }
+
+    private int index(final int bit) {
+      return Integer.bitCount(this.bitmap & (bit - 1)) * 2;
+    }
+
+    @Override
+    @Nullable BinaryTag get(final String key, final int hash, final int shift) {
+      final int bit = 1 << ((hash >>> shift) & MASK);
+      if((this.bitmap & bit) == 0) return null;
+      final int index = this.index(bit);
+      final Object k = this.array[index];
+      if(k == null) return ((Node) this.array[index + 1]).get(key, hash, shift + BITS);
+      return key.equals(k) ? (BinaryTag) this.array[index + 1] : null;
+    }
+
+    @Override
+    Node put(final String key, final int hash, final BinaryTag tag, final int shift) {
+      final int bit = 1 << ((hash >>> shift) & MASK);
+      final int index = this.index(bit);
+      if((this.bitmap & bit) == 0) {
+        return new BitmapNode(this.bitmap | bit, insert(this.array, index, key, tag));
+      }
+      final Object k = this.array[index];
+      final Object v = this.array[index + 1];
+      if(k == null) {
+        final Node child = ((Node) v).put(key, hash, tag, shift + BITS);
+        return child == v ? this : new BitmapNode(this.bitmap, replace(this.array, index + 1, child));
+      } else if(key.equals(k)) {
+        return tag == v ? this : new BitmapNode(this.bitmap, replace(this.array, index + 1, tag));
+      }
+      final Object[] array = replace(this.array, index, null);
+      array[index + 1] = merge(shift + BITS, (String) k, hash((String) k), v, key, hash, tag);
+      return new BitmapNode(this.bitmap, array);
+    }
+
+    @Override
+    @Nullable Node remove(final String key, final int hash, final int shift) {
+      final int bit = 1 << ((hash >>> shift) & MASK);
+      if((this.bitmap & bit) == 0) return this;
+      final int index = this.index(bit);
+      final Object k = this.array[index];
+      if(k == null) {
+        final Node child = (Node) this.array[index + 1];
+        final /* @Nullable */ Node newChild = child.remove(key, hash, shift + BITS);
+        if(newChild == child) return this;
+        if(newChild != null) return new BitmapNode(this.bitmap, replace(this.array, index + 1, newChild));
+      } else if(!key.equals(k)) {
+        return this;
+      }
+      return this.bitmap == bit ? null : new BitmapNode(this.bitmap ^ bit, delete(this.array, index));
+    }
+  }
+
+  private static final class CollisionNode extends Node {
+    private final int hash;
+
+    CollisionNode(final int hash, final Object[] array) {
+      super(array);
+      this.hash = hash;
+    }
+
+    private int index(final String key) {
+      for(int i = 0; i < this.array.length; i += 2) {
+        if(key.equals(this.array[i])) return i;
+      }
+      return -1;
+    }
+
+    @Override
+    @Nullable BinaryTag get(final String key, final int hash, final int shift) {
+      final int index = this.index(key);
+      return index == -1 ? null : (BinaryTag) this.array[index + 1];
+    }
+
+    @Override
+    Node put(final String key, final int hash, final BinaryTag tag, final int shift) {
+      if(hash != this.hash) {
+        // move this node down a level, alongside the new entry
+        return new BitmapNode(1 << ((this.hash >>> shift) & MASK), new Object[]{null, this}).put(key, hash, tag, shift);
+      }
+      final int index = this.index(key);
+      if(index == -1) return new CollisionNode(hash, insert(this.array, this.array.length, key, tag));
+      return tag == this.array[index + 1] ? this : new CollisionNode(hash, replace(this.array, index + 1, tag));
+    }
+
+    @Override
+    @Nullable Node remove(final String key, final int hash, final int shift) {
+      final int index = this.index(key);
+      if(index == -1) return this;
+      return this.array.length == 2 ? null : new CollisionNode(hash, delete(this.array, index));
+    }
+  }
+
+  private static final class EntryIterator implements Iterator<Entry<String, BinaryTag>> {
+    // seven levels of five bits cover the whole hash, with collisions below that
+    private final Object[][] arrays = new Object[8][];
+    private final int[] indices = new int[8];
+    private int depth;
+    private @Nullable Entry<String, BinaryTag> next;
+
+    EntryIterator(final Node root) {
+      this.arrays[0] = root.array;
+      this.advance();
+    }
+
+    private void advance() {
+      while(this.depth >= 0) {
+        final Object[] array = this.arrays[this.depth];
+        final int index = this.indices[this.depth];
+        if(index >= array.length) {
+          this.depth--;
+          continue;
+        }
+        this.indices[this.depth] = index + 2;
+        final Object key = array[index];
+        if(key != null) {
+          this.next = new SimpleImmutableEntry<>((String) key, (BinaryTag) array[index + 1]);
+          return;
+        }
+        this.depth++;
+        this.arrays[this.depth] = ((Node) array[index + 1]).array;
+        this.indices[this.depth] = 0;
+      }
+      this.next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next != null;
+    }
+
+    @Override
+    public Entry<String, BinaryTag> next() {
+      final /* @Nullable */ Entry<String, BinaryTag> next = this.next;
+      if(next == null) throw new NoSuchElementException();
+      this.advance();
+      return next;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable bit-partitioned vector trie of tags.
+ *
+ * <p>{@link #with(int, BinaryTag)} copies only the path to the element being replaced, and {@link #plus(BinaryTag)}
+ * usually copies only the trailing block of up to 32 elements.</p>
+ */
+final class TagVector extends AbstractList<BinaryTag> implements RandomAccess {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  static final TagVector EMPTY = new TagVector(0, BITS, new Object[WIDTH], new Object[0]);
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private TagVector(final int size, final int shift, final Object[] root, final Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  static TagVector of(final List<? extends BinaryTag> tags) {
+    if(tags instanceof TagVector) return (TagVector) tags;
+    TagVector vector = EMPTY;
+    for(int i = 0, size = tags.size(); i < size; i++) {
+      vector = vector.plus(tags.get(i));
+    }
+    return vector;
+  }
+
+  private int tailOffset() {
+    return this.size < WIDTH ? 0 : ((this.size - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] arrayFor(final int index) {
+    if(index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    if(index >= this.tailOffset()) return this.tail;
+    Object[] node = this.root;
+    for(int level = this.shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  @Override
+  public BinaryTag get(final int index) {
+    return (BinaryTag) this.arrayFor(index)[index & MASK];
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  TagVector with(final int index, final BinaryTag tag) {
+    if(index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    if(index >= this.tailOffset()) {
+      final Object[] tail = this.tail.clone();
+      tail[index & MASK] = tag;
+      return new TagVector(this.size, this.shift, this.root, tail);
+    }
+    return new TagVector(this.size, this.shift, with(this.shift, this.root, index, tag), this.tail);
+  }
+
+  private static Object[] with(final int level, final Object[] node, final int index, final BinaryTag tag) {
+    final Object[] result = node.clone();
+    if(level == 0) {
+      result[index & MASK] = tag;
+    } else {
+      final int child = (index >>> level) & MASK;
+      result[child] = with(level - BITS, (Object[]) node[child], index, tag);
+    }
+    return result;
+  }
+
+  TagVector plus(final BinaryTag tag) {
+    if(this.size - this.tailOffset() < WIDTH) {
+      final Object[] tail = new Object[this.tail.length + 1];
+      System.arraycopy(this.tail, 0, tail, 0, this.tail.length);
+      tail[this.tail.length] = tag;
+      return new TagVector(this.size + 1, this.shift, this.root, tail);
+    }
+    // the tail is full, so push it into the trie and start a new one
+    final Object[] root;
+    int shift = this.shift;
+    if((this.size >>> BITS) > (1 << this.shift)) {
+      root = new Object[WIDTH];
+      root[0] = this.root;
+      root[1] = path(this.shift, this.tail);
+      shift += BITS;
+    } else {
+      root = this.pushTail(this.shift, this.root);
+    }
+    return new TagVector(this.size + 1, shift, root, new Object[]{tag});
+  }
+
+  private Object[] pushTail(final int level, final Object[] parent) {
+    final int index = ((this.size - 1) >>> level) & MASK;
+    final Object[] result = parent.clone();
+    if(level == BITS) {
+      result[index] = this.tail;
+    } else {
+      final Object[] child = (Object[]) parent[index];
+      result[index] = child != null ? this.pushTail(level - BITS, child) : path(level - BITS, this.tail);
+    }
+    return result;
+  }
+
+  private static Object[] path(final int level, final Object[] node) {
+    if(level == 0) return node;
+    final Object[] result = new Object[WIDTH];
+    result[0] = path(level - BITS, node);
+    return result;
+  }
+}
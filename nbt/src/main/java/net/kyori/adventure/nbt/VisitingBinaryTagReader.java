@@ -0,0 +1,84 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * Reads binary tags from a {@link DataInput}, passing them to a {@link BinaryTagVisitor} instead of building them.
+ */
+final class VisitingBinaryTagReader {
+  private VisitingBinaryTagReader() {
+  }
+
+  static void visit(final BinaryTagType<? extends BinaryTag> type, final DataInput input, final BinaryTagVisitor visitor) throws IOException {
+    if(type == BinaryTagTypes.BYTE) {
+      visitor.visitByte(input.readByte());
+    } else if(type == BinaryTagTypes.SHORT) {
+      visitor.visitShort(input.readShort());
+    } else if(type == BinaryTagTypes.INT) {
+      visitor.visitInt(input.readInt());
+    } else if(type == BinaryTagTypes.LONG) {
+      visitor.visitLong(input.readLong());
+    } else if(type == BinaryTagTypes.FLOAT) {
+      visitor.visitFloat(input.readFloat());
+    } else if(type == BinaryTagTypes.DOUBLE) {
+      visitor.visitDouble(input.readDouble());
+    } else if(type == BinaryTagTypes.STRING) {
+      visitor.visitString(ModifiedUtf8.read(input));
+    } else if(type == BinaryTagTypes.BYTE_ARRAY) {
+      visitor.visitByteArray(ByteArrayBinaryTagImpl.value(BinaryTagTypes.BYTE_ARRAY.read(input)));
+    } else if(type == BinaryTagTypes.INT_ARRAY) {
+      visitor.visitIntArray(IntArrayBinaryTagImpl.value(BinaryTagTypes.INT_ARRAY.read(input)));
+    } else if(type == BinaryTagTypes.LONG_ARRAY) {
+      visitor.visitLongArray(LongArrayBinaryTagImpl.value(BinaryTagTypes.LONG_ARRAY.read(input)));
+    } else if(type == BinaryTagTypes.LIST) {
+      final BinaryTagType<? extends BinaryTag> elementType = BinaryTagType.of(input.readByte());
+      final int length = BinaryTagTypes.listLength(elementType, input);
+      if(!visitor.visitListStart(elementType, length)) {
+        BinaryTagTypes.skipListElements(elementType, length, input);
+        return;
+      }
+      for(int i = 0; i < length; i++) {
+        visit(elementType, input, visitor);
+      }
+      visitor.visitListEnd();
+    } else if(type == BinaryTagTypes.COMPOUND) {
+      if(!visitor.visitCompoundStart()) {
+        BinaryTagTypes.COMPOUND.skip(input);
+        return;
+      }
+      BinaryTagType<? extends BinaryTag> entryType;
+      while((entryType = BinaryTagType.of(input.readByte())) != BinaryTagTypes.END) {
+        if(visitor.visitKey(ModifiedUtf8.readKey(input), entryType)) {
+          visit(entryType, input, visitor);
+        } else {
+          entryType.skip(input);
+        }
+      }
+      visitor.visitCompoundEnd();
+    }
+  }
+}
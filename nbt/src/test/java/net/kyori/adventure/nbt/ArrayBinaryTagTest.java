@@ -0,0 +1,101 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArrayBinaryTagTest {
+  @Test
+  void testWrapBytes() {
+    final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{9, 1, 2, 3});
+    buffer.position(1);
+    final ByteArrayBinaryTag tag = ByteArrayBinaryTag.wrap(buffer);
+    assertEquals(1, buffer.position());
+    assertEquals(3, tag.size());
+    assertEquals(2, tag.get(1));
+    assertEquals(ByteArrayBinaryTag.of((byte) 1, (byte) 2, (byte) 3), tag);
+    assertEquals(ByteArrayBinaryTag.of((byte) 1, (byte) 2, (byte) 3).hashCode(), tag.hashCode());
+    assertThrows(IndexOutOfBoundsException.class, () -> tag.get(3));
+  }
+
+  @Test
+  void testWrapInts() {
+    final ByteBuffer buffer = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putInt(1).putInt(-2).putInt(3).flip();
+    final IntArrayBinaryTag tag = IntArrayBinaryTag.wrap(buffer);
+    assertArrayEquals(new int[]{1, -2, 3}, tag.value());
+    assertEquals(IntArrayBinaryTag.of(1, -2, 3), tag);
+    assertEquals(IntArrayBinaryTag.of(1, -2, 3).hashCode(), tag.hashCode());
+    final List<Integer> values = new ArrayList<>();
+    tag.forEachInt(values::add);
+    assertEquals(3, values.size());
+    assertEquals(-2, (int) values.get(1));
+    final IntBuffer view = tag.intBuffer();
+    assertEquals(3, view.remaining());
+    assertThrows(ReadOnlyBufferException.class, () -> view.put(0, 5));
+    assertThrows(IllegalArgumentException.class, () -> IntArrayBinaryTag.wrap(ByteBuffer.allocate(3)));
+  }
+
+  @Test
+  void testWrapLongs() {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+    buffer.putLong(Long.MIN_VALUE).putLong(Long.MAX_VALUE).flip();
+    final LongArrayBinaryTag tag = LongArrayBinaryTag.wrap(buffer);
+    assertEquals(LongArrayBinaryTag.of(Long.MIN_VALUE, Long.MAX_VALUE), tag);
+    assertEquals(Long.MAX_VALUE, tag.get(1));
+    assertEquals(2, tag.longBuffer().remaining());
+  }
+
+  @Test
+  void testLazyReadSharesBuffer() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putByteArray("bytes", new byte[]{1, 2, 3})
+      .putIntArray("ints", new int[]{4, 5})
+      .putLongArray("longs", new long[]{6, 7})
+      .build();
+    final ByteBuffer buffer = ByteBuffer.allocate(128);
+    BinaryTagIO.writeByteBuffer(tag, buffer);
+    buffer.flip();
+    final CompoundBinaryTag lazy = BinaryTagIO.readLazyByteBuffer(buffer);
+    assertEquals(tag, lazy);
+
+    // the arrays are slices of the buffer, and must be written back out unchanged
+    final ByteBuffer output = ByteBuffer.allocate(128);
+    BinaryTagIO.writeByteBuffer(lazy, output);
+    output.flip();
+    buffer.rewind();
+    assertEquals(buffer, output);
+  }
+}
@@ -0,0 +1,513 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTagIOTest {
+  private static CompoundBinaryTag bigTest;
+
+  @BeforeAll
+  static void before() throws IOException {
+    try(final InputStream is = BinaryTagIOTest.class.getResourceAsStream("/bigtest.nbt")) {
+      bigTest = BinaryTagIO.readCompressedInputStream(is);
+    }
+  }
+
+  @Test
+  void testEmptyListRoundTrip() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .put("empty", ListBinaryTag.empty())
+      .put("emptyCompounds", ListBinaryTag.builder(BinaryTagTypes.COMPOUND).build())
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(tag, output);
+    assertEquals(tag, BinaryTagIO.readByteBuffer(ByteBuffer.wrap(output.toByteArray())));
+  }
+
+  @Test
+  void testHeapByteBuffer() throws IOException {
+    this.testByteBuffer(ByteBuffer.allocate(8192));
+  }
+
+  @Test
+  void testDirectByteBuffer() throws IOException {
+    this.testByteBuffer(ByteBuffer.allocateDirect(8192));
+  }
+
+  @Test
+  void testLittleEndianByteBuffer() throws IOException {
+    this.testByteBuffer(ByteBuffer.allocate(8192).order(ByteOrder.LITTLE_ENDIAN));
+  }
+
+  @Test
+  void testByteBufferMatchesStream() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(bigTest, output);
+    final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    BinaryTagIO.writeByteBuffer(bigTest, buffer);
+    buffer.flip();
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    assertArrayEquals(output.toByteArray(), bytes);
+  }
+
+  @Test
+  void testByteBufferOverflow() {
+    final ByteBuffer buffer = ByteBuffer.allocate(16);
+    assertThrows(IOException.class, () -> BinaryTagIO.writeByteBuffer(bigTest, buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void testByteBufferUnderflow() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    BinaryTagIO.writeByteBuffer(bigTest, buffer);
+    buffer.flip();
+    buffer.limit(buffer.limit() - 1);
+    assertThrows(EOFException.class, () -> BinaryTagIO.readByteBuffer(buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void testLazyByteBuffer() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    BinaryTagIO.writeByteBuffer(bigTest, buffer);
+    final int length = buffer.position();
+    buffer.flip();
+    final CompoundBinaryTag lazy = BinaryTagIO.readLazyByteBuffer(buffer);
+    assertEquals(length, buffer.position());
+    assertEquals(bigTest.keySet(), lazy.keySet());
+    assertEquals(bigTest.get("nested compound test"), lazy.get("nested compound test"));
+    assertEquals(bigTest.getList("listTest (compound)"), lazy.getList("listTest (compound)"));
+    assertEquals(bigTest, lazy);
+    assertEquals(lazy, bigTest);
+    assertEquals(bigTest.hashCode(), lazy.hashCode());
+    assertEquals(bigTest, lazy.put("nested compound test", bigTest.get("nested compound test")));
+  }
+
+  @Test
+  void testLazyByteBufferUnderflow() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    BinaryTagIO.writeByteBuffer(bigTest, buffer);
+    buffer.flip();
+    buffer.limit(buffer.limit() - 1);
+    assertThrows(EOFException.class, () -> BinaryTagIO.readLazyByteBuffer(buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void testLazyByteBufferValidatesNestedLists() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final DataOutputStream data = new DataOutputStream(output);
+    data.writeByte(BinaryTagTypes.COMPOUND.id());
+    data.writeUTF("");
+    data.writeByte(BinaryTagTypes.COMPOUND.id());
+    data.writeUTF("nested");
+    data.writeByte(BinaryTagTypes.LIST.id());
+    data.writeUTF("skipme");
+    data.write(listHeader(BinaryTagTypes.END, Integer.MAX_VALUE)); // a list of end tags must be empty
+    data.writeByte(BinaryTagTypes.END.id());
+    data.writeByte(BinaryTagTypes.END.id());
+    final ByteBuffer malformed = ByteBuffer.wrap(output.toByteArray());
+    assertThrows(IOException.class, () -> BinaryTagIO.readLazyByteBuffer(malformed));
+    assertEquals(0, malformed.position());
+  }
+
+  @Test
+  void testSkip() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final DataOutputStream dos = new DataOutputStream(output);
+    BinaryTagTypes.COMPOUND.write(bigTest, dos);
+    dos.writeInt(0xcafebabe); // content after the tag
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+    BinaryTagTypes.COMPOUND.skip(input);
+    assertEquals(0xcafebabe, input.readInt());
+    assertEquals(0, input.available());
+  }
+
+  @Test
+  void testSkipNumericList() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final DataOutputStream dos = new DataOutputStream(output);
+    BinaryTagTypes.LIST.write(ListBinaryTag.builder().add(DoubleBinaryTag.of(1)).add(DoubleBinaryTag.of(2)).build(), dos);
+    dos.writeInt(0xcafebabe);
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+    BinaryTagTypes.LIST.skip(input);
+    assertEquals(0xcafebabe, input.readInt());
+
+    // a huge length is skipped at once, rather than element by element
+    final byte[] header = listHeader(BinaryTagTypes.INT, Integer.MAX_VALUE);
+    assertThrows(EOFException.class, () -> BinaryTagTypes.LIST.skip(new DataInputStream(new ByteArrayInputStream(header))));
+  }
+
+  @Test
+  void testSkipRejectsMalformedLists() throws IOException {
+    for(final byte[] list : new byte[][] {listHeader(BinaryTagTypes.END, Integer.MAX_VALUE), listHeader(BinaryTagTypes.INT, -1), listHeader(BinaryTagTypes.STRING, -1)}) {
+      assertThrows(IOException.class, () -> BinaryTagTypes.LIST.read(new DataInputStream(new ByteArrayInputStream(list))));
+      assertThrows(IOException.class, () -> BinaryTagTypes.LIST.skip(new DataInputStream(new ByteArrayInputStream(list))));
+    }
+  }
+
+  @Test
+  void testFilteredRead() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(bigTest, output);
+    final CompoundBinaryTag filtered = BinaryTagIO.readFilteredInputStream(new ByteArrayInputStream(output.toByteArray()), Arrays.asList(
+      Arrays.asList("nested compound test", "egg"),
+      Collections.singletonList("intTest"),
+      Arrays.asList("intTest", "ignored"),
+      Arrays.asList("stringTest", "not a compound"),
+      Collections.singletonList("missing")
+    ));
+    assertEquals(CompoundBinaryTag.builder()
+      .put("nested compound test", CompoundBinaryTag.builder()
+        .put("egg", bigTest.getCompound("nested compound test").getCompound("egg"))
+        .build())
+      .put("intTest", bigTest.get("intTest"))
+      .build(), filtered);
+  }
+
+  @Test
+  void testFilteredReadEmptyPath() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(bigTest, output);
+    assertEquals(bigTest, BinaryTagIO.readFilteredInputStream(new ByteArrayInputStream(output.toByteArray()), Collections.singletonList(Collections.emptyList())));
+    assertEquals(bigTest, BinaryTagIO.readFilteredInputStream(new ByteArrayInputStream(output.toByteArray()), Arrays.asList(Collections.emptyList(), Collections.singletonList("intTest"))));
+  }
+
+  @Test
+  void testCompressionRoundTrip() throws IOException {
+    for(final BinaryTagIO.Compression compression : Arrays.asList(
+      BinaryTagIO.Compression.NONE,
+      BinaryTagIO.Compression.GZIP,
+      BinaryTagIO.Compression.ZLIB,
+      BinaryTagIO.Compression.gzip(0),
+      BinaryTagIO.Compression.zlib(9)
+    )) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      BinaryTagIO.writeOutputStream(bigTest, output, compression);
+      BinaryTagIO.writeOutputStream(bigTest, output, compression); // reuses the pooled deflater
+      final InputStream input = new ByteArrayInputStream(output.toByteArray());
+      assertEquals(bigTest, BinaryTagIO.readInputStream(input, compression), compression.toString());
+      assertEquals(bigTest, BinaryTagIO.readInputStream(new ByteArrayInputStream(output.toByteArray()), compression), compression.toString());
+    }
+  }
+
+  @Test
+  void testInvalidCompressionLevel() {
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.gzip(10));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.zlib(-2));
+  }
+
+  @Test
+  void testGzipInteroperatesWithJdk() throws IOException {
+    final ByteArrayOutputStream ours = new ByteArrayOutputStream();
+    BinaryTagIO.writeCompressedOutputStream(bigTest, ours);
+    try(final DataInputStream input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(ours.toByteArray())))) {
+      assertEquals(bigTest, BinaryTagIO.readDataInput(input));
+      assertEquals(-1, input.read()); // verifies the trailer
+    }
+
+    final ByteArrayOutputStream jdk = new ByteArrayOutputStream();
+    try(final DataOutputStream output = new DataOutputStream(new GZIPOutputStream(jdk))) {
+      BinaryTagIO.writeDataOutput(bigTest, output);
+    }
+    try(final InputStream input = BinaryTagIO.Compression.GZIP.decompress(new ByteArrayInputStream(jdk.toByteArray()))) {
+      assertEquals(bigTest, BinaryTagIO.readInputStream(input));
+      assertEquals(-1, input.read()); // verifies the trailer
+    }
+  }
+
+  @Test
+  void testZlibInteroperatesWithJdk() throws IOException {
+    final ByteArrayOutputStream ours = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(bigTest, ours, BinaryTagIO.Compression.ZLIB);
+    try(final DataInputStream input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(ours.toByteArray())))) {
+      assertEquals(bigTest, BinaryTagIO.readDataInput(input));
+    }
+
+    final ByteArrayOutputStream jdk = new ByteArrayOutputStream();
+    try(final DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(jdk))) {
+      BinaryTagIO.writeDataOutput(bigTest, output);
+    }
+    assertEquals(bigTest, BinaryTagIO.readInputStream(new ByteArrayInputStream(jdk.toByteArray()), BinaryTagIO.Compression.ZLIB));
+  }
+
+  @Test
+  void testGzipHeaderFields() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeCompressedOutputStream(bigTest, output);
+    final byte[] bytes = output.toByteArray();
+    final ByteArrayOutputStream withName = new ByteArrayOutputStream();
+    withName.write(bytes, 0, 3);
+    withName.write(8); // FNAME
+    withName.write(bytes, 4, 6);
+    withName.write("bigtest.nbt\0".getBytes("UTF-8"));
+    withName.write(bytes, 10, bytes.length - 10);
+    assertEquals(bigTest, BinaryTagIO.readCompressedInputStream(new ByteArrayInputStream(withName.toByteArray())));
+  }
+
+  @Test
+  void testGzipCorruptTrailer() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeCompressedOutputStream(bigTest, output);
+    final byte[] bytes = output.toByteArray();
+    bytes[bytes.length - 8]++; // crc
+    try(final InputStream input = BinaryTagIO.Compression.GZIP.decompress(new ByteArrayInputStream(bytes))) {
+      assertThrows(ZipException.class, () -> {
+        while(input.read() != -1) {
+          // read to the end
+        }
+      });
+    }
+    assertThrows(ZipException.class, () -> BinaryTagIO.Compression.GZIP.decompress(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+  }
+
+  @Test
+  void testNestedCompressionStreams() throws IOException {
+    final ByteArrayOutputStream first = new ByteArrayOutputStream();
+    final ByteArrayOutputStream second = new ByteArrayOutputStream();
+    try(final OutputStream outer = BinaryTagIO.Compression.ZLIB.compress(first); final OutputStream inner = BinaryTagIO.Compression.ZLIB.compress(second)) {
+      BinaryTagIO.writeOutputStream(bigTest, outer);
+      BinaryTagIO.writeOutputStream(bigTest, inner);
+    }
+    try(final InputStream outer = BinaryTagIO.Compression.ZLIB.decompress(new ByteArrayInputStream(first.toByteArray())); final InputStream inner = BinaryTagIO.Compression.ZLIB.decompress(new ByteArrayInputStream(second.toByteArray()))) {
+      assertEquals(bigTest, BinaryTagIO.readInputStream(outer));
+      assertEquals(bigTest, BinaryTagIO.readInputStream(inner));
+    }
+  }
+
+  @Test
+  void testNamedRoot() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeNamedDataOutput("Level", bigTest, new DataOutputStream(output));
+    BinaryTagIO.writeNamedDataOutput("ignored", EndBinaryTag.get(), new DataOutputStream(output));
+    BinaryTagIO.writeNamedDataOutput("string", StringBinaryTag.of("root"), new DataOutputStream(output));
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+    assertEquals(new AbstractMap.SimpleImmutableEntry<>("Level", bigTest), BinaryTagIO.readNamedDataInput(input));
+    assertEquals(new AbstractMap.SimpleImmutableEntry<>("", EndBinaryTag.get()), BinaryTagIO.readNamedDataInput(input));
+    assertEquals(new AbstractMap.SimpleImmutableEntry<>("string", StringBinaryTag.of("root")), BinaryTagIO.readNamedDataInput(input));
+    assertEquals(0, input.available());
+
+    final ByteBuffer buffer = ByteBuffer.allocate(8192);
+    BinaryTagIO.writeNamedByteBuffer("", bigTest, buffer);
+    buffer.flip();
+    assertEquals(bigTest, BinaryTagIO.readByteBuffer(buffer.duplicate()));
+    assertEquals(new AbstractMap.SimpleImmutableEntry<>("", bigTest), BinaryTagIO.readNamedByteBuffer(buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  @Test
+  void testNamelessRoot() throws IOException {
+    final ByteArrayOutputStream named = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(bigTest, named);
+    final ByteArrayOutputStream nameless = new ByteArrayOutputStream();
+    BinaryTagIO.writeNamelessDataOutput(bigTest, new DataOutputStream(nameless));
+    final byte[] bytes = named.toByteArray();
+    assertArrayEquals(Arrays.copyOfRange(bytes, 3, bytes.length), Arrays.copyOfRange(nameless.toByteArray(), 1, nameless.size())); // without the type and empty name
+    assertEquals(bigTest, BinaryTagIO.readNamelessDataInput(new DataInputStream(new ByteArrayInputStream(nameless.toByteArray()))));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(16);
+    BinaryTagIO.writeNamelessByteBuffer(EndBinaryTag.get(), buffer);
+    BinaryTagIO.writeNamelessByteBuffer(IntBinaryTag.of(42), buffer);
+    assertThrows(IOException.class, () -> BinaryTagIO.writeNamelessByteBuffer(LongArrayBinaryTag.of(1, 2), buffer));
+    assertEquals(6, buffer.position());
+    buffer.flip();
+    assertEquals(EndBinaryTag.get(), BinaryTagIO.readNamelessByteBuffer(buffer));
+    assertEquals(IntBinaryTag.of(42), BinaryTagIO.readNamelessByteBuffer(buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  @Test
+  void testSize() throws IOException {
+    final CompoundBinaryTag tag = bigTest
+      .putString("unicode", "\u0000 ä \u20ac \ud83d\ude00")
+      .put("empty", ListBinaryTag.empty())
+      .put("ints", ListBinaryTag.builder().add(IntBinaryTag.of(1)).add(IntBinaryTag.of(2)).build())
+      .put("lists", ListBinaryTag.builder().add(ListBinaryTag.empty()).add(ListBinaryTag.builder().add(StringBinaryTag.of("ü")).build()).build())
+      .putIntArray("intArray", new int[] {1, 2, 3})
+      .putLongArray("longArray", new long[] {1});
+    assertEquals(this.write(output -> BinaryTagIO.writeDataOutput(tag, output)).length, BinaryTagIO.size(tag));
+    assertEquals(BinaryTagIO.size(tag), BinaryTagIO.size(tag)); // cached
+    final CompoundBinaryTag edited = tag.remove("unicode");
+    assertEquals(this.write(output -> BinaryTagIO.writeDataOutput(edited, output)).length, BinaryTagIO.size(edited));
+
+    for(final BinaryTag root : new BinaryTag[] {EndBinaryTag.get(), ByteBinaryTag.of((byte) 1), StringBinaryTag.of("root"), tag.getList("lists"), tag}) {
+      assertEquals(this.write(output -> BinaryTagIO.writeNamedDataOutput("näme", root, output)).length, BinaryTagIO.sizeNamed("näme", root));
+      assertEquals(this.write(output -> BinaryTagIO.writeNamelessDataOutput(root, output)).length, BinaryTagIO.sizeNameless(root));
+    }
+
+    final ByteBuffer lazy = ByteBuffer.wrap(this.write(output -> BinaryTagIO.writeDataOutput(tag, output)));
+    assertEquals(lazy.remaining(), BinaryTagIO.size(BinaryTagIO.readLazyByteBuffer(lazy)));
+  }
+
+  private byte[] write(final Writer writer) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    writer.write(new DataOutputStream(bytes));
+    return bytes.toByteArray();
+  }
+
+  @FunctionalInterface
+  private interface Writer {
+    void write(final DataOutput output) throws IOException;
+  }
+
+  @Test
+  void testByteBufferReadLine() throws IOException {
+    final byte[] lines = "one\ntwo\r\nthree\r\rfour".getBytes(StandardCharsets.ISO_8859_1);
+    final DataInputStream expected = new DataInputStream(new ByteArrayInputStream(lines));
+    final ByteBufferDataInput actual = new ByteBufferDataInput(ByteBuffer.wrap(lines));
+    for(int i = 0; i < 6; i++) {
+      assertEquals(expected.readLine(), actual.readLine());
+    }
+  }
+
+  @Test
+  void testLimits() throws IOException {
+    final byte[] bytes = this.write(output -> BinaryTagIO.writeDataOutput(bigTest, output));
+    final BinaryTagIO.Reader exact = BinaryTagIO.reader(BinaryTagIO.Limits.builder().maxBytes(bytes.length).maxDepth(3).build());
+    assertEquals(bigTest, exact.read(ByteBuffer.wrap(bytes)));
+    assertEquals(bigTest, exact.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+    assertEquals(bigTest, exact.readNamed(new DataInputStream(new ByteArrayInputStream(bytes))).getValue());
+    final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(bigTest, compressed, BinaryTagIO.Compression.ZLIB);
+    assertEquals(bigTest, exact.read(new ByteArrayInputStream(compressed.toByteArray()), BinaryTagIO.Compression.ZLIB));
+
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(BinaryTagIO.Limits.builder().maxBytes(bytes.length - 1).build()).read(ByteBuffer.wrap(bytes)));
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(BinaryTagIO.Limits.builder().maxDepth(2).build()).read(ByteBuffer.wrap(bytes)));
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(BinaryTagIO.Limits.builder().maxArrayLength(999).build()).read(ByteBuffer.wrap(bytes)));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Limits.builder().maxDepth(0));
+  }
+
+  @Test
+  void testLimitsCountLines() throws IOException {
+    final byte[] lines = "ab\ncd".getBytes(StandardCharsets.ISO_8859_1);
+    final LimitedDataInput input = new LimitedDataInput(new DataInputStream(new ByteArrayInputStream(lines)), BinaryTagIO.Limits.builder().maxBytes(3).build());
+    assertEquals("ab", input.readLine());
+    assertThrows(IOException.class, input::readLine);
+  }
+
+  @Test
+  void testLimitsRejectBeforeAllocating() {
+    final BinaryTagIO.Reader reader = BinaryTagIO.reader(BinaryTagIO.Limits.builder().maxBytes(1024).build());
+    // a compound holding a byte array, then a list of compounds, each claiming to be Integer.MAX_VALUE long
+    for(final byte[] bytes : new byte[][] {{10, 0, 0, 7, 0, 1, 'a', 0x7f, -1, -1, -1}, {10, 0, 0, 9, 0, 1, 'a', 10, 0x7f, -1, -1, -1}}) {
+      assertThrows(IOException.class, () -> reader.read(ByteBuffer.wrap(bytes)));
+    }
+    assertThrows(IOException.class, () -> reader.readNameless(new DataInputStream(new ByteArrayInputStream(new byte[] {11, 0x7f, -1, -1, -1}))));
+
+    // nesting deep enough to overflow the stack without a limit
+    final ByteArrayOutputStream nested = new ByteArrayOutputStream();
+    nested.write(9);
+    for(int i = 0; i < 100000; i++) {
+      nested.write(9);
+      nested.write(new byte[] {0, 0, 0, 1}, 0, 4);
+    }
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(BinaryTagIO.Limits.builder().maxDepth(512).build()).readNameless(new DataInputStream(new ByteArrayInputStream(nested.toByteArray()))));
+  }
+
+  @Test
+  void testReadDirectory() throws IOException, InterruptedException {
+    final Path directory = Files.createTempDirectory("adventure");
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for(int i = 0; i < 20; i++) {
+        BinaryTagIO.writeCompressedPath(bigTest.putInt("index", i), directory.resolve(i + ".dat"));
+      }
+      Files.write(directory.resolve("corrupt.dat"), new byte[]{1, 2, 3});
+      Files.write(directory.resolve("ignored.txt"), new byte[]{1, 2, 3});
+      final Map<Path, CompletableFuture<CompoundBinaryTag>> results = BinaryTagIO.readDirectory(directory, "*.dat", BinaryTagIO.Compression.GZIP, executor);
+      assertEquals(21, results.size());
+      for(int i = 0; i < 20; i++) {
+        assertEquals(i, results.get(directory.resolve(i + ".dat")).join().getInt("index"));
+      }
+      final CompletionException failure = assertThrows(CompletionException.class, () -> results.get(directory.resolve("corrupt.dat")).join());
+      assertTrue(failure.getCause() instanceof IOException);
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+      try(final Stream<Path> files = Files.list(directory)) {
+        for(final Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
+  private void testByteBuffer(final ByteBuffer buffer) throws IOException {
+    buffer.putInt(0xcafebabe); // existing content before the tag
+    BinaryTagIO.writeByteBuffer(bigTest, buffer);
+    BinaryTagIO.writeByteBuffer(bigTest, buffer);
+    buffer.flip();
+    assertEquals(0xcafebabe, buffer.getInt());
+    assertEquals(bigTest, BinaryTagIO.readByteBuffer(buffer));
+    assertEquals(bigTest, BinaryTagIO.readByteBuffer(buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  private static byte[] listHeader(final BinaryTagType<?> elementType, final int length) throws IOException {
+    final ByteArrayOutputStream header = new ByteArrayOutputStream();
+    final DataOutputStream output = new DataOutputStream(header);
+    output.writeByte(elementType.id());
+    output.writeInt(length);
+    return header.toByteArray();
+  }
+}
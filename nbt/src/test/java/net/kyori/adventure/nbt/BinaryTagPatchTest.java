@@ -0,0 +1,127 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTagPatchTest {
+  private static final CompoundBinaryTag ENTITY = CompoundBinaryTag.builder()
+    .putString("id", "minecraft:zombie")
+    .putFloat("Health", 20f)
+    .put("Pos", ListBinaryTag.builder().add(DoubleBinaryTag.of(1)).add(DoubleBinaryTag.of(64)).add(DoubleBinaryTag.of(-3)).build())
+    .put("Attributes", ListBinaryTag.builder()
+      .add(CompoundBinaryTag.builder().putString("Name", "generic.max_health").putDouble("Base", 20).build())
+      .add(CompoundBinaryTag.builder().putString("Name", "generic.movement_speed").putDouble("Base", 0.23).build())
+      .build())
+    .put("Brain", CompoundBinaryTag.builder().put("memories", CompoundBinaryTag.empty()).build())
+    .putIntArray("UUID", new int[] {1, 2, 3, 4})
+    .build();
+
+  @Test
+  void testEqualTagsHaveEmptyPatch() {
+    assertTrue(BinaryTagPatch.diff(ENTITY, ENTITY).isEmpty());
+    final CompoundBinaryTag copy = ENTITY.edit(tag -> tag.putString("id", "minecraft:zombie"));
+    assertTrue(BinaryTagPatch.diff(ENTITY, copy).isEmpty());
+    assertSame(ENTITY, BinaryTagPatch.empty().apply(ENTITY));
+  }
+
+  @Test
+  void testDiffAndApply() throws IOException {
+    final CompoundBinaryTag changed = ENTITY.edit(tag -> tag
+      .putFloat("Health", 12.5f)
+      .remove("Brain")
+      .putBoolean("OnGround", true)
+      .editList("Pos", pos -> pos.set(1, DoubleBinaryTag.of(63.5)))
+      .editList("Attributes", attributes -> attributes.editCompound(1, speed -> speed.putDouble("Base", 0.35))));
+    final BinaryTagPatch patch = this.assertPatch(ENTITY, changed);
+    assertSame(ENTITY.get("UUID"), patch.apply(ENTITY).get("UUID"));
+    assertSame(ENTITY.getList("Attributes").get(0), patch.apply(ENTITY).getList("Attributes").get(0));
+  }
+
+  @Test
+  void testListLengthChanges() throws IOException {
+    final ListBinaryTag.Builder<CompoundBinaryTag> longer = ListBinaryTag.builder(BinaryTagTypes.COMPOUND);
+    for(int i = 0; i < 10; i++) {
+      longer.add(CompoundBinaryTag.builder().putInt("Slot", i).putString("id", "minecraft:stone").build());
+    }
+    final CompoundBinaryTag from = ENTITY.put("Items", longer.build());
+    this.assertPatch(from, from.edit(tag -> tag.editList("Items", items -> items.remove(9).remove(8).editCompound(2, item -> item.putByte("Count", (byte) 3)))));
+    this.assertPatch(from, from.edit(tag -> tag.editList("Items", items -> items.add(CompoundBinaryTag.builder().putInt("Slot", 10).build()))));
+    this.assertPatch(from, from.put("Items", ListBinaryTag.empty()));
+    this.assertPatch(from, from.put("Items", ListBinaryTag.builder().add(StringBinaryTag.of("replaced")).build()));
+    this.assertPatch(ENTITY.put("Items", ListBinaryTag.empty()), from);
+  }
+
+  @Test
+  void testTypeChanges() throws IOException {
+    this.assertPatch(ENTITY, ENTITY.putInt("Health", 20).putString("Brain", "none"));
+  }
+
+  @Test
+  void testBigTest() throws IOException {
+    final CompoundBinaryTag bigTest;
+    try(final InputStream is = this.getClass().getResourceAsStream("/bigtest.nbt")) {
+      bigTest = BinaryTagIO.readCompressedInputStream(is);
+    }
+    this.assertPatch(bigTest, ENTITY);
+    this.assertPatch(ENTITY, bigTest);
+    final BinaryTagPatch patch = this.assertPatch(bigTest, bigTest.edit(tag -> tag.editCompound("nested compound test", nested -> nested.editCompound("egg", egg -> egg.putFloat("value", 1f)))));
+    assertEquals(54, this.write(patch).length); // only the path to the changed float
+  }
+
+  @Test
+  void testReadInvalid() {
+    assertThrows(IOException.class, () -> BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(new byte[] {0, 0, 0, 1, 9, 0, 1, 'a'}))));
+    assertThrows(IOException.class, () -> BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(new byte[] {(byte) 0xff, 0, 0, 0}))));
+  }
+
+  private BinaryTagPatch assertPatch(final CompoundBinaryTag from, final CompoundBinaryTag to) throws IOException {
+    final BinaryTagPatch patch = BinaryTagPatch.diff(from, to);
+    assertEquals(to, patch.apply(from));
+
+    final BinaryTagPatch read = BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(this.write(patch))));
+    assertEquals(patch, read);
+    assertEquals(to, read.apply(from));
+    return patch;
+  }
+
+  private byte[] write(final BinaryTagPatch patch) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try(final DataOutputStream output = new DataOutputStream(bytes)) {
+      patch.write(output);
+    }
+    return bytes.toByteArray();
+  }
+}
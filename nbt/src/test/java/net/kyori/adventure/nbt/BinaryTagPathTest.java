@@ -0,0 +1,108 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryTagPathTest {
+  private static final CompoundBinaryTag PLAYER = CompoundBinaryTag.builder()
+    .putString("id", "minecraft:player")
+    .put("Inventory", ListBinaryTag.builder()
+      .add(item(0, "minecraft:diamond_sword", "Excalibur"))
+      .add(item(1, "minecraft:bread", null))
+      .add(item(2, "minecraft:shield", "Aegis"))
+      .build())
+    .putIntArray("UUID", new int[] {1, 2, 3, 4})
+    .put("weird key", StringBinaryTag.of("quoted"))
+    .build();
+
+  private static CompoundBinaryTag item(final int slot, final String id, final String name) {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder().putByte("Slot", (byte) slot).putString("id", id);
+    if(name != null) {
+      builder.put("tag", CompoundBinaryTag.builder().put("display", CompoundBinaryTag.builder().putString("Name", name).build()).build());
+    }
+    return builder.build();
+  }
+
+  private static List<BinaryTag> all(final String path, final BinaryTag root) throws IOException {
+    final List<BinaryTag> tags = new ArrayList<>();
+    BinaryTagPath.compile(path).forEach(root, tags::add);
+    return tags;
+  }
+
+  @Test
+  void testChildren() throws IOException {
+    assertEquals(StringBinaryTag.of("minecraft:player"), BinaryTagPath.compile("id").first(PLAYER));
+    assertEquals(StringBinaryTag.of("quoted"), BinaryTagPath.compile("\"weird key\"").first(PLAYER));
+    assertEquals(StringBinaryTag.of("Excalibur"), BinaryTagPath.compile("Inventory[0].tag.display.Name").first(PLAYER));
+    assertNull(BinaryTagPath.compile("Inventory[1].tag.display.Name").first(PLAYER));
+    assertNull(BinaryTagPath.compile("id.missing").first(PLAYER));
+  }
+
+  @Test
+  void testElements() throws IOException {
+    assertEquals(Arrays.asList(StringBinaryTag.of("Excalibur"), StringBinaryTag.of("Aegis")), all("Inventory[].tag.display.Name", PLAYER));
+    assertEquals(StringBinaryTag.of("minecraft:shield"), BinaryTagPath.compile("Inventory[-1].id").first(PLAYER));
+    assertNull(BinaryTagPath.compile("Inventory[3]").first(PLAYER));
+    assertEquals(IntBinaryTag.of(4), BinaryTagPath.compile("UUID[3]").first(PLAYER));
+    assertEquals(4, BinaryTagPath.compile("UUID[]").count(PLAYER));
+  }
+
+  @Test
+  void testMatches() throws IOException {
+    assertEquals(Arrays.asList(StringBinaryTag.of("minecraft:bread")), all("Inventory[{Slot: 1b}].id", PLAYER));
+    assertEquals(StringBinaryTag.of("Excalibur"), BinaryTagPath.compile("Inventory[{tag: {display: {}}}].tag.display.Name").first(PLAYER));
+    assertEquals(2, BinaryTagPath.compile("Inventory[{tag: {}}]").count(PLAYER));
+    assertEquals(0, BinaryTagPath.compile("Inventory[{Slot: 1}]").count(PLAYER));
+    assertSame(PLAYER, BinaryTagPath.compile("{id: \"minecraft:player\"}").first(PLAYER));
+    assertEquals(1, BinaryTagPath.compile("{Inventory: [{id: \"minecraft:bread\"}]}.id").count(PLAYER));
+    assertEquals(0, BinaryTagPath.compile("{Inventory: [{id: \"minecraft:apple\"}]}").count(PLAYER));
+  }
+
+  @Test
+  void testCompileCaches() throws IOException {
+    final BinaryTagPath path = BinaryTagPath.compile("Inventory[{Slot:0b}].tag.display.Name");
+    assertSame(path, BinaryTagPath.compile("Inventory[{Slot:0b}].tag.display.Name"));
+    assertEquals("Inventory[{Slot:0b}].tag.display.Name", path.asString());
+  }
+
+  @Test
+  void testMalformed() {
+    assertThrows(IOException.class, () -> BinaryTagPath.compile(""));
+    assertThrows(IOException.class, () -> BinaryTagPath.compile("a."));
+    assertThrows(IOException.class, () -> BinaryTagPath.compile("a[x]"));
+    assertThrows(IOException.class, () -> BinaryTagPath.compile("a[0"));
+    assertThrows(IOException.class, () -> BinaryTagPath.compile("a.{b: 1}"));
+    assertThrows(IOException.class, () -> BinaryTagPath.compile("\"a"));
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BinaryTagVisitorTest {
+  private static byte[] bigTest;
+
+  @BeforeAll
+  static void before() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try(final InputStream is = BinaryTagVisitorTest.class.getResourceAsStream("/bigtest.nbt")) {
+      BinaryTagIO.writeOutputStream(BinaryTagIO.readCompressedInputStream(is), output);
+    }
+    bigTest = output.toByteArray();
+  }
+
+  @Test
+  void testVisitMatchesRead() throws IOException {
+    final BuildingVisitor visitor = new BuildingVisitor();
+    BinaryTagIO.visitInputStream(new ByteArrayInputStream(bigTest), visitor);
+    assertEquals(BinaryTagIO.readInputStream(new ByteArrayInputStream(bigTest)), visitor.result);
+  }
+
+  @Test
+  void testSkipSubtrees() throws IOException {
+    final List<String> keys = new ArrayList<>();
+    final ByteArrayInputStream input = new ByteArrayInputStream(bigTest);
+    BinaryTagIO.visitInputStream(input, new BinaryTagVisitor() {
+      private int depth;
+
+      @Override
+      public boolean visitCompoundStart() {
+        return this.depth++ == 0;
+      }
+
+      @Override
+      public boolean visitKey(final @NonNull String key, final @NonNull BinaryTagType<? extends BinaryTag> type) {
+        keys.add(key);
+        return type != BinaryTagTypes.BYTE_ARRAY;
+      }
+
+      @Override
+      public boolean visitListStart(final @NonNull BinaryTagType<? extends BinaryTag> elementType, final int length) {
+        return false;
+      }
+    });
+    final Set<String> expected = BinaryTagIO.readInputStream(new ByteArrayInputStream(bigTest)).keySet();
+    assertEquals(expected.size(), keys.size());
+    assertEquals(expected, new HashSet<>(keys));
+    assertEquals(0, input.available());
+  }
+
+  @Test
+  void testRejectsMalformedLists() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final DataOutputStream data = new DataOutputStream(output);
+    data.writeByte(BinaryTagTypes.COMPOUND.id());
+    data.writeUTF("");
+    data.writeByte(BinaryTagTypes.LIST.id());
+    data.writeUTF("skipme");
+    data.writeByte(BinaryTagTypes.END.id()); // a list of end tags must be empty
+    data.writeInt(Integer.MAX_VALUE);
+    data.writeByte(BinaryTagTypes.END.id());
+    final byte[] malformed = output.toByteArray();
+
+    assertThrows(IOException.class, () -> BinaryTagIO.readInputStream(new ByteArrayInputStream(malformed)));
+    assertThrows(IOException.class, () -> BinaryTagIO.visitInputStream(new ByteArrayInputStream(malformed), new BuildingVisitor()));
+    assertThrows(IOException.class, () -> BinaryTagIO.visitInputStream(new ByteArrayInputStream(malformed), new BinaryTagVisitor() {
+      @Override
+      public boolean visitListStart(final @NonNull BinaryTagType<? extends BinaryTag> elementType, final int length) {
+        return false;
+      }
+    }));
+  }
+
+  static final class BuildingVisitor implements BinaryTagVisitor {
+    private final Deque<Object> builders = new ArrayDeque<>();
+    private final Deque<String> keys = new ArrayDeque<>();
+    CompoundBinaryTag result;
+
+    @Override
+    public boolean visitCompoundStart() {
+      this.builders.push(CompoundBinaryTag.builder());
+      return true;
+    }
+
+    @Override
+    public boolean visitKey(final @NonNull String key, final @NonNull BinaryTagType<? extends BinaryTag> type) {
+      this.keys.push(key);
+      return true;
+    }
+
+    @Override
+    public void visitCompoundEnd() {
+      this.add(((CompoundBinaryTag.Builder) this.builders.pop()).build());
+    }
+
+    @Override
+    public boolean visitListStart(final @NonNull BinaryTagType<? extends BinaryTag> elementType, final int length) {
+      this.builders.push(ListBinaryTag.builder());
+      return true;
+    }
+
+    @Override
+    public void visitListEnd() {
+      this.add(((ListBinaryTag.Builder<?>) this.builders.pop()).build());
+    }
+
+    @Override
+    public void visitByte(final byte value) {
+      this.add(ByteBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitShort(final short value) {
+      this.add(ShortBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitInt(final int value) {
+      this.add(IntBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitLong(final long value) {
+      this.add(LongBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitFloat(final float value) {
+      this.add(FloatBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitDouble(final double value) {
+      this.add(DoubleBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitString(final @NonNull String value) {
+      this.add(StringBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitByteArray(final byte@NonNull[] value) {
+      this.add(ByteArrayBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitIntArray(final int@NonNull[] value) {
+      this.add(IntArrayBinaryTag.of(value));
+    }
+
+    @Override
+    public void visitLongArray(final long@NonNull[] value) {
+      this.add(LongArrayBinaryTag.of(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void add(final BinaryTag tag) {
+      final Object parent = this.builders.peek();
+      if(parent instanceof CompoundBinaryTag.Builder) {
+        ((CompoundBinaryTag.Builder) parent).put(this.keys.pop(), tag);
+      } else if(parent instanceof ListBinaryTag.Builder) {
+        ((ListBinaryTag.Builder<BinaryTag>) parent).add(tag);
+      } else {
+        this.result = (CompoundBinaryTag) tag;
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompoundBinaryTagTest {
+  @Test
+  void testPutAndRemove() {
+    final CompoundBinaryTag c0 = CompoundBinaryTag.builder().putInt("a", 1).build();
+    final CompoundBinaryTag c1 = c0.putInt("b", 2);
+    final CompoundBinaryTag c2 = c1.remove("a", removed -> assertEquals(IntBinaryTag.of(1), removed));
+    assertEquals(2, c2.getInt("b"));
+    assertNull(c2.get("a"));
+    assertSame(c2, c2.remove("a"));
+
+    // ensure originals are untouched
+    assertEquals(1, c0.getInt("a"));
+    assertNull(c0.get("b"));
+    assertEquals(1, c1.getInt("a"));
+    assertEquals(2, c1.getInt("b"));
+  }
+
+  @Test
+  void testManyEdits() {
+    final Random random = new Random(42);
+    final Map<String, BinaryTag> expected = new HashMap<>();
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    for(int i = 0; i < 5000; i++) {
+      final String key = key(random.nextInt(1000));
+      if(random.nextInt(3) == 0) {
+        tag = tag.remove(key);
+        expected.remove(key);
+      } else {
+        tag = tag.putInt(key, i);
+        expected.put(key, IntBinaryTag.of(i));
+      }
+      assertEquals(expected.size(), tag.keySet().size());
+    }
+    for(int i = 0; i < 1000; i++) {
+      assertEquals(expected.get(key(i)), tag.get(key(i)));
+    }
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    expected.forEach(builder::put);
+    assertEquals(builder.build(), tag);
+    assertEquals(tag, builder.build());
+    assertEquals(builder.build().hashCode(), tag.hashCode());
+    assertEquals(expected.keySet(), tag.keySet());
+  }
+
+  @Test
+  void testEdit() {
+    final CompoundBinaryTag original = CompoundBinaryTag.builder()
+      .putInt("a", 1)
+      .put("display", CompoundBinaryTag.builder().putString("name", "x").build())
+      .put("items", ListBinaryTag.builder()
+        .add(CompoundBinaryTag.builder().putInt("count", 1).build())
+        .add(CompoundBinaryTag.builder().putInt("count", 2).build())
+        .build())
+      .build();
+    final CompoundBinaryTag edited = original.edit(tag -> tag
+      .putInt("a", 2)
+      .remove("missing")
+      .editCompound("display", display -> display.putString("name", "y").putInt("color", 3))
+      .editCompound("created", created -> created.putBoolean("new", true))
+      .editList("items", items -> items
+        .editCompound(1, item -> item.putInt("count", 5))
+        .add(CompoundBinaryTag.builder().putInt("count", 3).build())
+        .remove(0)));
+    assertEquals(CompoundBinaryTag.builder()
+      .putInt("a", 2)
+      .put("display", CompoundBinaryTag.builder().putString("name", "y").putInt("color", 3).build())
+      .put("created", CompoundBinaryTag.builder().putBoolean("new", true).build())
+      .put("items", ListBinaryTag.builder()
+        .add(CompoundBinaryTag.builder().putInt("count", 5).build())
+        .add(CompoundBinaryTag.builder().putInt("count", 3).build())
+        .build())
+      .build(), edited);
+
+    // ensure original is untouched
+    assertEquals(1, original.getInt("a"));
+    assertEquals("x", original.getCompound("display").getString("name"));
+    assertEquals(2, original.getList("items").size());
+    assertEquals(2, original.getList("items").getCompound(1).getInt("count"));
+  }
+
+  @Test
+  void testEditWithoutChanges() {
+    final CompoundBinaryTag original = CompoundBinaryTag.builder().put("display", CompoundBinaryTag.empty()).build();
+    assertSame(original, original.edit(tag -> tag.remove("missing").editCompound("display", display -> display.get("name"))));
+  }
+
+  @Test
+  void testEditMismatchedType() {
+    final ListBinaryTag original = ListBinaryTag.builder().add(IntBinaryTag.of(1)).build();
+    assertThrows(IllegalArgumentException.class, () -> original.edit(list -> list.add(StringBinaryTag.of("a"))));
+    assertThrows(IllegalArgumentException.class, () -> original.edit(list -> list.editCompound(0, tag -> tag.putInt("a", 1))));
+  }
+
+  @Test
+  void testEditAfterFinished() {
+    final CompoundBinaryTag.Mutable[] escaped = new CompoundBinaryTag.Mutable[1];
+    CompoundBinaryTag.empty().edit(tag -> escaped[0] = tag);
+    assertThrows(IllegalStateException.class, () -> escaped[0].putInt("a", 1));
+  }
+
+  @Test
+  void testOrderIsStableAcrossSizes() {
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    List<String> previous = new ArrayList<>();
+    for(int i = 0; i < 20; i++) {
+      tag = tag.putInt("key" + i, i);
+      final List<String> keys = new ArrayList<>(tag.keySet());
+      keys.remove("key" + i);
+      assertEquals(previous, keys);
+      previous = new ArrayList<>(tag.keySet());
+      if(i < 8) {
+        final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+        for(int j = i; j >= 0; j--) builder.putInt("key" + j, j);
+        assertEquals(previous, new ArrayList<>(builder.build().keySet()));
+      }
+    }
+    for(int i = 19; i >= 0; i--) {
+      tag = tag.remove("key" + i);
+      previous.remove("key" + i);
+      assertEquals(previous, new ArrayList<>(tag.keySet()));
+    }
+  }
+
+  // "Aa" and "BB" have the same hash code, so these keys collide in pairs
+  private static String key(final int i) {
+    return ((i & 1) == 0 ? "Aa" : "BB") + (i >> 1);
+  }
+}
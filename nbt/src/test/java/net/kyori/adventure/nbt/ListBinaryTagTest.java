@@ -24,6 +24,8 @@
 package net.kyori.adventure.nbt;
 
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -94,4 +96,27 @@ class ListBinaryTagTest {
     assertEquals(i1, l3.get(1));
     assertEquals(i2, l3.get(2));
   }
+
+  @Test
+  void testManyEdits() {
+    final List<BinaryTag> expected = new ArrayList<>();
+    ListBinaryTag list = ListBinaryTag.empty();
+    for(int i = 0; i < 2000; i++) {
+      final ListBinaryTag previous = list;
+      list = list.add(IntBinaryTag.of(i));
+      expected.add(IntBinaryTag.of(i));
+      assertEquals(i, previous.size());
+    }
+    for(int i = 0; i < 2000; i += 7) {
+      list = list.set(i, IntBinaryTag.of(-i), null);
+      expected.set(i, IntBinaryTag.of(-i));
+    }
+    assertEquals(ListBinaryTag.of(BinaryTagTypes.INT, expected), list);
+    assertEquals(expected.hashCode(), list.hashCode());
+    for(int i = 0; i < 2000; i++) {
+      assertEquals(expected.get(i), list.get(i));
+    }
+    final ListBinaryTag last = list;
+    assertThrows(IndexOutOfBoundsException.class, () -> last.set(2000, IntBinaryTag.of(0), null));
+  }
 }
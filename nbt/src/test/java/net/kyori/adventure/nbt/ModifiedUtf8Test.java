@@ -0,0 +1,85 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModifiedUtf8Test {
+  @Test
+  void testMatchesDataOutput() throws IOException {
+    final char[] longAscii = new char[5000];
+    Arrays.fill(longAscii, 'a');
+    final char[] longWide = new char[20000 / 3];
+    Arrays.fill(longWide, '€');
+    final char[] longestAscii = new char[0xffff]; // only fits in the scratch buffer once its exact size is known
+    Arrays.fill(longestAscii, 'a');
+    for(final String string : Arrays.asList("", "id", "hello world", "nul\0char", "café", "€ uro", "😀 emoji", new String(longAscii), new String(longWide), new String(longestAscii), "short again")) {
+      final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      new DataOutputStream(expected).writeUTF(string);
+      final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+      ModifiedUtf8.write(new DataOutputStream(actual), string);
+      assertArrayEquals(expected.toByteArray(), actual.toByteArray(), string);
+      assertEquals(string, ModifiedUtf8.read(new DataInputStream(new ByteArrayInputStream(actual.toByteArray()))));
+      assertEquals(string, ModifiedUtf8.readKey(new DataInputStream(new ByteArrayInputStream(actual.toByteArray()))));
+    }
+  }
+
+  @Test
+  void testTooLong() {
+    final char[] chars = new char[0x8000];
+    Arrays.fill(chars, 'é'); // two bytes each
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.write(new DataOutputStream(new ByteArrayOutputStream()), new String(chars)));
+  }
+
+  @Test
+  void testMalformed() {
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.read(new DataInputStream(new ByteArrayInputStream(new byte[]{0, 2, 'a', (byte) 0xc3}))));
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.read(new DataInputStream(new ByteArrayInputStream(new byte[]{0, 2, (byte) 0xc3, 'a'}))));
+  }
+
+  @Test
+  void testKeysAreShared() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(CompoundBinaryTag.builder()
+      .put("Motion", ListBinaryTag.builder().add(CompoundBinaryTag.builder().putInt("Count", 1).build()).add(CompoundBinaryTag.builder().putInt("Count", 2).build()).build())
+      .build(), output);
+    final ListBinaryTag list = BinaryTagIO.readInputStream(new ByteArrayInputStream(output.toByteArray())).getList("Motion");
+    final String first = list.getCompound(0).keySet().iterator().next();
+    final String second = list.getCompound(1).keySet().iterator().next();
+    assertEquals("Count", first);
+    assertSame(first, second);
+  }
+}
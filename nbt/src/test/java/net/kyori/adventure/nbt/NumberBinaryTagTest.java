@@ -0,0 +1,66 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class NumberBinaryTagTest {
+  @Test
+  void testByteCache() {
+    for(int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+      assertSame(ByteBinaryTag.of((byte) i), ByteBinaryTag.of((byte) i));
+      assertEquals((byte) i, ByteBinaryTag.of((byte) i).value());
+    }
+    assertSame(ByteBinaryTag.ZERO, ByteBinaryTag.of((byte) 0));
+    assertSame(ByteBinaryTag.ONE, ByteBinaryTag.of((byte) 1));
+  }
+
+  @Test
+  void testSmallValueCache() {
+    for(int i = -128; i <= 127; i++) {
+      assertSame(ShortBinaryTag.of((short) i), ShortBinaryTag.of((short) i));
+      assertSame(IntBinaryTag.of(i), IntBinaryTag.of(i));
+      assertSame(LongBinaryTag.of(i), LongBinaryTag.of(i));
+      assertEquals(i, IntBinaryTag.of(i).value());
+      assertEquals(i, LongBinaryTag.of(i).value());
+    }
+    assertNotSame(IntBinaryTag.of(Integer.MAX_VALUE), IntBinaryTag.of(Integer.MAX_VALUE));
+    assertEquals(IntBinaryTag.of(Integer.MAX_VALUE), IntBinaryTag.of(Integer.MAX_VALUE));
+    assertEquals(Long.MIN_VALUE, LongBinaryTag.of(Long.MIN_VALUE).value());
+  }
+
+  @Test
+  void testCachedWhenRead() throws IOException {
+    final CompoundBinaryTag tag = TagStringIO.get().asCompound("{a:1b,b:2s,c:3,d:4L}");
+    assertSame(ByteBinaryTag.ONE, tag.get("a"));
+    assertSame(ShortBinaryTag.of((short) 2), tag.get("b"));
+    assertSame(IntBinaryTag.of(3), tag.get("c"));
+    assertSame(LongBinaryTag.of(4), tag.get("d"));
+  }
+}
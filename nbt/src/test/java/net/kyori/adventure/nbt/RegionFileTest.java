@@ -0,0 +1,153 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.DeflaterOutputStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegionFileTest {
+  private static final int SECTOR_BYTES = 4096;
+
+  @Test
+  void testReadChunks() throws IOException {
+    final CompoundBinaryTag gzip = chunk(0, 0);
+    final CompoundBinaryTag zlib = chunk(5, 7);
+    final CompoundBinaryTag none = chunk(31, 31);
+    final ByteBuffer region = ByteBuffer.allocate(SECTOR_BYTES * 16);
+    int sector = 2;
+    sector = writeChunk(region, 0, 0, sector, 1, gzip(gzip));
+    sector = writeChunk(region, 5, 7, sector, 2, zlib(zlib));
+    writeChunk(region, 31, 31, sector, 3, uncompressed(none));
+
+    final Path path = tempFile(".mca");
+    Files.write(path, region.array());
+    final RegionFile file = RegionFile.map(path);
+    assertEquals(gzip, file.read(0, 0));
+    assertEquals(zlib, file.read(5, 7));
+    assertEquals(none, file.read(31, 31));
+    assertEquals(none, file.read(-1, -1)); // absolute coordinates wrap around
+    assertTrue(file.contains(5, 7));
+    assertFalse(file.contains(7, 5));
+    assertNull(file.read(7, 5));
+    assertEquals(1234, file.timestamp(5, 7));
+    assertEquals(0, file.timestamp(7, 5));
+  }
+
+  @Test
+  void testUnknownCompression() throws IOException {
+    final ByteBuffer region = ByteBuffer.allocate(SECTOR_BYTES * 3);
+    writeChunk(region, 0, 0, 2, 42, uncompressed(chunk(0, 0)));
+    final Path path = tempFile(".mca");
+    Files.write(path, region.array());
+    assertThrows(IOException.class, () -> RegionFile.map(path).read(0, 0));
+  }
+
+  @Test
+  void testOverflowingOffset() throws IOException {
+    final ByteBuffer region = ByteBuffer.allocate(SECTOR_BYTES * 3);
+    writeChunk(region, 0, 0, 2, 3, uncompressed(chunk(0, 0)));
+    region.putInt(4, (0x100002 << 8) | 1); // chunk (1, 0) at a sector offset that wraps around to sector 2 as an int
+    final Path path = tempFile(".mca");
+    Files.write(path, region.array());
+    assertThrows(IOException.class, () -> RegionFile.map(path).read(1, 0));
+  }
+
+  @Test
+  void testTooSmall() throws IOException {
+    final Path path = tempFile(".mca");
+    Files.write(path, new byte[SECTOR_BYTES]);
+    assertThrows(IOException.class, () -> RegionFile.map(path));
+  }
+
+  @Test
+  void testReadMappedPath() throws IOException {
+    final CompoundBinaryTag tag = chunk(1, 2);
+    final Path uncompressed = tempFile(".nbt");
+    BinaryTagIO.writePath(tag, uncompressed);
+    assertEquals(tag, BinaryTagIO.readMappedPath(uncompressed));
+    final Path compressed = tempFile(".nbt");
+    BinaryTagIO.writeCompressedPath(tag, compressed);
+    assertEquals(tag, BinaryTagIO.readCompressedMappedPath(compressed));
+  }
+
+  // mapped files cannot be deleted on some platforms until the mapping is collected
+  private static Path tempFile(final String suffix) throws IOException {
+    final Path path = Files.createTempFile("adventure", suffix);
+    path.toFile().deleteOnExit();
+    return path;
+  }
+
+  private static CompoundBinaryTag chunk(final int x, final int z) {
+    return CompoundBinaryTag.builder()
+      .putInt("xPos", x)
+      .putInt("zPos", z)
+      .putLongArray("BlockStates", new long[]{x, z, x * z})
+      .putString("Status", "full")
+      .build();
+  }
+
+  private static int writeChunk(final ByteBuffer region, final int x, final int z, final int sector, final int compression, final byte[] data) {
+    final int sectors = (data.length + 5 + SECTOR_BYTES - 1) / SECTOR_BYTES;
+    final int index = (x & 31) + (z & 31) * 32;
+    region.putInt(index * 4, (sector << 8) | sectors);
+    region.putInt(SECTOR_BYTES + index * 4, 1234);
+    region.position(sector * SECTOR_BYTES);
+    region.putInt(data.length + 1);
+    region.put((byte) compression);
+    region.put(data);
+    return sector + sectors;
+  }
+
+  private static byte[] uncompressed(final CompoundBinaryTag tag) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeOutputStream(tag, output);
+    return output.toByteArray();
+  }
+
+  private static byte[] gzip(final CompoundBinaryTag tag) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writeCompressedOutputStream(tag, output);
+    return output.toByteArray();
+  }
+
+  private static byte[] zlib(final CompoundBinaryTag tag) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try(final DataOutputStream dos = new DataOutputStream(new DeflaterOutputStream(output))) {
+      BinaryTagIO.writeDataOutput(tag, dos);
+    }
+    return output.toByteArray();
+  }
+}
@@ -25,15 +25,25 @@ package net.kyori.adventure.nbt;
 
 import com.google.common.io.Resources;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StringIOTest {
   @Test
@@ -276,6 +286,240 @@ class StringIOTest {
     assertEquals(LongArrayBinaryTag.of(), this.stringToTag("[L; ]"));
   }
 
+  @Test
+  void testNumberEdgeCases() throws IOException {
+    assertEquals(ByteBinaryTag.of((byte) -128), this.stringToTag("-128b"));
+    assertEquals(StringBinaryTag.of("128b"), this.stringToTag("128b"));
+    assertEquals(StringBinaryTag.of("1.5b"), this.stringToTag("1.5b"));
+    assertEquals(IntBinaryTag.of(Integer.MIN_VALUE), this.stringToTag("-2147483648"));
+    assertEquals(DoubleBinaryTag.of(2147483648d), this.stringToTag("2147483648"));
+    assertEquals(LongBinaryTag.of(Long.MIN_VALUE), this.stringToTag("-9223372036854775808L"));
+    assertEquals(StringBinaryTag.of("9223372036854775808L"), this.stringToTag("9223372036854775808L"));
+    assertEquals(DoubleBinaryTag.of(123456789012345678901234567890d), this.stringToTag("123456789012345678901234567890"));
+    assertEquals(DoubleBinaryTag.of(-0d), this.stringToTag("-0.0"));
+    assertEquals(DoubleBinaryTag.of(1e-300), this.stringToTag("1e-300"));
+    assertEquals(DoubleBinaryTag.of(Double.NaN), this.stringToTag("NaN"));
+    assertEquals(DoubleBinaryTag.of(8d), this.stringToTag("0x1p3"));
+    assertEquals(StringBinaryTag.of("Infinity"), this.stringToTag("Infinity"));
+    assertEquals(DoubleBinaryTag.of(Double.NEGATIVE_INFINITY), this.stringToTag("-In\\finity"));
+    assertEquals(StringBinaryTag.of("1e"), this.stringToTag("1e"));
+    assertEquals(StringBinaryTag.of("1.2.3"), this.stringToTag("1.2.3"));
+    assertEquals(StringBinaryTag.of("minecraft"), this.stringToTag("minecraft"));
+    assertEquals(StringBinaryTag.of("e"), this.stringToTag("e"));
+    assertEquals(ByteBinaryTag.of((byte) 12), this.stringToTag("1\\2b")); // escapes are removed before parsing
+    assertEquals(StringBinaryTag.of("a,b"), this.stringToTag("a\\,b"));
+  }
+
+  @Test
+  void testIntArrayElementsMustBeInts() throws IOException {
+    assertEquals(IntArrayBinaryTag.of(1, 2), this.stringToTag("[I;\\1,2]"));
+    // elements are checked before being read as tags, so this is a syntax error rather than a mixed list
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[I;\\1,[true,0]]"));
+  }
+
+  @Test
+  void testDecimalsMatchJava() throws IOException {
+    final java.util.Random random = new java.util.Random(42);
+    for(int i = 0; i < 10000; i++) {
+      final double d = Double.longBitsToDouble(random.nextLong());
+      if(Double.isNaN(d) || Double.isInfinite(d)) continue;
+      assertEquals(DoubleBinaryTag.of(d), this.stringToTag(d + "d"));
+      final float f = (float) (random.nextInt(2000000) - 1000000) / (1 + random.nextInt(1000));
+      assertEquals(FloatBinaryTag.of(f), this.stringToTag(f + "f"));
+      final String digits = (random.nextInt(2000000) - 1000000) + "." + random.nextInt(100000) + "e" + (random.nextInt(60) - 30);
+      assertEquals(DoubleBinaryTag.of(Double.parseDouble(digits)), this.stringToTag(digits), digits);
+      assertEquals(FloatBinaryTag.of(Float.parseFloat(digits)), this.stringToTag(digits + "f"), digits);
+    }
+  }
+
+  @Test
+  void testLargeArrays() throws IOException {
+    final StringBuilder bytes = new StringBuilder("[B;");
+    final StringBuilder ints = new StringBuilder("[I;");
+    final StringBuilder longs = new StringBuilder("[L;");
+    final byte[] expectedBytes = new byte[100];
+    final int[] expectedInts = new int[100];
+    final long[] expectedLongs = new long[100];
+    for(int i = 0; i < 100; i++) {
+      expectedBytes[i] = (byte) i;
+      expectedInts[i] = i * 100000;
+      expectedLongs[i] = i * 10000000000L;
+      final String separator = i == 0 ? "" : ", ";
+      bytes.append(separator).append(i).append('b');
+      ints.append(separator).append(i * 100000);
+      longs.append(separator).append(i * 10000000000L).append('L');
+    }
+    assertEquals(ByteArrayBinaryTag.of(expectedBytes), this.stringToTag(bytes.append(']').toString()));
+    assertEquals(IntArrayBinaryTag.of(expectedInts), this.stringToTag(ints.append(']').toString()));
+    assertEquals(LongArrayBinaryTag.of(expectedLongs), this.stringToTag(longs.append(']').toString()));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[B; 1b, 300b]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[I; 1, 2147483648]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[I; 1, 2b]"));
+  }
+
+  @Test
+  void testNonCompoundRoot() throws IOException {
+    final TagStringIO io = TagStringIO.builder().indent(2).build();
+    assertEquals("12b", io.asString(ByteBinaryTag.of((byte) 12)));
+    assertEquals("\"a \\\"b\\\"\"", io.asString(StringBinaryTag.of("a \"b\"")));
+    assertEquals("[I; 1, 2, 3]", io.asString(IntArrayBinaryTag.of(1, 2, 3)));
+    final ListBinaryTag list = ListBinaryTag.builder()
+      .add(CompoundBinaryTag.builder().putInt("a", 1).build())
+      .build();
+    assertEquals("[\n  {\n    a: 1\n  }\n]", io.asString(list));
+    assertEquals(list, this.stringToTag(io.asString(list)));
+  }
+
+  @Test
+  void testInlinePrettyPrinting() throws IOException {
+    final ListBinaryTag tag = ListBinaryTag.builder()
+      .add(ListBinaryTag.builder().add(DoubleBinaryTag.of(1.5)).add(DoubleBinaryTag.of(64)).add(DoubleBinaryTag.of(-3)).build())
+      .add(ListBinaryTag.builder().add(CompoundBinaryTag.builder().putString("id", "stone").build()).build())
+      .add(ListBinaryTag.builder().add(CompoundBinaryTag.builder().putString("id", "a fairly long string that does not fit").build()).build())
+      .add(ListBinaryTag.builder().add(CompoundBinaryTag.builder().putLongArray("ids", new long[] {1, 2}).build()).build())
+      .build();
+    final TagStringIO io = TagStringIO.builder().indent(2).maxInlineLength(24).build();
+    final String written = io.asString(tag);
+    assertEquals("[\n"
+      + "  [1.5d, 64.0d, -3.0d],\n"
+      + "  [{id: \"stone\"}],\n"
+      + "  [\n"
+      + "    {\n"
+      + "      id: \"a fairly long string that does not fit\"\n"
+      + "    }\n"
+      + "  ],\n"
+      + "  [{ids: [L; 1l, 2l]}]\n"
+      + "]", written);
+    assertEquals(tag, this.stringToTag(written));
+
+    // a limit that the whole tag fits in keeps everything on one line
+    final String oneLine = TagStringIO.builder().indent(2).maxInlineLength(Integer.MAX_VALUE).build().asString(tag);
+    assertEquals("[[1.5d, 64.0d, -3.0d], [{id: \"stone\"}], [{id: \"a fairly long string that does not fit\"}], [{ids: [L; 1l, 2l]}]]", oneLine);
+    assertThrows(IllegalArgumentException.class, () -> TagStringIO.builder().maxInlineLength(-1));
+  }
+
+  @Test
+  void testWriterMatchesString() throws IOException {
+    final CompoundBinaryTag bigTest;
+    try(final InputStream is = this.getClass().getResourceAsStream("/bigtest.nbt")) {
+      bigTest = BinaryTagIO.readCompressedInputStream(is);
+    }
+    for(final TagStringIO io : new TagStringIO[] {TagStringIO.get(), TagStringIO.builder().indent(4).build(), TagStringIO.builder().indent(4).maxInlineLength(40).build()}) {
+      final StringWriter writer = new StringWriter();
+      io.toWriter((BinaryTag) bigTest, writer);
+      assertEquals(io.asString(bigTest), writer.toString());
+    }
+  }
+
+  @Test
+  void testReadFromReader() throws IOException {
+    final CompoundBinaryTag bigTest;
+    try(final InputStream is = this.getClass().getResourceAsStream("/bigtest.nbt")) {
+      bigTest = BinaryTagIO.readCompressedInputStream(is);
+    }
+    final Path path = Files.createTempFile("adventure", ".snbt");
+    try(final InputStream is = this.getClass().getResourceAsStream("/bigtest.snbt")) {
+      Files.copy(is, path, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+      assertEquals(bigTest, TagStringIO.get().asCompound(path));
+    } finally {
+      Files.delete(path);
+    }
+
+    // large enough that the window has to slide, with long values that force it to grow
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for(int i = 0; i < 2000; i++) {
+      builder.putString("key" + i, "value " + i);
+      builder.putIntArray("ints" + i, new int[] {i, -i, i * 1000});
+      builder.putDouble("double" + i, i / 7d);
+    }
+    final StringBuilder longValue = new StringBuilder();
+    for(int i = 0; i < 20000; i++) {
+      longValue.append((char) ('a' + i % 26));
+    }
+    builder.putString("long", longValue.toString());
+    builder.putString(longValue.toString(), "long key");
+    final CompoundBinaryTag large = builder.build();
+    final String written = TagStringIO.builder().indent(2).build().asString(large);
+    assertEquals(large, TagStringIO.get().asCompound(new StringReader(written)));
+    assertEquals(large, TagStringIO.get().asCompound(new TrickleReader(written)));
+  }
+
+  @Test
+  void testErrorPositions() {
+    final String input = "{\n  a: 1,\n  b: 2 3\n}";
+    final IOException fromString = assertThrows(IOException.class, () -> TagStringIO.get().asCompound(input));
+    final IOException fromReader = assertThrows(IOException.class, () -> TagStringIO.get().asCompound(new TrickleReader(input)));
+    assertEquals(fromString.getMessage(), fromReader.getMessage());
+    assertTrue(fromString.getMessage().endsWith("(at position 17, line 3, column 8)"), fromString.getMessage());
+  }
+
+  @Test
+  void testTranscodeBinaryToString() throws IOException {
+    final CompoundBinaryTag bigTest;
+    try(final InputStream is = this.getClass().getResourceAsStream("/bigtest.nbt")) {
+      bigTest = BinaryTagIO.readCompressedInputStream(is);
+    }
+    final ByteBuffer binary = ByteBuffer.allocate((int) BinaryTagIO.size(bigTest));
+    BinaryTagIO.writeByteBuffer(bigTest, binary);
+    binary.flip();
+
+    for(final TagStringIO io : new TagStringIO[] {TagStringIO.get(), TagStringIO.builder().indent(4).build(), TagStringIO.builder().indentTab(1).build()}) {
+      final StringBuilder fromBuffer = new StringBuilder();
+      io.binaryToString(binary.duplicate(), fromBuffer);
+      assertEquals(io.asString(bigTest), fromBuffer.toString());
+
+      final StringWriter fromInput = new StringWriter();
+      io.binaryToString(new DataInputStream(new ByteArrayInputStream(binary.array())), fromInput);
+      assertEquals(io.asString(bigTest), fromInput.toString());
+    }
+  }
+
+  @Test
+  void testTranscodeStringToBinary() throws IOException {
+    final String rawTest = Resources.toString(this.getClass().getResource("/bigtest.snbt"), StandardCharsets.UTF_8);
+    final ByteArrayOutputStream fromString = new ByteArrayOutputStream();
+    TagStringIO.get().stringToBinary(rawTest, new DataOutputStream(fromString));
+    final CompoundBinaryTag expected = TagStringIO.get().asCompound(rawTest);
+    assertEquals(expected, BinaryTagIO.readByteBuffer(ByteBuffer.wrap(fromString.toByteArray())));
+
+    final ByteArrayOutputStream fromReader = new ByteArrayOutputStream();
+    TagStringIO.get().stringToBinary(new TrickleReader(rawTest), new DataOutputStream(fromReader));
+    assertEquals(expected, BinaryTagIO.readByteBuffer(ByteBuffer.wrap(fromReader.toByteArray())));
+
+    final String nested = "{a: [[], [[1b, 2b], [3b]], [{b: [0:\"x\", 1:\"y\"]}]], d: [[I; 3], [I;]], c: {}}";
+    final ByteArrayOutputStream nestedOutput = new ByteArrayOutputStream();
+    TagStringIO.get().stringToBinary(nested, new DataOutputStream(nestedOutput));
+    assertEquals(TagStringIO.get().asCompound(nested), BinaryTagIO.readByteBuffer(ByteBuffer.wrap(nestedOutput.toByteArray())));
+
+    assertThrows(IllegalArgumentException.class, () -> TagStringIO.get().stringToBinary("{a: [1, 2b]}", new DataOutputStream(new ByteArrayOutputStream())));
+    assertThrows(IOException.class, () -> TagStringIO.get().stringToBinary("{a: 1} b", new DataOutputStream(new ByteArrayOutputStream())));
+  }
+
+  /**
+   * A reader that only provides a few characters at a time.
+   */
+  static final class TrickleReader extends Reader {
+    private final String input;
+    private int index;
+
+    TrickleReader(final String input) {
+      this.input = input;
+    }
+
+    @Override
+    public int read(final char[] buffer, final int offset, final int length) {
+      if(this.index == this.input.length()) return -1;
+      final int read = Math.min(Math.min(length, 3), this.input.length() - this.index);
+      this.input.getChars(this.index, this.index + read, buffer, offset);
+      this.index += read;
+      return read;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
   private String tagToString(final BinaryTag tag) throws IOException {
     final StringWriter writer = new StringWriter();
     try(final TagStringWriter emitter = new TagStringWriter(writer, "")) {